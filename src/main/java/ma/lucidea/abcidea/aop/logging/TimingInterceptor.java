@@ -0,0 +1,217 @@
+package ma.lucidea.abcidea.aop.logging;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interceptor timing the execution of repository, service and Web REST Spring components.
+ * <p>
+ * Each call is recorded in the "method.calls" timer of its class and method. The timers are looked up
+ * by method, so that a call does not allocate anything unless it is logged. They are function timers
+ * over adders, with a count and a total time but no maximum, which would read the clock once more on
+ * each call: the slow calls are logged instead. Calls taking longer than
+ * the slow call threshold are logged as warnings, the arguments and result of a sample of the calls are
+ * logged at debug level, and exceptions are logged as errors if enabled, like the former logging aspect
+ * did in development.
+ */
+public class TimingInterceptor implements MethodInterceptor {
+
+    public static final String METRIC_NAME = "method.calls";
+
+    private static final String BASE_PACKAGE = "ma.lucidea.abcidea.";
+
+    private final Logger log = LoggerFactory.getLogger(TimingInterceptor.class);
+
+    private final MeterRegistry registry;
+
+    private final double argumentLogSampleRate;
+
+    private final long slowCallThresholdNanos;
+
+    private final boolean logExceptions;
+
+    private final Map<Method, TimedMethod> timedMethods = new ConcurrentHashMap<>();
+
+    /**
+     * The methods called on another bean than the one they were first timed for, by proxy class.
+     */
+    private final ClassValue<Map<Method, TimedMethod>> inheritedTimedMethods = new ClassValue<Map<Method, TimedMethod>>() {
+        @Override
+        protected Map<Method, TimedMethod> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    /**
+     * The stats of each timer, shared by the timed methods with the same class and method names.
+     */
+    private final Map<String, CallStats> callStats = new ConcurrentHashMap<>();
+
+    public TimingInterceptor(MeterRegistry registry, double argumentLogSampleRate, Duration slowCallThreshold,
+                             boolean logExceptions) {
+        this.registry = registry;
+        this.argumentLogSampleRate = argumentLogSampleRate;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+        this.logExceptions = logExceptions;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        TimedMethod timedMethod = timedMethod(invocation);
+        boolean sampled = isSampled();
+        if (sampled) {
+            log.debug("Enter: {}() with argument[s] = {}", timedMethod.name, Arrays.toString(invocation.getArguments()));
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            long duration = System.nanoTime() - start;
+            timedMethod.success.record(duration);
+            if (sampled) {
+                log.debug("Exit: {}() with result = {}", timedMethod.name, result);
+            }
+            logIfSlow(timedMethod, duration);
+            return result;
+        } catch (Throwable e) {
+            long duration = System.nanoTime() - start;
+            timedMethod.error().record(duration);
+            if (logExceptions) {
+                logException(timedMethod, invocation, e);
+            } else if (sampled) {
+                log.debug("Exception in {}() with cause = {}", timedMethod.name, e.getCause() != null ? e.getCause() : "NULL");
+            }
+            logIfSlow(timedMethod, duration);
+            throw e;
+        }
+    }
+
+    private boolean isSampled() {
+        return argumentLogSampleRate > 0 && log.isDebugEnabled()
+            && (argumentLogSampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < argumentLogSampleRate);
+    }
+
+    private void logIfSlow(TimedMethod timedMethod, long duration) {
+        if (duration >= slowCallThresholdNanos) {
+            log.warn("Slow call: {}() took {} ms", timedMethod.name, TimeUnit.NANOSECONDS.toMillis(duration));
+        }
+    }
+
+    private void logException(TimedMethod timedMethod, MethodInvocation invocation, Throwable e) {
+        if (e instanceof IllegalArgumentException) {
+            log.error("Illegal argument: {} in {}()", Arrays.toString(invocation.getArguments()), timedMethod.name);
+        }
+        log.error("Exception in {}() with cause = \'{}\' and exception = \'{}\'", timedMethod.name,
+            e.getCause() != null ? e.getCause() : "NULL", e.getMessage(), e);
+    }
+
+    private TimedMethod timedMethod(MethodInvocation invocation) {
+        // The proxy class tells apart the beans sharing an inherited method, like the Spring Data repositories
+        Class<?> type = invocation instanceof ProxyMethodInvocation ?
+            ((ProxyMethodInvocation) invocation).getProxy().getClass() : invocation.getThis().getClass();
+        TimedMethod timedMethod = timedMethods.get(invocation.getMethod());
+        if (timedMethod == null) {
+            timedMethod = timedMethods.computeIfAbsent(invocation.getMethod(), method -> new TimedMethod(type, method));
+        }
+        if (timedMethod.type != type) {
+            Map<Method, TimedMethod> methods = inheritedTimedMethods.get(type);
+            timedMethod = methods.get(invocation.getMethod());
+            if (timedMethod == null) {
+                timedMethod = methods.computeIfAbsent(invocation.getMethod(), method -> new TimedMethod(type, method));
+            }
+        }
+        return timedMethod;
+    }
+
+    private CallStats callStats(String className, Method method, String outcome) {
+        return callStats.computeIfAbsent(className + "." + method.getName() + ":" + outcome, key -> {
+            CallStats stats = new CallStats();
+            FunctionTimer.builder(METRIC_NAME, stats, CallStats::count, CallStats::totalTime, TimeUnit.NANOSECONDS)
+                .description("Calls of the repositories, services and Web REST endpoints")
+                .tags("class", className, "method", method.getName(), "outcome", outcome)
+                .register(registry);
+            return stats;
+        });
+    }
+
+    private static String className(Class<?> type) {
+        if (Proxy.isProxyClass(type)) {
+            return Arrays.stream(type.getInterfaces())
+                .filter(proxiedInterface -> proxiedInterface.getName().startsWith(BASE_PACKAGE))
+                .findFirst()
+                .orElse(type.getInterfaces()[0])
+                .getSimpleName();
+        }
+        return ClassUtils.getUserClass(type).getSimpleName();
+    }
+
+    private final class TimedMethod {
+
+        private final Class<?> type;
+
+        private final String className;
+
+        private final Method method;
+
+        private final String name;
+
+        private final CallStats success;
+
+        /**
+         * Only registered once the method fails, so that the methods which never fail export a single timer.
+         */
+        private volatile CallStats error;
+
+        private TimedMethod(Class<?> type, Method method) {
+            this.type = type;
+            this.className = className(type);
+            this.method = method;
+            this.name = className + "." + method.getName();
+            this.success = callStats(className, method, "SUCCESS");
+        }
+
+        private CallStats error() {
+            CallStats stats = error;
+            if (stats == null) {
+                stats = callStats(className, method, "ERROR");
+                error = stats;
+            }
+            return stats;
+        }
+    }
+
+    private static final class CallStats {
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder totalTime = new LongAdder();
+
+        private void record(long nanos) {
+            count.increment();
+            totalTime.add(nanos);
+        }
+
+        private long count() {
+            return count.sum();
+        }
+
+        private double totalTime() {
+            return totalTime.sum();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package ma.lucidea.abcidea.client;
+
+import ma.lucidea.abcidea.config.JacksonConfiguration;
+
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.codec.Encoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.util.Collections;
+
+/**
+ * Configuration of the Feign clients exchanging Smile, the binary encoding of JSON, instead of JSON text.
+ * <p>
+ * It is used with {@code @FeignClient(name = "...", configuration = SmileFeignClientConfiguration.class)}: the
+ * request bodies are encoded, and the responses are requested and decoded, with the Smile converter of the
+ * application. The JWT of the current user is still relayed by the {@link UserFeignClientInterceptor}.
+ * <p>
+ * This class must not be a {@code @Configuration}, which would apply it to all the Feign clients.
+ */
+public class SmileFeignClientConfiguration {
+
+    @Bean
+    public Encoder smileFeignEncoder(MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter) {
+        return new SpringEncoder(smileMessageConverters(smileHttpMessageConverter));
+    }
+
+    @Bean
+    public Decoder smileFeignDecoder(MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter) {
+        return new ResponseEntityDecoder(new SpringDecoder(smileMessageConverters(smileHttpMessageConverter)));
+    }
+
+    @Bean
+    public RequestInterceptor smileAcceptRequestInterceptor() {
+        return template -> template.header(HttpHeaders.ACCEPT, JacksonConfiguration.SMILE_VALUE);
+    }
+
+    private static ObjectFactory<HttpMessageConverters> smileMessageConverters(MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter) {
+        HttpMessageConverters messageConverters = new HttpMessageConverters(false, Collections.singletonList(smileHttpMessageConverter));
+        return () -> messageConverters;
+    }
+}
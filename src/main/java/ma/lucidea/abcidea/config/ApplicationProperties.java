@@ -1,7 +1,16 @@
 package ma.lucidea.abcidea.config;
 
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MaxSizeConfig;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Properties specific to Abcidea App.
  * <p>
@@ -11,4 +20,702 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final Pagination pagination = new Pagination();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Cache cache = new Cache();
+
+    private final Timing timing = new Timing();
+
+    private final Audit audit = new Audit();
+
+    private final Datasource datasource = new Datasource();
+
+    private final ChangeStream changeStream = new ChangeStream();
+
+    private final BatchLoad batchLoad = new BatchLoad();
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Timing getTiming() {
+        return timing;
+    }
+
+    public Audit getAudit() {
+        return audit;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
+    public ChangeStream getChangeStream() {
+        return changeStream;
+    }
+
+    public BatchLoad getBatchLoad() {
+        return batchLoad;
+    }
+
+    public static class Pagination {
+
+        private int countTimeToLiveSeconds = 60;
+
+        public int getCountTimeToLiveSeconds() {
+            return countTimeToLiveSeconds;
+        }
+
+        public void setCountTimeToLiveSeconds(int countTimeToLiveSeconds) {
+            this.countTimeToLiveSeconds = countTimeToLiveSeconds;
+        }
+    }
+
+    public static class Bulk {
+
+        private int maxSize = 50000;
+
+        private int chunkSize = 1000;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class BatchLoad {
+
+        /**
+         * Maximum number of ids of a get by ids, which are sent in the query string.
+         */
+        private int maxIds = 1000;
+
+        public int getMaxIds() {
+            return maxIds;
+        }
+
+        public void setMaxIds(int maxIds) {
+            this.maxIds = maxIds;
+        }
+    }
+
+    public static class Timing {
+
+        private boolean enabled = true;
+
+        /**
+         * Share of the calls whose arguments and result are logged, between 0 and 1, when debug logging is enabled.
+         */
+        private double argumentLogSampleRate = 0;
+
+        /**
+         * Calls taking at least this long are logged as warnings.
+         */
+        private Duration slowCallThreshold = Duration.ofMillis(500);
+
+        /**
+         * Whether the exceptions thrown by the timed calls are logged as errors, with their stack trace.
+         */
+        private boolean logExceptions = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getArgumentLogSampleRate() {
+            return argumentLogSampleRate;
+        }
+
+        public void setArgumentLogSampleRate(double argumentLogSampleRate) {
+            this.argumentLogSampleRate = argumentLogSampleRate;
+        }
+
+        public Duration getSlowCallThreshold() {
+            return slowCallThreshold;
+        }
+
+        public void setSlowCallThreshold(Duration slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+        }
+
+        public boolean isLogExceptions() {
+            return logExceptions;
+        }
+
+        public void setLogExceptions(boolean logExceptions) {
+            this.logExceptions = logExceptions;
+        }
+    }
+
+    public static class Audit {
+
+        private int queueCapacity = 10000;
+
+        private int batchSize = 500;
+
+        /**
+         * A batch is written once it is full, or once its first event has waited this long.
+         */
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        private OverflowPolicy overflowPolicy = OverflowPolicy.SPILL;
+
+        /**
+         * How long the BLOCK policy waits for room in the queue, before dropping the event.
+         */
+        private Duration blockTimeout = Duration.ofMillis(100);
+
+        /**
+         * Directory of the events spilled by the SPILL policy.
+         */
+        private String spillDirectory = "audit-spill";
+
+        /**
+         * How often the spilled events are written, whether the queue has room or not.
+         */
+        private Duration replayInterval = Duration.ofSeconds(10);
+
+        private final Retention retention = new Retention();
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+
+        public Duration getBlockTimeout() {
+            return blockTimeout;
+        }
+
+        public void setBlockTimeout(Duration blockTimeout) {
+            this.blockTimeout = blockTimeout;
+        }
+
+        public String getSpillDirectory() {
+            return spillDirectory;
+        }
+
+        public void setSpillDirectory(String spillDirectory) {
+            this.spillDirectory = spillDirectory;
+        }
+
+        public Duration getReplayInterval() {
+            return replayInterval;
+        }
+
+        public void setReplayInterval(Duration replayInterval) {
+            this.replayInterval = replayInterval;
+        }
+
+        public Retention getRetention() {
+            return retention;
+        }
+
+        public static class Retention {
+
+            /**
+             * Audit events are kept for this number of months, besides the current one.
+             */
+            private int months = 12;
+
+            /**
+             * Partitions are created ahead for this number of months, besides the current one.
+             */
+            private int monthsAhead = 2;
+
+            public int getMonths() {
+                return months;
+            }
+
+            public void setMonths(int months) {
+                this.months = months;
+            }
+
+            public int getMonthsAhead() {
+                return monthsAhead;
+            }
+
+            public void setMonthsAhead(int monthsAhead) {
+                this.monthsAhead = monthsAhead;
+            }
+        }
+
+        /**
+         * What happens to an audit event when the queue is full.
+         */
+        public enum OverflowPolicy {
+            BLOCK, DROP, SPILL
+        }
+    }
+
+    public static class Datasource {
+
+        /**
+         * Read-only transactions are sent to these replicas, other transactions to the spring.datasource primary.
+         */
+        private List<Replica> replicas = new ArrayList<>();
+
+        private LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+
+        private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+        /**
+         * Query returning the replication lag of a replica, in seconds. The lag is not checked if it is not set.
+         */
+        private String replicationLagQuery;
+
+        /**
+         * Replicas lagging further behind the primary are not used until they catch up.
+         */
+        private Duration maxReplicationLag = Duration.ofSeconds(10);
+
+        public List<Replica> getReplicas() {
+            return replicas;
+        }
+
+        public void setReplicas(List<Replica> replicas) {
+            this.replicas = replicas;
+        }
+
+        public LoadBalancing getLoadBalancing() {
+            return loadBalancing;
+        }
+
+        public void setLoadBalancing(LoadBalancing loadBalancing) {
+            this.loadBalancing = loadBalancing;
+        }
+
+        public Duration getHealthCheckInterval() {
+            return healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(Duration healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+
+        public String getReplicationLagQuery() {
+            return replicationLagQuery;
+        }
+
+        public void setReplicationLagQuery(String replicationLagQuery) {
+            this.replicationLagQuery = replicationLagQuery;
+        }
+
+        public Duration getMaxReplicationLag() {
+            return maxReplicationLag;
+        }
+
+        public void setMaxReplicationLag(Duration maxReplicationLag) {
+            this.maxReplicationLag = maxReplicationLag;
+        }
+
+        /**
+         * A replica pool, configured like the spring.datasource.hikari primary pool.
+         */
+        public static class Replica {
+
+            private String url;
+
+            /**
+             * Defaults to the username of the primary.
+             */
+            private String username;
+
+            /**
+             * Defaults to the password of the primary.
+             */
+            private String password;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+        }
+
+        /**
+         * How a replica is chosen for a read-only transaction.
+         */
+        public enum LoadBalancing {
+            ROUND_ROBIN, LEAST_CONNECTIONS
+        }
+    }
+
+    public static class ChangeStream {
+
+        /**
+         * Events waiting to be sent to a client: a client that falls further behind is disconnected.
+         */
+        private int bufferSize = 256;
+
+        /**
+         * Threads sending the events to the clients.
+         */
+        private int senderThreads = 4;
+
+        /**
+         * A comment is sent to idle clients at this interval, so that proxies keep their connection open
+         * and closed connections are detected.
+         */
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        /**
+         * Connections are closed after this time, clients then reconnect.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Second-level cache regions, by entity or collection name relative to the domain package,
+         * for example "School" or "School.students".
+         */
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public static class WarmUp {
+
+            private boolean enabled = false;
+
+            private int parallelism = 4;
+
+            /**
+             * The health of the application is reported UP once the warm-up is done, or once this budget is spent.
+             */
+            private Duration timeBudget = Duration.ofSeconds(60);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            public void setParallelism(int parallelism) {
+                this.parallelism = parallelism;
+            }
+
+            public Duration getTimeBudget() {
+                return timeBudget;
+            }
+
+            public void setTimeBudget(Duration timeBudget) {
+                this.timeBudget = timeBudget;
+            }
+        }
+
+        public static class Region {
+
+            /**
+             * Defaults to jhipster.cache.hazelcast.time-to-live-seconds, 0 means the entries never expire.
+             */
+            private Integer timeToLiveSeconds;
+
+            private int maxIdleSeconds = 0;
+
+            /**
+             * 0 means the map is not bounded.
+             */
+            private int maxSize = 0;
+
+            private MaxSizeConfig.MaxSizePolicy maxSizePolicy = MaxSizeConfig.MaxSizePolicy.PER_NODE;
+
+            private EvictionPolicy evictionPolicy = EvictionPolicy.NONE;
+
+            /**
+             * Defaults to jhipster.cache.hazelcast.backup-count.
+             */
+            private Integer backupCount;
+
+            private int asyncBackupCount = 0;
+
+            private boolean readBackupData = false;
+
+            /**
+             * Load the whole region into the cache when the application starts.
+             */
+            private boolean warmUp = false;
+
+            private final NearCache nearCache = new NearCache();
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public int getMaxIdleSeconds() {
+                return maxIdleSeconds;
+            }
+
+            public void setMaxIdleSeconds(int maxIdleSeconds) {
+                this.maxIdleSeconds = maxIdleSeconds;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public MaxSizeConfig.MaxSizePolicy getMaxSizePolicy() {
+                return maxSizePolicy;
+            }
+
+            public void setMaxSizePolicy(MaxSizeConfig.MaxSizePolicy maxSizePolicy) {
+                this.maxSizePolicy = maxSizePolicy;
+            }
+
+            public EvictionPolicy getEvictionPolicy() {
+                return evictionPolicy;
+            }
+
+            public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+                this.evictionPolicy = evictionPolicy;
+            }
+
+            public Integer getBackupCount() {
+                return backupCount;
+            }
+
+            public void setBackupCount(Integer backupCount) {
+                this.backupCount = backupCount;
+            }
+
+            public int getAsyncBackupCount() {
+                return asyncBackupCount;
+            }
+
+            public void setAsyncBackupCount(int asyncBackupCount) {
+                this.asyncBackupCount = asyncBackupCount;
+            }
+
+            public boolean isReadBackupData() {
+                return readBackupData;
+            }
+
+            public void setReadBackupData(boolean readBackupData) {
+                this.readBackupData = readBackupData;
+            }
+
+            public boolean isWarmUp() {
+                return warmUp;
+            }
+
+            public void setWarmUp(boolean warmUp) {
+                this.warmUp = warmUp;
+            }
+
+            public NearCache getNearCache() {
+                return nearCache;
+            }
+        }
+
+        public static class NearCache {
+
+            private boolean enabled = false;
+
+            private int maxSize = 10000;
+
+            private int timeToLiveSeconds = 0;
+
+            private int maxIdleSeconds = 0;
+
+            private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+            private InMemoryFormat inMemoryFormat = InMemoryFormat.OBJECT;
+
+            private boolean invalidateOnChange = true;
+
+            private boolean cacheLocalEntries = true;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public int getMaxIdleSeconds() {
+                return maxIdleSeconds;
+            }
+
+            public void setMaxIdleSeconds(int maxIdleSeconds) {
+                this.maxIdleSeconds = maxIdleSeconds;
+            }
+
+            public EvictionPolicy getEvictionPolicy() {
+                return evictionPolicy;
+            }
+
+            public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+                this.evictionPolicy = evictionPolicy;
+            }
+
+            public InMemoryFormat getInMemoryFormat() {
+                return inMemoryFormat;
+            }
+
+            public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+                this.inMemoryFormat = inMemoryFormat;
+            }
+
+            public boolean isInvalidateOnChange() {
+                return invalidateOnChange;
+            }
+
+            public void setInvalidateOnChange(boolean invalidateOnChange) {
+                this.invalidateOnChange = invalidateOnChange;
+            }
+
+            public boolean isCacheLocalEntries() {
+                return cacheLocalEntries;
+            }
+
+            public void setCacheLocalEntries(boolean cacheLocalEntries) {
+                this.cacheLocalEntries = cacheLocalEntries;
+            }
+        }
+    }
 }
@@ -3,6 +3,8 @@ package ma.lucidea.abcidea.config;
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.JHipsterProperties;
 
+import ma.lucidea.abcidea.config.cache.CacheSerializers;
+
 import com.hazelcast.config.*;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.core.Hazelcast;
@@ -21,11 +23,18 @@ import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 
 import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
+    /**
+     * Hibernate names the second-level cache regions after the entities and their collections.
+     */
+    public static final String DOMAIN_REGION_PREFIX = "ma.lucidea.abcidea.domain.";
+
     private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
 
     private final Environment env;
@@ -60,7 +69,7 @@ public class CacheConfiguration {
     }
 
     @Bean
-    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
+    public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
         log.debug("Configuring Hazelcast");
         HazelcastInstance hazelCastInstance = Hazelcast.getHazelcastInstanceByName("AbcideaApp");
         if (hazelCastInstance != null) {
@@ -102,12 +111,29 @@ public class CacheConfiguration {
         }
         config.getMapConfigs().put("default", initializeDefaultMapConfig(jHipsterProperties));
 
+        // Entries of the second-level cache are written without Java serialization
+        config.getSerializationConfig().getSerializerConfigs().addAll(CacheSerializers.serializerConfigs());
+
         // Full reference is available at: http://docs.hazelcast.org/docs/management-center/3.9/manual/html/Deploying_and_Starting.html
         config.setManagementCenterConfig(initializeDefaultManagementCenterConfig(jHipsterProperties));
-        config.getMapConfigs().put("ma.lucidea.abcidea.domain.*", initializeDomainMapConfig(jHipsterProperties));
+        config.getMapConfigs().put(DOMAIN_REGION_PREFIX + "*", initializeDomainMapConfig(jHipsterProperties));
+        applicationProperties.getCache().getRegions().forEach((region, regionProperties) -> {
+            String mapName = DOMAIN_REGION_PREFIX + region;
+            log.debug("Configuring Hazelcast map {}", mapName);
+            config.getMapConfigs().put(mapName, initializeRegionMapConfig(mapName, jHipsterProperties, regionProperties));
+        });
         return Hazelcast.newHazelcastInstance(config);
     }
 
+    @Bean
+    public HazelcastNearCacheMetrics hazelcastNearCacheMetrics(HazelcastInstance hazelcastInstance, ApplicationProperties applicationProperties) {
+        List<String> mapNames = applicationProperties.getCache().getRegions().entrySet().stream()
+            .filter(region -> region.getValue().getNearCache().isEnabled())
+            .map(region -> DOMAIN_REGION_PREFIX + region.getKey())
+            .collect(Collectors.toList());
+        return new HazelcastNearCacheMetrics(hazelcastInstance, mapNames);
+    }
+
     private ManagementCenterConfig initializeDefaultManagementCenterConfig(JHipsterProperties jHipsterProperties) {
         ManagementCenterConfig managementCenterConfig = new ManagementCenterConfig();
         managementCenterConfig.setEnabled(jHipsterProperties.getCache().getHazelcast().getManagementCenter().isEnabled());
@@ -151,4 +177,52 @@ public class CacheConfiguration {
         mapConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
         return mapConfig;
     }
+
+    MapConfig initializeRegionMapConfig(String mapName, JHipsterProperties jHipsterProperties,
+                                        ApplicationProperties.Cache.Region regionProperties) {
+        MapConfig mapConfig = new MapConfig(mapName);
+        JHipsterProperties.Cache.Hazelcast hazelcast = jHipsterProperties.getCache().getHazelcast();
+
+        mapConfig.setTimeToLiveSeconds(regionProperties.getTimeToLiveSeconds() != null ?
+            regionProperties.getTimeToLiveSeconds() : hazelcast.getTimeToLiveSeconds());
+        mapConfig.setMaxIdleSeconds(regionProperties.getMaxIdleSeconds());
+
+        /*
+        Hot regions are bounded, so that their working set fits in the heap:
+        once the max size is reached, entries are evicted with the policy of the region.
+        Reference data is small, and is neither bounded nor expired.
+        */
+        mapConfig.setEvictionPolicy(regionProperties.getEvictionPolicy());
+        if (regionProperties.getMaxSize() > 0) {
+            mapConfig.setMaxSizeConfig(new MaxSizeConfig(regionProperties.getMaxSize(), regionProperties.getMaxSizePolicy()));
+        }
+
+        /*
+        The cache can always be reloaded from the database, so regions may do without synchronous backups.
+        With read-backup-data, a member reads its own backup copies instead of asking the owner of the entry.
+        */
+        mapConfig.setBackupCount(regionProperties.getBackupCount() != null ?
+            regionProperties.getBackupCount() : hazelcast.getBackupCount());
+        mapConfig.setAsyncBackupCount(regionProperties.getAsyncBackupCount());
+        mapConfig.setReadBackupData(regionProperties.isReadBackupData());
+
+        ApplicationProperties.Cache.NearCache nearCache = regionProperties.getNearCache();
+        if (nearCache.isEnabled()) {
+            /*
+            A near cache keeps the entries read by this member in local memory,
+            so a hit does not need a network hop to the member owning the entry.
+            Entries are invalidated when they are updated or removed anywhere in the cluster.
+            */
+            NearCacheConfig nearCacheConfig = new NearCacheConfig(mapName);
+            nearCacheConfig.setInMemoryFormat(nearCache.getInMemoryFormat());
+            nearCacheConfig.setInvalidateOnChange(nearCache.isInvalidateOnChange());
+            nearCacheConfig.setCacheLocalEntries(nearCache.isCacheLocalEntries());
+            nearCacheConfig.setTimeToLiveSeconds(nearCache.getTimeToLiveSeconds());
+            nearCacheConfig.setMaxIdleSeconds(nearCache.getMaxIdleSeconds());
+            nearCacheConfig.setEvictionConfig(new EvictionConfig(nearCache.getMaxSize(),
+                EvictionConfig.MaxSizePolicy.ENTRY_COUNT, nearCache.getEvictionPolicy()));
+            mapConfig.setNearCacheConfig(nearCacheConfig);
+        }
+        return mapConfig;
+    }
 }
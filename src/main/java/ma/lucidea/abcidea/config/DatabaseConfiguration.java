@@ -1,19 +1,36 @@
 package ma.lucidea.abcidea.config;
 
+import ma.lucidea.abcidea.config.datasource.ReplicaRoutingDataSource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import io.github.jhipster.config.JHipsterConstants;
 import io.github.jhipster.config.h2.H2ConfigurationHelper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.util.StringUtils;
 
+import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
 @EnableJpaRepositories("ma.lucidea.abcidea.repository")
@@ -56,4 +73,54 @@ public class DatabaseConfiguration {
         }
         return String.valueOf(port);
     }
+
+    /**
+     * Sends the read-only transactions to the read replicas, when application.datasource.replicas are configured.
+     * <p>
+     * The primary pool is created like the one of Spring Boot, and each replica pool gets the same
+     * spring.datasource.hikari settings.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "application.datasource.replicas[0]", name = "url")
+    public static class ReadReplicaConfiguration {
+
+        @Bean
+        @ConfigurationProperties(prefix = "spring.datasource.hikari")
+        public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+            HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            if (StringUtils.hasText(properties.getName())) {
+                dataSource.setPoolName(properties.getName());
+            }
+            return dataSource;
+        }
+
+        @Bean
+        public ReplicaRoutingDataSource replicaRoutingDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                                                 ApplicationProperties applicationProperties, Environment env,
+                                                                 @Lazy MeterRegistry registry) {
+            List<ApplicationProperties.Datasource.Replica> replicas = applicationProperties.getDatasource().getReplicas();
+            List<HikariDataSource> replicaPools = new ArrayList<>();
+            for (int i = 0; i < replicas.size(); i++) {
+                ApplicationProperties.Datasource.Replica replica = replicas.get(i);
+                HikariConfig config = Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(new HikariConfig()))
+                    .orElseGet(HikariConfig::new);
+                config.setJdbcUrl(replica.getUrl());
+                config.setUsername(replica.getUsername() != null ? replica.getUsername() : properties.determineUsername());
+                config.setPassword(replica.getPassword() != null ? replica.getPassword() : properties.determinePassword());
+                config.setPoolName((primaryDataSource.getPoolName() != null ? primaryDataSource.getPoolName() : "Hikari") + "-replica-" + (i + 1));
+                config.setReadOnly(true);
+                // The pool starts even if the replica is down, it is then not used until its health check succeeds
+                config.setInitializationFailTimeout(-1);
+                config.setMetricsTrackerFactory(primaryDataSource.getMetricsTrackerFactory());
+                replicaPools.add(new HikariDataSource(config));
+            }
+            return new ReplicaRoutingDataSource(primaryDataSource, replicaPools, applicationProperties.getDatasource(), registry);
+        }
+
+        @Bean
+        @Primary
+        public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        }
+    }
 }
@@ -0,0 +1,73 @@
+package ma.lucidea.abcidea.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.monitor.NearCacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Collection;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the hits, misses and hit ratio of the Hazelcast near caches of this member.
+ */
+public class HazelcastNearCacheMetrics implements MeterBinder {
+
+    private static final String METRIC_PREFIX = "hazelcast.near.cache.";
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final Collection<String> mapNames;
+
+    public HazelcastNearCacheMetrics(HazelcastInstance hazelcastInstance, Collection<String> mapNames) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.mapNames = mapNames;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String mapName : mapNames) {
+            IMap<?, ?> map = hazelcastInstance.getMap(mapName);
+            Tags tags = Tags.of("cache", mapName);
+
+            FunctionCounter.builder(METRIC_PREFIX + "hits", map, statistic(NearCacheStats::getHits))
+                .tags(tags)
+                .description("The number of reads served by the near cache")
+                .register(registry);
+
+            FunctionCounter.builder(METRIC_PREFIX + "misses", map, statistic(NearCacheStats::getMisses))
+                .tags(tags)
+                .description("The number of reads that missed the near cache")
+                .register(registry);
+
+            Gauge.builder(METRIC_PREFIX + "hit.ratio", map, HazelcastNearCacheMetrics::hitRatio)
+                .tags(tags)
+                .description("The ratio of the reads served by the near cache, NaN until the first read")
+                .register(registry);
+
+            Gauge.builder(METRIC_PREFIX + "entries", map, statistic(NearCacheStats::getOwnedEntryCount))
+                .tags(tags)
+                .description("The number of entries held by the near cache")
+                .register(registry);
+        }
+    }
+
+    private static ToDoubleFunction<IMap<?, ?>> statistic(ToDoubleFunction<NearCacheStats> statistic) {
+        return map -> {
+            NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
+            return stats == null ? 0 : statistic.applyAsDouble(stats);
+        };
+    }
+
+    private static double hitRatio(IMap<?, ?> map) {
+        NearCacheStats stats = map.getLocalMapStats().getNearCacheStats();
+        if (stats == null || stats.getHits() + stats.getMisses() == 0) {
+            return Double.NaN;
+        }
+        return (double) stats.getHits() / (stats.getHits() + stats.getMisses());
+    }
+}
@@ -5,14 +5,25 @@ import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.zalando.problem.ProblemModule;
 import org.zalando.problem.violations.ConstraintViolationProblemModule;
 
+import java.util.List;
+
 @Configuration
 public class JacksonConfiguration {
 
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    public static final String CBOR_VALUE = "application/cbor";
+
     /**
      * Support for Java date and time API.
      * @return the corresponding Jackson module.
@@ -60,4 +71,34 @@ public class JacksonConfiguration {
         return new ConstraintViolationProblemModule();
     }
 
+    /*
+     * Smile (application/x-jackson-smile) and CBOR (application/cbor) binary encodings of the JSON documents, for
+     * the clients asking for them with the Accept and Content-Type headers.
+     *
+     * They replace the default converters of Spring MVC, whose object mappers lack the modules and settings above.
+     * As the default converters, they come after the JSON one: JSON is still used when any type is accepted.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ApplicationContext applicationContext,
+                                                                              List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.smile();
+        return new MappingJackson2SmileHttpMessageConverter(customize(builder, applicationContext, customizers).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ApplicationContext applicationContext,
+                                                                            List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.cbor();
+        return new MappingJackson2CborHttpMessageConverter(customize(builder, applicationContext, customizers).build());
+    }
+
+    /**
+     * Configure a builder as the one of the JSON object mapper: with the spring.jackson properties and the modules.
+     */
+    private static Jackson2ObjectMapperBuilder customize(Jackson2ObjectMapperBuilder builder, ApplicationContext applicationContext,
+                                                         List<Jackson2ObjectMapperBuilderCustomizer> customizers) {
+        builder.applicationContext(applicationContext);
+        customizers.forEach(customizer -> customizer.customize(builder));
+        return builder;
+    }
 }
@@ -0,0 +1,45 @@
+package ma.lucidea.abcidea.config;
+
+import ma.lucidea.abcidea.aop.logging.TimingInterceptor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.*;
+
+@Configuration
+@EnableAspectJAutoProxy
+public class TimingConfiguration {
+
+    /**
+     * Matches all repositories, services and Web REST endpoints in the application's main packages.
+     */
+    public static final String TIMED_BEANS = "(within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *))" +
+        " && (within(ma.lucidea.abcidea.repository..*)" +
+        " || within(ma.lucidea.abcidea.service..*)" +
+        " || within(ma.lucidea.abcidea.web.rest..*))";
+
+    /**
+     * Enabled unless the "application.timing.enabled" property is false.
+     * <p>
+     * The registry is resolved lazily: advisors are created with the bean post-processors,
+     * before the registry could be customized.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.timing", name = "enabled", matchIfMissing = true)
+    public Advisor timingAdvisor(@Lazy MeterRegistry registry, ApplicationProperties applicationProperties) {
+        ApplicationProperties.Timing timing = applicationProperties.getTiming();
+        return timingAdvisor(new TimingInterceptor(registry, timing.getArgumentLogSampleRate(), timing.getSlowCallThreshold(),
+            timing.isLogExceptions()));
+    }
+
+    public static Advisor timingAdvisor(TimingInterceptor interceptor) {
+        AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+        pointcut.setExpression(TIMED_BEANS);
+        return new DefaultPointcutAdvisor(pointcut, interceptor);
+    }
+}
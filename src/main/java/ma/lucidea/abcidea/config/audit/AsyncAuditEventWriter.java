@@ -0,0 +1,466 @@
+package ma.lucidea.abcidea.config.audit;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.domain.PersistentAuditEvent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes the audit events in the background, in JDBC batches.
+ * <p>
+ * Events are put in a bounded queue, and a writer thread saves them with JDBC batches in one transaction per batch,
+ * once the batch is full or once its first event has waited for the flush interval. When the queue is full, the overflow policy
+ * decides whether the caller waits for room, the event is dropped, or it is spilled to disk and written later.
+ * <p>
+ * Spilled events are appended to an open spill file. Every replay interval, the open file is sealed under the spill
+ * lock, by closing it and renaming it, and the sealed files are written by a replay thread, whether the queue is busy
+ * or not. Events spilled meanwhile go to a new open file, so that a file is never appended to while it is replayed.
+ */
+@Component
+public class AsyncAuditEventWriter implements SmartLifecycle {
+
+    private static final String OPEN_SPILL_FILE_SUFFIX = ".spilling";
+
+    private static final String SPILL_FILE_SUFFIX = ".spill";
+
+    private static final String INSERT_EVENT = "insert into jhi_persistent_audit_event" +
+        " (event_id, principal, event_date, event_type) values (?, ?, ?, ?)";
+
+    private static final String INSERT_EVENT_DATA = "insert into jhi_persistent_audit_evt_data" +
+        " (event_id, name, value, event_date) values (?, ?, ?, ?)";
+
+    private final Logger log = LoggerFactory.getLogger(AsyncAuditEventWriter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final MeterRegistry registry;
+
+    private final ApplicationProperties.Audit properties;
+
+    private final BlockingQueue<PersistentAuditEvent> queue;
+
+    private final Path spillDirectory;
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final AtomicLong spilled = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private final Object spillLock = new Object();
+
+    private final Object replayLock = new Object();
+
+    private BufferedWriter spillWriter;
+
+    private long spillFileCount;
+
+    private ScheduledExecutorService replayer;
+
+    private Timer flushTimer;
+
+    private volatile Thread writerThread;
+
+    private volatile boolean running;
+
+    private long nextId = 1;
+
+    private long maxId;
+
+    public AsyncAuditEventWriter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper, @Lazy MeterRegistry registry,
+                                 ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.properties = applicationProperties.getAudit();
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.spillDirectory = Paths.get(properties.getSpillDirectory());
+    }
+
+    /**
+     * Queue an event to be written, applying the overflow policy if the queue is full.
+     *
+     * @param event the event to write.
+     */
+    public void write(PersistentAuditEvent event) {
+        if (queue.offer(event)) {
+            return;
+        }
+        switch (properties.getOverflowPolicy()) {
+            case BLOCK:
+                try {
+                    if (queue.offer(event, properties.getBlockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                drop(event);
+                break;
+            case SPILL:
+                spill(event);
+                break;
+            default:
+                drop(event);
+        }
+    }
+
+    private void drop(PersistentAuditEvent event) {
+        dropped.incrementAndGet();
+        log.warn("The audit event queue is full, dropped {}", event);
+    }
+
+    private void spill(PersistentAuditEvent event) {
+        try {
+            String line = objectMapper.writeValueAsString(event);
+            synchronized (spillLock) {
+                if (spillWriter == null) {
+                    Files.createDirectories(spillDirectory);
+                    Path spillFile = spillDirectory.resolve("audit-events-" + System.currentTimeMillis() + "-" +
+                        ++spillFileCount + OPEN_SPILL_FILE_SUFFIX);
+                    spillWriter = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                spillWriter.write(line);
+                spillWriter.newLine();
+                spillWriter.flush();
+            }
+            spilled.incrementAndGet();
+        } catch (IOException e) {
+            log.warn("Could not spill the audit event {} to {}: {}", event, spillDirectory, e.getMessage());
+            drop(event);
+        }
+    }
+
+    private void run() {
+        List<PersistentAuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                PersistentAuditEvent first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < properties.getBatchSize()) {
+                    queue.drainTo(batch, properties.getBatchSize() - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= properties.getBatchSize() || wait <= 0) {
+                        break;
+                    }
+                    PersistentAuditEvent next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(batch);
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!flush(batch)) {
+                batch.forEach(properties.getOverflowPolicy() == ApplicationProperties.Audit.OverflowPolicy.SPILL ?
+                    this::spill : event -> failed.incrementAndGet());
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Save a batch in one transaction, with one JDBC batch for the events and one for their data.
+     *
+     * @return true if the batch was saved.
+     */
+    private boolean flush(List<PersistentAuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.execute(status -> {
+                List<Object[]> events = new ArrayList<>(batch.size());
+                List<Object[]> eventData = new ArrayList<>(batch.size() * 2);
+                for (PersistentAuditEvent event : batch) {
+                    long id = nextId();
+                    Timestamp date = Timestamp.from(event.getAuditEventDate() != null ? event.getAuditEventDate() : Instant.now());
+                    events.add(new Object[]{id, event.getPrincipal(), date, event.getAuditEventType()});
+                    event.getData().forEach((name, value) -> eventData.add(new Object[]{id, name, value, date}));
+                }
+                jdbcTemplate.batchUpdate(INSERT_EVENT, new RowsSetter(events));
+                jdbcTemplate.batchUpdate(INSERT_EVENT_DATA, new RowsSetter(eventData));
+                return null;
+            });
+            written.addAndGet(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not write {} audit events: {}", batch.size(), e.getMessage());
+            return false;
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Allocate an id from the event sequence, which is incremented by blocks of ids (pooled-lo).
+     */
+    private synchronized long nextId() {
+        if (nextId > maxId) {
+            nextId = jdbcTemplate.queryForObject("select nextval('" + PersistentAuditEvent.SEQUENCE_NAME + "')", Long.class);
+            maxId = nextId + PersistentAuditEvent.SEQUENCE_INCREMENT - 1;
+        }
+        return nextId++;
+    }
+
+    /**
+     * Seal the open spill file, and write the events of the sealed ones.
+     */
+    private void replaySpilledEvents() {
+        synchronized (replayLock) {
+            if (!Files.isDirectory(spillDirectory)) {
+                return;
+            }
+            try {
+                sealSpillFiles();
+            } catch (IOException e) {
+                log.warn("Could not seal the audit event spill files of {}: {}", spillDirectory, e.getMessage());
+            }
+            replaySealedSpillFiles();
+        }
+    }
+
+    /**
+     * Close the open spill file and rename it, with the files left open by a previous run, so that no event is
+     * appended to them anymore.
+     */
+    private void sealSpillFiles() throws IOException {
+        synchronized (spillLock) {
+            if (spillWriter != null) {
+                try {
+                    spillWriter.close();
+                } finally {
+                    spillWriter = null;
+                }
+            }
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory, "*" + OPEN_SPILL_FILE_SUFFIX)) {
+                for (Path openFile : files) {
+                    String name = openFile.getFileName().toString();
+                    Files.move(openFile, openFile.resolveSibling(
+                        name.substring(0, name.length() - OPEN_SPILL_FILE_SUFFIX.length()) + SPILL_FILE_SUFFIX),
+                        StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+        }
+    }
+
+    private void replaySealedSpillFiles() {
+        List<Path> spillFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory, "*" + SPILL_FILE_SUFFIX)) {
+            files.forEach(spillFiles::add);
+        } catch (IOException e) {
+            log.warn("Could not list the audit event spill files of {}: {}", spillDirectory, e.getMessage());
+            return;
+        }
+        spillFiles.sort(null);
+        for (Path spillFile : spillFiles) {
+            if (!replay(spillFile)) {
+                return;
+            }
+        }
+    }
+
+    private boolean replay(Path spillFile) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(spillFile, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Could not read the audit event spill file {}: {}", spillFile, e.getMessage());
+            return false;
+        }
+        List<PersistentAuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        for (int start = 0; start < lines.size(); start += properties.getBatchSize()) {
+            try {
+                for (String line : lines.subList(start, Math.min(start + properties.getBatchSize(), lines.size()))) {
+                    batch.add(objectMapper.readValue(line, PersistentAuditEvent.class));
+                }
+                if (!flush(batch)) {
+                    // Only the events that are not written yet are kept, so that none is written twice
+                    Files.write(spillFile, lines.subList(start, lines.size()), StandardCharsets.UTF_8);
+                    return false;
+                }
+            } catch (IOException e) {
+                log.warn("Could not replay the audit event spill file {}: {}", spillFile, e.getMessage());
+                return false;
+            }
+            batch.clear();
+        }
+        try {
+            Files.delete(spillFile);
+            log.info("Wrote {} audit events spilled to {}", lines.size(), spillFile);
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not delete the audit event spill file {}: {}", spillFile, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * The metrics are registered when the writer starts, as the registry depends on the data source
+     * that the writer itself depends on.
+     */
+    private void bindMetrics() {
+        Gauge.builder("audit.events.queue.depth", queue, BlockingQueue::size)
+            .description("Audit events waiting to be written")
+            .register(registry);
+        FunctionCounter.builder("audit.events.written", written, AtomicLong::get)
+            .description("Audit events written to the database")
+            .register(registry);
+        FunctionCounter.builder("audit.events.dropped", dropped, AtomicLong::get)
+            .description("Audit events dropped because the queue was full")
+            .register(registry);
+        FunctionCounter.builder("audit.events.spilled", spilled, AtomicLong::get)
+            .description("Audit events spilled to disk because the queue was full")
+            .register(registry);
+        FunctionCounter.builder("audit.events.failed", failed, AtomicLong::get)
+            .description("Audit events that could not be written to the database")
+            .register(registry);
+        flushTimer = Timer.builder("audit.events.flush")
+            .description("Writes of a batch of audit events")
+            .register(registry);
+    }
+
+    /**
+     * Binds the rows of a batch, with the timestamps in UTC like Hibernate (see {@code hibernate.jdbc.time_zone}).
+     */
+    private static final class RowsSetter implements BatchPreparedStatementSetter {
+
+        private final List<Object[]> rows;
+
+        private final Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+
+        private RowsSetter(List<Object[]> rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public void setValues(PreparedStatement ps, int i) throws SQLException {
+            Object[] row = rows.get(i);
+            for (int column = 0; column < row.length; column++) {
+                if (row[column] instanceof Timestamp) {
+                    ps.setTimestamp(column + 1, (Timestamp) row[column], utc);
+                } else {
+                    ps.setObject(column + 1, row[column]);
+                }
+            }
+        }
+
+        @Override
+        public int getBatchSize() {
+            return rows.size();
+        }
+    }
+
+    @Override
+    public void start() {
+        bindMetrics();
+        running = true;
+        writerThread = new Thread(this::run, "audit-event-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        replayer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "audit-event-replayer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        replayer.scheduleWithFixedDelay(this::replaySpilledEvents, 0, properties.getReplayInterval().toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (replayer != null) {
+            replayer.shutdown();
+            replayer = null;
+        }
+        Thread thread = writerThread;
+        if (thread != null) {
+            // The thread is not interrupted, which could break a batch being written: it ends once the queue is empty
+            try {
+                thread.join(properties.getFlushInterval().toMillis() * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThread = null;
+            // The events spilled until now are written while the database is still there, or on the next start
+            replaySpilledEvents();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
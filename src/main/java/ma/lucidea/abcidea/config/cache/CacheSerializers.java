@@ -0,0 +1,112 @@
+package ma.lucidea.abcidea.config.cache;
+
+import com.hazelcast.config.SerializerConfig;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hazelcast serializers of the values held by the second-level cache.
+ * <p>
+ * Hibernate caches an entity as the array of its disassembled properties, and a collection as the array of
+ * the ids of its elements. Both are Java serialized by default, which writes class descriptors and boxes
+ * in every entry: these serializers write the arrays with the Hazelcast serializers of their elements instead.
+ * <p>
+ * Every member of the cluster must register the same serializers, with the same type ids.
+ */
+public final class CacheSerializers {
+
+    public static final int INSTANT_TYPE_ID = 1001;
+
+    public static final int COLLECTION_CACHE_ENTRY_TYPE_ID = 1002;
+
+    public static final int STANDARD_CACHE_ENTRY_TYPE_ID = 1003;
+
+    private static final byte GENERIC_STATE = 0;
+
+    private static final byte LONG_STATE = 1;
+
+    private CacheSerializers() {
+    }
+
+    public static List<SerializerConfig> serializerConfigs() {
+        return Arrays.asList(
+            new SerializerConfig().setTypeClass(Instant.class).setImplementation(new InstantStreamSerializer()),
+            new SerializerConfig().setTypeClass(StandardCacheEntryImpl.class).setImplementation(new StandardCacheEntryStreamSerializer()),
+            new SerializerConfig().setTypeClass(CollectionCacheEntry.class).setImplementation(new CollectionCacheEntryStreamSerializer()));
+    }
+
+    /**
+     * Write a disassembled state, as a primitive array when it only holds ids.
+     */
+    static void writeState(ObjectDataOutput out, Serializable[] state) throws IOException {
+        long[] ids = toIds(state);
+        if (ids != null) {
+            out.writeByte(LONG_STATE);
+            out.writeLongArray(ids);
+        } else {
+            out.writeByte(GENERIC_STATE);
+            out.writeInt(state.length);
+            for (Serializable element : state) {
+                out.writeObject(element);
+            }
+        }
+    }
+
+    static Serializable[] readState(ObjectDataInput in) throws IOException {
+        if (in.readByte() == LONG_STATE) {
+            long[] ids = in.readLongArray();
+            Serializable[] state = new Serializable[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                state[i] = ids[i];
+            }
+            return state;
+        }
+        Serializable[] state = new Serializable[in.readInt()];
+        for (int i = 0; i < state.length; i++) {
+            state[i] = in.readObject();
+        }
+        return state;
+    }
+
+    private static long[] toIds(Serializable[] state) {
+        long[] ids = new long[state.length];
+        for (int i = 0; i < state.length; i++) {
+            if (!(state[i] instanceof Long)) {
+                return null;
+            }
+            ids[i] = (Long) state[i];
+        }
+        return ids;
+    }
+
+    /**
+     * Hibernate only rebuilds its cache entries from their state through package-private constructors.
+     */
+    static <T> Constructor<T> accessibleConstructor(Class<T> type, Class<?>... parameterTypes) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor(parameterTypes);
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Unsupported Hibernate version, " + type.getName() + " cannot be created", e);
+        }
+    }
+
+    static <T> T newInstance(Constructor<T> constructor, Object... arguments) {
+        try {
+            return constructor.newInstance(arguments);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create a " + constructor.getDeclaringClass().getName(), e);
+        }
+    }
+}
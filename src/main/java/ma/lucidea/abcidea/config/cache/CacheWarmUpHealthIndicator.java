@@ -0,0 +1,31 @@
+package ma.lucidea.abcidea.config.cache;
+
+import ma.lucidea.abcidea.service.CacheWarmUpService;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the application OUT_OF_SERVICE while the second-level cache is warmed up, so that the service
+ * discovery does not send it traffic before, and the progress of the warm-up of each region.
+ */
+@Component
+public class CacheWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (cacheWarmUpService.isFinished()) {
+            builder.up();
+        } else {
+            builder.outOfService();
+        }
+        builder.withDetail("regions", cacheWarmUpService.getProgress());
+    }
+}
@@ -0,0 +1,42 @@
+package ma.lucidea.abcidea.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+
+/**
+ * Writes a {@link CollectionCacheEntry}, the ids of the elements of a cached collection.
+ */
+public class CollectionCacheEntryStreamSerializer implements StreamSerializer<CollectionCacheEntry> {
+
+    private static final Constructor<CollectionCacheEntry> CONSTRUCTOR =
+        CacheSerializers.accessibleConstructor(CollectionCacheEntry.class, Serializable.class);
+
+    @Override
+    public int getTypeId() {
+        return CacheSerializers.COLLECTION_CACHE_ENTRY_TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, CollectionCacheEntry entry) throws IOException {
+        CacheSerializers.writeState(out, entry.getState());
+    }
+
+    @Override
+    public CollectionCacheEntry read(ObjectDataInput in) throws IOException {
+        return newCollectionCacheEntry(CacheSerializers.readState(in));
+    }
+
+    static CollectionCacheEntry newCollectionCacheEntry(Serializable[] state) {
+        return CacheSerializers.newInstance(CONSTRUCTOR, (Object) state);
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
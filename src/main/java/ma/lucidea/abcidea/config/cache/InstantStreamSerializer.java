@@ -0,0 +1,34 @@
+package ma.lucidea.abcidea.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Writes an {@link Instant} as its epoch second and nanosecond, instead of a Java serialized object.
+ */
+public class InstantStreamSerializer implements StreamSerializer<Instant> {
+
+    @Override
+    public int getTypeId() {
+        return CacheSerializers.INSTANT_TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    @Override
+    public Instant read(ObjectDataInput in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,44 @@
+package ma.lucidea.abcidea.config.cache;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.StreamSerializer;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+
+/**
+ * Writes a {@link StandardCacheEntryImpl}, the disassembled properties of a cached entity.
+ */
+public class StandardCacheEntryStreamSerializer implements StreamSerializer<StandardCacheEntryImpl> {
+
+    private static final Constructor<StandardCacheEntryImpl> CONSTRUCTOR =
+        CacheSerializers.accessibleConstructor(StandardCacheEntryImpl.class, Serializable[].class, String.class, Object.class);
+
+    @Override
+    public int getTypeId() {
+        return CacheSerializers.STANDARD_CACHE_ENTRY_TYPE_ID;
+    }
+
+    @Override
+    public void write(ObjectDataOutput out, StandardCacheEntryImpl entry) throws IOException {
+        CacheSerializers.writeState(out, entry.getDisassembledState());
+        out.writeUTF(entry.getSubclass());
+        out.writeObject(entry.getVersion());
+    }
+
+    @Override
+    public StandardCacheEntryImpl read(ObjectDataInput in) throws IOException {
+        return newStandardCacheEntry(CacheSerializers.readState(in), in.readUTF(), in.readObject());
+    }
+
+    static StandardCacheEntryImpl newStandardCacheEntry(Serializable[] state, String subclass, Object version) {
+        return CacheSerializers.newInstance(CONSTRUCTOR, state, subclass, version);
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Hazelcast serialization of the second-level cache entries.
+ */
+package ma.lucidea.abcidea.config.cache;
@@ -0,0 +1,154 @@
+package ma.lucidea.abcidea.config.changes;
+
+import ma.lucidea.abcidea.domain.PersistentAuditEvent;
+import ma.lucidea.abcidea.service.ChangeStreamService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.dto.EntityChangeDTO;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Publishes the committed changes of the entities to the change stream, and counts them in the modification
+ * counters of their tables, from which the entity tags of the lists are computed.
+ * <p>
+ * Hibernate post-commit listeners see every change made through JPA, whether it comes from the services, the
+ * resources or the bulk endpoints, and only once its transaction is committed. Audit events and read-only
+ * entities such as the read models are not published.
+ * <p>
+ * The changes of a Spring transaction are gathered in a transaction synchronization, and published once it is
+ * committed: each modified table is counted once, as each count is a call to the cluster, then the changes are
+ * published.
+ */
+@Component
+public class EntityChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+    PostCommitDeleteEventListener {
+
+    private final Logger log = LoggerFactory.getLogger(EntityChangeListener.class);
+
+    private final ChangeStreamService changeStreamService;
+
+    private final EntityTagService entityTagService;
+
+    public EntityChangeListener(EntityManagerFactory entityManagerFactory, ChangeStreamService changeStreamService,
+                                EntityTagService entityTagService) {
+        this.changeStreamService = changeStreamService;
+        this.entityTagService = entityTagService;
+        EventListenerRegistry listenerRegistry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return persister.isMutable() && persister.getMappedClass() != PersistentAuditEvent.class;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(EntityChangeDTO.Type.CREATED, event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(EntityChangeDTO.Type.UPDATED, event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(EntityChangeDTO.Type.DELETED, event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, so there is no change to publish
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, so there is no change to publish
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, so there is no change to publish
+    }
+
+    private void publish(EntityChangeDTO.Type type, EntityPersister persister, Serializable id) {
+        EntityChangeDTO change = new EntityChangeDTO(type, persister.getMappedClass().getSimpleName(), (Long) id, Instant.now());
+        // The listeners are called while the transaction manager commits, before the synchronizations are
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            CommittedChanges changes = (CommittedChanges) TransactionSynchronizationManager.getResource(this);
+            if (changes == null) {
+                changes = new CommittedChanges();
+                TransactionSynchronizationManager.bindResource(this, changes);
+                TransactionSynchronizationManager.registerSynchronization(changes);
+            }
+            changes.add(persister.getMappedClass(), change);
+        } else {
+            publish(Collections.singleton(persister.getMappedClass()), Collections.singletonList(change));
+        }
+    }
+
+    private void publish(Set<Class<?>> modifiedClasses, List<EntityChangeDTO> changes) {
+        // Counted first, so that the clients notified of the changes do not read the lists with their former tags
+        for (Class<?> modifiedClass : modifiedClasses) {
+            try {
+                entityTagService.tableModified(modifiedClass);
+            } catch (RuntimeException e) {
+                log.warn("Could not count the changes of {}: {}", modifiedClass.getSimpleName(), e.getMessage());
+            }
+        }
+        for (EntityChangeDTO change : changes) {
+            try {
+                changeStreamService.publish(change);
+            } catch (RuntimeException e) {
+                // The change is committed: failing to stream it must not fail the caller
+                log.warn("Could not publish {}: {}", change, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The changes committed by a transaction, published after its commit.
+     */
+    private final class CommittedChanges extends TransactionSynchronizationAdapter {
+
+        private final Set<Class<?>> modifiedClasses = new LinkedHashSet<>();
+
+        private final List<EntityChangeDTO> changes = new ArrayList<>();
+
+        private void add(Class<?> modifiedClass, EntityChangeDTO change) {
+            modifiedClasses.add(modifiedClass);
+            changes.add(change);
+        }
+
+        @Override
+        public void afterCommit() {
+            publish(modifiedClasses, changes);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(EntityChangeListener.this);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package ma.lucidea.abcidea.config.datasource;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.config.ApplicationProperties.Datasource.LoadBalancing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Data source sending the read-only transactions to read replicas, and everything else to the primary.
+ * <p>
+ * The transaction must be known when a connection is requested, so this data source is wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction managers then only get
+ * a connection on the first statement, once the transaction is flagged read-only.
+ * <p>
+ * Replicas are chosen by round-robin or by least active connections. They are checked in the background, and only
+ * used once their check succeeded and while their replication lag is below the maximum. When no replica can be used,
+ * read-only transactions fall back to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements SmartLifecycle, DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final LoadBalancing loadBalancing;
+
+    private final Duration healthCheckInterval;
+
+    private final String replicationLagQuery;
+
+    private final long maxReplicationLagMillis;
+
+    private final MeterRegistry registry;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    private ScheduledExecutorService healthChecker;
+
+    private volatile boolean running;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+                                    ApplicationProperties.Datasource properties, MeterRegistry registry) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).collect(Collectors.toList());
+        this.loadBalancing = properties.getLoadBalancing();
+        this.healthCheckInterval = properties.getHealthCheckInterval();
+        this.replicationLagQuery = properties.getReplicationLagQuery();
+        this.maxReplicationLagMillis = properties.getMaxReplicationLag().toMillis();
+        this.registry = registry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return getConnection(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection getConnection(ConnectionFactory connectionFactory) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connectionFactory.getConnection(primary);
+        }
+        // A replica that fails is not used until its next successful check, so each replica is tried at most once
+        for (Replica replica = chooseReplica(); replica != null; replica = chooseReplica()) {
+            try {
+                return connectionFactory.getConnection(replica.pool);
+            } catch (SQLException e) {
+                log.warn("Could not connect to replica {}, it is not used until its next check: {}", replica.name, e.getMessage());
+                replica.healthy = false;
+            }
+        }
+        fallbacks.incrementAndGet();
+        return connectionFactory.getConnection(primary);
+    }
+
+    private Replica chooseReplica() {
+        int size = replicas.size();
+        if (loadBalancing == LoadBalancing.LEAST_CONNECTIONS) {
+            Replica chosen = null;
+            int chosenConnections = Integer.MAX_VALUE;
+            for (Replica replica : replicas) {
+                if (replica.isAvailable()) {
+                    int connections = replica.activeConnections();
+                    if (connections < chosenConnections) {
+                        chosen = replica;
+                        chosenConnections = connections;
+                    }
+                }
+            }
+            return chosen;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isAvailable()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check the health and replication lag of all the replicas.
+     */
+    public void checkReplicas() {
+        replicas.forEach(Replica::check);
+    }
+
+    /**
+     * The metrics are registered when the data source starts, as the registry depends on the data source.
+     */
+    void bindMetrics() {
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                .description("Whether the replica is used by read-only transactions")
+                .tag("pool", replica.name)
+                .register(registry);
+            TimeGauge.builder("datasource.replica.lag", replica, TimeUnit.MILLISECONDS, r -> r.lagMillis)
+                .description("Replication lag of the replica at its last check")
+                .tag("pool", replica.name)
+                .register(registry);
+        }
+        FunctionCounter.builder("datasource.replica.fallbacks", fallbacks, AtomicLong::get)
+            .description("Read-only transactions sent to the primary, as no replica was available")
+            .register(registry);
+    }
+
+    @Override
+    public void start() {
+        bindMetrics();
+        AtomicInteger threads = new AtomicInteger();
+        healthChecker = Executors.newScheduledThreadPool(replicas.size(), runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Each replica has its own thread, so that a replica that does not answer does not delay the others
+        for (Replica replica : replicas) {
+            healthChecker.scheduleWithFixedDelay(replica::check, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+            healthChecker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * The replica pools are closed with the beans, after the entity manager factory that uses them.
+     */
+    @Override
+    public void destroy() {
+        stop();
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    @FunctionalInterface
+    private interface ConnectionFactory {
+
+        Connection getConnection(DataSource dataSource) throws SQLException;
+    }
+
+    private final class Replica {
+
+        private final HikariDataSource pool;
+
+        private final String name;
+
+        /**
+         * Not healthy until checked, so that an unreachable replica does not make the first transactions wait.
+         */
+        private volatile boolean healthy;
+
+        private volatile long lagMillis;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+            this.name = pool.getPoolName();
+        }
+
+        private boolean isAvailable() {
+            return healthy && lagMillis <= maxReplicationLagMillis;
+        }
+
+        private int activeConnections() {
+            HikariPoolMXBean poolMXBean = pool.getHikariPoolMXBean();
+            return poolMXBean == null ? 0 : poolMXBean.getActiveConnections();
+        }
+
+        private void check() {
+            boolean wasAvailable = isAvailable();
+            try (Connection connection = pool.getConnection()) {
+                lagMillis = replicationLagMillis(connection);
+                healthy = true;
+            } catch (SQLException | RuntimeException e) {
+                if (healthy) {
+                    log.warn("Replica {} failed its check, it is not used until the next one succeeds: {}", name, e.getMessage());
+                }
+                healthy = false;
+            }
+            if (!wasAvailable && isAvailable()) {
+                log.info("Replica {} is available, with a replication lag of {} ms", name, lagMillis);
+            } else if (wasAvailable && healthy && !isAvailable()) {
+                log.warn("Replica {} is not used, its replication lag of {} ms is above the maximum", name, lagMillis);
+            }
+        }
+
+        private long replicationLagMillis(Connection connection) throws SQLException {
+            if (replicationLagQuery == null) {
+                return 0;
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(replicationLagQuery)) {
+                return resultSet.next() ? Math.round(resultSet.getDouble(1) * 1000) : 0;
+            }
+        }
+    }
+}
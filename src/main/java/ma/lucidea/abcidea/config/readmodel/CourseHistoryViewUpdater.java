@@ -0,0 +1,284 @@
+package ma.lucidea.abcidea.config.readmodel;
+
+import ma.lucidea.abcidea.domain.Course;
+import ma.lucidea.abcidea.domain.CourseHistory;
+import ma.lucidea.abcidea.domain.School;
+import ma.lucidea.abcidea.domain.Student;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the course_history_view read model up to date.
+ * <p>
+ * Hibernate post-commit listeners queue the rows to refresh: the row of a committed CourseHistory, and the rows
+ * of a course, school or student whose title or name changed. A background thread drains the queue and refreshes
+ * the rows from the tables in one transaction per batch, so the writers neither wait for the read model nor
+ * fail with it. The view is eventually consistent: a row is refreshed shortly after its commit, and changes made
+ * outside Hibernate (SQL scripts, bulk queries) are not seen until the row changes again.
+ */
+@Component
+public class CourseHistoryViewUpdater implements SmartLifecycle, PostCommitInsertEventListener,
+    PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private static final int MAX_BATCH_SIZE = 500;
+
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+
+    private static final String DELETE_ROWS = "delete from course_history_view where %s in (:ids)";
+
+    private static final String INSERT_ROWS = "insert into course_history_view (id, start_date, end_date, language," +
+        " course_id, course_title, school_id, school_name, student_id, student_first_name, student_last_name)" +
+        " select course_history.id, course_history.start_date, course_history.end_date, course_history.language," +
+        " course.id, course.course_title, school.id, school.school_name, student.id, student.first_name, student.last_name" +
+        " from course_history" +
+        " left join course on course.id = course_history.course_id" +
+        " left join school on school.id = course_history.school_id" +
+        " left join student on student.id = course_history.student_id" +
+        " where course_history.%s in (:ids)";
+
+    /**
+     * Rows of the view to refresh, by the column of course_history they are selected with.
+     */
+    private enum Key {
+        ID("id"), COURSE_ID("course_id"), SCHOOL_ID("school_id"), STUDENT_ID("student_id");
+
+        private final String column;
+
+        Key(String column) {
+            this.column = column;
+        }
+    }
+
+    /**
+     * Properties shown in the view, by entity: updates of the other properties do not refresh the view.
+     */
+    private static final Map<Class<?>, Set<String>> VIEW_PROPERTIES = new HashMap<>();
+
+    static {
+        VIEW_PROPERTIES.put(Course.class, Collections.singleton("courseTitle"));
+        VIEW_PROPERTIES.put(School.class, Collections.singleton("schoolName"));
+        VIEW_PROPERTIES.put(Student.class, new HashSet<>(Arrays.asList("firstName", "lastName")));
+    }
+
+    private final Logger log = LoggerFactory.getLogger(CourseHistoryViewUpdater.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<Refresh> queue = new LinkedBlockingQueue<>();
+
+    private final AtomicLong pending = new AtomicLong();
+
+    private volatile Thread updaterThread;
+
+    private volatile boolean running;
+
+    public CourseHistoryViewUpdater(EntityManagerFactory entityManagerFactory, NamedParameterJdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        EventListenerRegistry listenerRegistry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listenerRegistry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        Class<?> entityClass = persister.getMappedClass();
+        return entityClass == CourseHistory.class || VIEW_PROPERTIES.containsKey(entityClass);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof CourseHistory) {
+            refresh(Key.ID, event.getId());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof CourseHistory) {
+            refresh(Key.ID, event.getId());
+        } else if (isViewPropertyDirty(event)) {
+            if (entity instanceof Course) {
+                refresh(Key.COURSE_ID, event.getId());
+            } else if (entity instanceof School) {
+                refresh(Key.SCHOOL_ID, event.getId());
+            } else if (entity instanceof Student) {
+                refresh(Key.STUDENT_ID, event.getId());
+            }
+        }
+    }
+
+    /**
+     * Courses, schools and students cannot be deleted while a course history references them, so only the
+     * deletes of course histories remove rows.
+     */
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof CourseHistory) {
+            refresh(Key.ID, event.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, so the view is still up to date
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, so the view is still up to date
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, so the view is still up to date
+    }
+
+    private boolean isViewPropertyDirty(PostUpdateEvent event) {
+        Set<String> viewProperties = VIEW_PROPERTIES.get(event.getEntity().getClass());
+        if (viewProperties == null) {
+            return false;
+        }
+        // Without dirty checking (e.g. an update of a detached entity), any property may have changed
+        if (event.getDirtyProperties() == null) {
+            return true;
+        }
+        String[] propertyNames = event.getPersister().getPropertyNames();
+        return Arrays.stream(event.getDirtyProperties()).anyMatch(i -> viewProperties.contains(propertyNames[i]));
+    }
+
+    private void refresh(Key key, Object id) {
+        pending.incrementAndGet();
+        queue.add(new Refresh(key, (Long) id));
+    }
+
+    /**
+     * @return the number of rows queued or being refreshed.
+     */
+    public long getPendingRefreshes() {
+        return pending.get();
+    }
+
+    private void update() {
+        List<Refresh> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                Refresh first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            queue.drainTo(batch, MAX_BATCH_SIZE - batch.size());
+            if (batch.isEmpty()) {
+                continue;
+            }
+            try {
+                transactionTemplate.execute(status -> {
+                    refreshRows(batch);
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                log.error("Could not refresh {} rows of course_history_view: {}", batch.size(), e.getMessage(), e);
+            } finally {
+                pending.addAndGet(-batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    private void refreshRows(List<Refresh> batch) {
+        Map<Key, Set<Long>> idsByKey = new EnumMap<>(Key.class);
+        for (Refresh refresh : batch) {
+            idsByKey.computeIfAbsent(refresh.key, key -> new HashSet<>()).add(refresh.id);
+        }
+        idsByKey.forEach((key, ids) -> {
+            MapSqlParameterSource parameters = new MapSqlParameterSource("ids", ids);
+            jdbcTemplate.update(String.format(DELETE_ROWS, key.column), parameters);
+            jdbcTemplate.update(String.format(INSERT_ROWS, key.column), parameters);
+        });
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        updaterThread = new Thread(this::update, "course-history-view-updater");
+        updaterThread.setDaemon(true);
+        updaterThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = updaterThread;
+        if (thread != null) {
+            // The thread is not interrupted, which could break a batch being refreshed: it ends once the queue is empty
+            try {
+                thread.join(POLL_INTERVAL_MILLIS * 10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            updaterThread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private static final class Refresh {
+
+        private final Key key;
+
+        private final Long id;
+
+        private Refresh(Key key, Long id) {
+            this.key = key;
+            this.id = id;
+        }
+    }
+}
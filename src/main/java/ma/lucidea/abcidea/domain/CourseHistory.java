@@ -3,6 +3,7 @@ package ma.lucidea.abcidea.domain;
 
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 
@@ -23,10 +24,14 @@ public class CourseHistory implements Serializable {
     private static final long serialVersionUID = 1L;
     
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courseHistorySequenceGenerator")
+    @GenericGenerator(name = "courseHistorySequenceGenerator", strategy = "ma.lucidea.abcidea.domain.id.TableSequenceGenerator")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Column(name = "start_date")
     private Instant startDate;
 
@@ -58,6 +63,14 @@ public class CourseHistory implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Instant getStartDate() {
         return startDate;
     }
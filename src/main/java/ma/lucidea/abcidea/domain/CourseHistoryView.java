@@ -0,0 +1,140 @@
+package ma.lucidea.abcidea.domain;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+import ma.lucidea.abcidea.domain.enumeration.Language;
+
+/**
+ * A CourseHistory, with the title of its course and the names of its school and student, read in one row.
+ * <p>
+ * This read model is not written by the application: it is kept up to date after each commit by the
+ * CourseHistoryViewUpdater.
+ */
+@Entity
+@Immutable
+@Table(name = "course_history_view")
+public class CourseHistoryView implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "start_date")
+    private Instant startDate;
+
+    @Column(name = "end_date")
+    private Instant endDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "language")
+    private Language language;
+
+    @Column(name = "course_id")
+    private Long courseId;
+
+    @Column(name = "course_title")
+    private String courseTitle;
+
+    @Column(name = "school_id")
+    private Long schoolId;
+
+    @Column(name = "school_name")
+    private String schoolName;
+
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "student_first_name")
+    private String studentFirstName;
+
+    @Column(name = "student_last_name")
+    private String studentLastName;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public Language getLanguage() {
+        return language;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public String getCourseTitle() {
+        return courseTitle;
+    }
+
+    public Long getSchoolId() {
+        return schoolId;
+    }
+
+    public String getSchoolName() {
+        return schoolName;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public String getStudentFirstName() {
+        return studentFirstName;
+    }
+
+    public String getStudentLastName() {
+        return studentLastName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CourseHistoryView courseHistoryView = (CourseHistoryView) o;
+        if (courseHistoryView.getId() == null || getId() == null) {
+            return false;
+        }
+        return Objects.equals(getId(), courseHistoryView.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getId());
+    }
+
+    @Override
+    public String toString() {
+        return "CourseHistoryView{" +
+            "id=" + getId() +
+            ", startDate='" + getStartDate() + "'" +
+            ", endDate='" + getEndDate() + "'" +
+            ", language='" + getLanguage() + "'" +
+            ", courseId=" + getCourseId() +
+            ", courseTitle='" + getCourseTitle() + "'" +
+            ", schoolId=" + getSchoolId() +
+            ", schoolName='" + getSchoolName() + "'" +
+            ", studentId=" + getStudentId() +
+            ", studentFirstName='" + getStudentFirstName() + "'" +
+            ", studentLastName='" + getStudentLastName() + "'" +
+            "}";
+    }
+}
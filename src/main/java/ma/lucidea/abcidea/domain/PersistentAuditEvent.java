@@ -1,5 +1,9 @@
 package ma.lucidea.abcidea.domain;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
@@ -11,6 +15,10 @@ import java.util.Map;
 /**
  * Persist AuditEvent managed by the Spring Boot actuator.
  *
+ * Events are written by the {@link ma.lucidea.abcidea.config.audit.AsyncAuditEventWriter}, which allocates
+ * their ids from the same sequence. The event data is stored with the date of its event, as the tables are
+ * partitioned by date.
+ *
  * @see org.springframework.boot.actuate.audit.AuditEvent
  */
 @Entity
@@ -19,9 +27,18 @@ public class PersistentAuditEvent implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    public static final String SEQUENCE_NAME = "jhi_persistent_audit_event_seq";
+
+    public static final int SEQUENCE_INCREMENT = 1000;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "auditEventSequenceGenerator")
+    @GenericGenerator(name = "auditEventSequenceGenerator", strategy = "org.hibernate.id.enhanced.SequenceStyleGenerator",
+        parameters = {
+            @Parameter(name = "sequence_name", value = SEQUENCE_NAME),
+            @Parameter(name = "increment_size", value = "" + SEQUENCE_INCREMENT),
+            @Parameter(name = "optimizer", value = "pooled-lo")
+        })
     @Column(name = "event_id")
     private Long id;
 
@@ -36,6 +53,7 @@ public class PersistentAuditEvent implements Serializable {
     private String auditEventType;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @MapKeyColumn(name = "name")
     @Column(name = "value")
     @CollectionTable(name = "jhi_persistent_audit_evt_data", joinColumns=@JoinColumn(name="event_id"))
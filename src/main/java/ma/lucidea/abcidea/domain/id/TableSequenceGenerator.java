@@ -0,0 +1,48 @@
+package ma.lucidea.abcidea.domain.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Sequence generator using one sequence per table, named after the table with a "_seq" suffix.
+ * <p>
+ * Ids are allocated with the pooled-lo optimizer: each call to the sequence reserves a block of ids, whose size
+ * is the {@value #ALLOCATION_SIZE_SETTING} JPA property. The sequences must be incremented by the same size:
+ * it defaults to {@value #DEFAULT_ALLOCATION_SIZE}, the increment of the sequences created by Liquibase, so
+ * changing it requires altering the sequences first.
+ * <p>
+ * The sequence name, increment size and optimizer can still be set for an entity with the parameters of its
+ * {@link org.hibernate.annotations.GenericGenerator}.
+ */
+public class TableSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "abcidea.id.allocation_size";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    public static final String SEQUENCE_SUFFIX = "_seq";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        if (!params.containsKey(SEQUENCE_PARAM)) {
+            params.setProperty(SEQUENCE_PARAM, params.getProperty(PersistentIdentifierGenerator.TABLE) + SEQUENCE_SUFFIX);
+        }
+        if (!params.containsKey(INCREMENT_PARAM)) {
+            int allocationSize = ConfigurationHelper.getInt(ALLOCATION_SIZE_SETTING,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_ALLOCATION_SIZE);
+            params.setProperty(INCREMENT_PARAM, String.valueOf(allocationSize));
+        }
+        if (!params.containsKey(OPT_PARAM)) {
+            params.setProperty(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        }
+        super.configure(type, params, serviceRegistry);
+    }
+}
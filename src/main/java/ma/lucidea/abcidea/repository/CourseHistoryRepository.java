@@ -1,15 +1,79 @@
 package ma.lucidea.abcidea.repository;
 
 import ma.lucidea.abcidea.domain.CourseHistory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
+
 
 /**
  * Spring Data  repository for the CourseHistory entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CourseHistoryRepository extends JpaRepository<CourseHistory, Long> {
+public interface CourseHistoryRepository extends JpaRepository<CourseHistory, Long>, JpaSpecificationExecutor<CourseHistory> {
+
+    /*
+     * Keyset pagination on (startDate, id), course histories without a start date come last.
+     * Only the size of the pageable is used: the position is given by the cursor, not by an offset.
+     */
+    @Query("select courseHistory from CourseHistory courseHistory" +
+        " order by courseHistory.startDate asc nulls last, courseHistory.id asc")
+    Slice<CourseHistory> findFirstKeysetSlice(Pageable pageable);
+
+    /*
+     * The course histories after a cursor with a start date: those with a greater (startDate, id), then, once they
+     * run out, those without a start date. Each part is read by its own query, so that each is a range of the index.
+     */
+    default Slice<CourseHistory> findKeysetSliceAfter(Instant startDate, Long id, Pageable pageable) {
+        Slice<CourseHistory> slice = findKeysetSliceAfterStartDate(startDate, id, pageable);
+        if (slice.hasNext()) {
+            return slice;
+        }
+        int remaining = pageable.getPageSize() - slice.getNumberOfElements();
+        // A full slice still reads one course history without a start date, to know whether there is a next slice
+        Slice<CourseHistory> nullStartDates = findFirstNullStartDateSlice(PageRequest.of(0, Math.max(remaining, 1)));
+        if (remaining == 0) {
+            return new SliceImpl<>(slice.getContent(), pageable, nullStartDates.hasContent());
+        }
+        List<CourseHistory> content = new ArrayList<>(slice.getContent());
+        content.addAll(nullStartDates.getContent());
+        return new SliceImpl<>(content, pageable, nullStartDates.hasNext());
+    }
+
+    @Query("select courseHistory from CourseHistory courseHistory where courseHistory.startDate >= :startDate" +
+        " and (courseHistory.startDate > :startDate or courseHistory.id > :id)" +
+        " order by courseHistory.startDate asc, courseHistory.id asc")
+    Slice<CourseHistory> findKeysetSliceAfterStartDate(@Param("startDate") Instant startDate, @Param("id") Long id,
+                                                       Pageable pageable);
+
+    @Query("select courseHistory from CourseHistory courseHistory where courseHistory.startDate is null" +
+        " order by courseHistory.id asc")
+    Slice<CourseHistory> findFirstNullStartDateSlice(Pageable pageable);
+
+    @Query("select courseHistory from CourseHistory courseHistory where courseHistory.startDate is null" +
+        " and courseHistory.id > :id order by courseHistory.id asc")
+    Slice<CourseHistory> findKeysetSliceAfterNullStartDate(@Param("id") Long id, Pageable pageable);
+
+    /*
+     * All the course histories, read through a forward-only cursor: must be consumed inside a transaction.
+     */
+    @QueryHints({@QueryHint(name = FETCH_SIZE, value = "500"), @QueryHint(name = READ_ONLY, value = "true")})
+    @Query("select courseHistory from CourseHistory courseHistory left join fetch courseHistory.course" +
+        " left join fetch courseHistory.school left join fetch courseHistory.student")
+    Stream<CourseHistory> streamAll();
 
 }
@@ -0,0 +1,22 @@
+package ma.lucidea.abcidea.repository;
+
+import ma.lucidea.abcidea.domain.CourseHistoryView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+
+import java.util.Optional;
+
+
+/**
+ * Spring Data  repository for the CourseHistoryView read model, which is read only.
+ */
+@SuppressWarnings("unused")
+@org.springframework.stereotype.Repository
+public interface CourseHistoryViewRepository extends Repository<CourseHistoryView, Long> {
+
+    Slice<CourseHistoryView> findAllBy(Pageable pageable);
+
+    Optional<CourseHistoryView> findById(Long id);
+
+}
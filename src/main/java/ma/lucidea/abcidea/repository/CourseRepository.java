@@ -7,19 +7,41 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Spring Data  repository for the Course entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
 
-    @Query(value = "select distinct course from Course course left join fetch course.tasks",
-        countQuery = "select count(distinct course) from Course course")
-    Page<Course> findAllWithEagerRelationships(Pageable pageable);
+    /*
+     * Paginating a query that fetches a collection makes Hibernate read the whole table and paginate in memory.
+     * The ids of the page are read first, then the courses of the page are fetched with their tasks.
+     */
+    default Page<Course> findAllWithEagerRelationships(Pageable pageable) {
+        Page<Long> ids = findPageOfIds(pageable);
+        return ids.map(toCoursesWithEagerRelationships(ids.getContent()));
+    }
+
+    default Function<Long, Course> toCoursesWithEagerRelationships(Collection<Long> ids) {
+        Map<Long, Course> courses = ids.isEmpty() ? Collections.emptyMap() :
+            findDistinctByIdIn(ids).stream().collect(Collectors.toMap(Course::getId, Function.identity()));
+        return courses::get;
+    }
+
+    @Query(value = "select course.id from Course course", countQuery = "select count(course) from Course course")
+    Page<Long> findPageOfIds(Pageable pageable);
+
+    @EntityGraph("Course.tasks")
+    List<Course> findDistinctByIdIn(Collection<Long> ids);
 
     @Query(value = "select distinct course from Course course left join fetch course.tasks")
     List<Course> findAllWithEagerRelationships();
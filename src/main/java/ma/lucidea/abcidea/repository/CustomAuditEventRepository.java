@@ -0,0 +1,95 @@
+package ma.lucidea.abcidea.repository;
+
+import ma.lucidea.abcidea.config.Constants;
+import ma.lucidea.abcidea.config.audit.AsyncAuditEventWriter;
+import ma.lucidea.abcidea.config.audit.AuditEventConverter;
+import ma.lucidea.abcidea.domain.PersistentAuditEvent;
+
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.actuate.audit.AuditEventRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * An implementation of Spring Boot's AuditEventRepository.
+ * <p>
+ * Events are handed to the {@link AsyncAuditEventWriter}, so that they are written in the background
+ * instead of on the request thread.
+ */
+@Repository
+public class CustomAuditEventRepository implements AuditEventRepository {
+
+    private static final String AUTHORIZATION_FAILURE = "AUTHORIZATION_FAILURE";
+
+    /**
+     * Should be the same as in Liquibase migration.
+     */
+    protected static final int EVENT_DATA_COLUMN_MAX_LENGTH = 255;
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final AuditEventConverter auditEventConverter;
+
+    private final AsyncAuditEventWriter auditEventWriter;
+
+    public CustomAuditEventRepository(PersistenceAuditEventRepository persistenceAuditEventRepository,
+                                      AuditEventConverter auditEventConverter, AsyncAuditEventWriter auditEventWriter) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.auditEventConverter = auditEventConverter;
+        this.auditEventWriter = auditEventWriter;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AuditEvent> find(String principal, Instant after, String type) {
+        Iterable<PersistentAuditEvent> persistentAuditEvents;
+        if (principal == null && after == null) {
+            persistentAuditEvents = persistenceAuditEventRepository.findAll();
+        } else if (after == null) {
+            persistentAuditEvents = persistenceAuditEventRepository.findByPrincipal(principal);
+        } else if (principal == null) {
+            persistentAuditEvents = persistenceAuditEventRepository.findByAuditEventDateAfter(after);
+        } else if (type == null) {
+            persistentAuditEvents = persistenceAuditEventRepository.findByPrincipalAndAuditEventDateAfter(principal, after);
+        } else {
+            persistentAuditEvents = persistenceAuditEventRepository.findByPrincipalAndAuditEventDateAfterAndAuditEventType(principal, after, type);
+        }
+        return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+    }
+
+    @Override
+    public void add(AuditEvent event) {
+        if (!AUTHORIZATION_FAILURE.equals(event.getType()) &&
+            !Constants.ANONYMOUS_USER.equals(event.getPrincipal())) {
+
+            PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+            persistentAuditEvent.setPrincipal(event.getPrincipal());
+            persistentAuditEvent.setAuditEventType(event.getType());
+            persistentAuditEvent.setAuditEventDate(event.getTimestamp());
+            Map<String, String> eventData = auditEventConverter.convertDataToStrings(event.getData());
+            persistentAuditEvent.setData(truncate(eventData));
+            auditEventWriter.write(persistentAuditEvent);
+        }
+    }
+
+    /**
+     * Truncate event data that might exceed column length.
+     */
+    private static Map<String, String> truncate(Map<String, String> data) {
+        Map<String, String> results = new HashMap<>();
+
+        if (data != null) {
+            for (Map.Entry<String, String> entry : data.entrySet()) {
+                String value = entry.getValue();
+                if (value != null && value.length() > EVENT_DATA_COLUMN_MAX_LENGTH) {
+                    value = value.substring(0, EVENT_DATA_COLUMN_MAX_LENGTH);
+                }
+                results.put(entry.getKey(), value);
+            }
+        }
+        return results;
+    }
+}
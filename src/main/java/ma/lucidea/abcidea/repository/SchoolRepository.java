@@ -2,8 +2,12 @@ package ma.lucidea.abcidea.repository;
 
 import ma.lucidea.abcidea.domain.School;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 
 /**
  * Spring Data  repository for the School entity.
@@ -12,4 +16,12 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface SchoolRepository extends JpaRepository<School, Long> {
 
+    @EntityGraph("School.students")
+    @Query("select distinct school from School school")
+    List<School> findAllWithEagerRelationships();
+
+    @EntityGraph("School.students")
+    @Query("select school from School school where school.id =:id")
+    Optional<School> findOneWithEagerRelationships(@Param("id") Long id);
+
 }
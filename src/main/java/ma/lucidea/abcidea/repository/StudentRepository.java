@@ -1,15 +1,92 @@
 package ma.lucidea.abcidea.repository;
 
 import ma.lucidea.abcidea.domain.Student;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.annotations.QueryHints.FETCH_SIZE;
+import static org.hibernate.annotations.QueryHints.READ_ONLY;
+
 
 /**
  * Spring Data  repository for the Student entity.
  */
 @SuppressWarnings("unused")
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
+
+    /*
+     * The students of a slice of ids are fetched with their courses, as paginating a query that fetches
+     * a collection would be done in memory.
+     */
+    default Function<Long, Student> toStudentsWithEagerRelationships(Collection<Long> ids) {
+        Map<Long, Student> students = ids.isEmpty() ? Collections.emptyMap() :
+            findDistinctByIdIn(ids).stream().collect(Collectors.toMap(Student::getId, Function.identity()));
+        return students::get;
+    }
+
+    @EntityGraph("Student.courses")
+    List<Student> findDistinctByIdIn(Collection<Long> ids);
+
+    /*
+     * Keyset pagination on (lastName, id), students without a last name come last.
+     * Only the size of the pageable is used: the position is given by the cursor, not by an offset.
+     */
+    @Query("select student from Student student order by student.lastName asc nulls last, student.id asc")
+    Slice<Student> findFirstKeysetSlice(Pageable pageable);
+
+    /*
+     * The students after a cursor with a last name: those with a greater (lastName, id), then, once they run out,
+     * those without a last name. Each part is read by its own query, so that each is a range of the index.
+     */
+    default Slice<Student> findKeysetSliceAfter(String lastName, Long id, Pageable pageable) {
+        Slice<Student> slice = findKeysetSliceAfterLastName(lastName, id, pageable);
+        if (slice.hasNext()) {
+            return slice;
+        }
+        int remaining = pageable.getPageSize() - slice.getNumberOfElements();
+        // A full slice still reads one student without a last name, to know whether there is a next slice
+        Slice<Student> nullLastNames = findFirstNullLastNameSlice(PageRequest.of(0, Math.max(remaining, 1)));
+        if (remaining == 0) {
+            return new SliceImpl<>(slice.getContent(), pageable, nullLastNames.hasContent());
+        }
+        List<Student> content = new ArrayList<>(slice.getContent());
+        content.addAll(nullLastNames.getContent());
+        return new SliceImpl<>(content, pageable, nullLastNames.hasNext());
+    }
+
+    @Query("select student from Student student where student.lastName >= :lastName" +
+        " and (student.lastName > :lastName or student.id > :id)" +
+        " order by student.lastName asc, student.id asc")
+    Slice<Student> findKeysetSliceAfterLastName(@Param("lastName") String lastName, @Param("id") Long id, Pageable pageable);
+
+    @Query("select student from Student student where student.lastName is null order by student.id asc")
+    Slice<Student> findFirstNullLastNameSlice(Pageable pageable);
+
+    @Query("select student from Student student where student.lastName is null and student.id > :id" +
+        " order by student.id asc")
+    Slice<Student> findKeysetSliceAfterNullLastName(@Param("id") Long id, Pageable pageable);
+
+    /*
+     * All the students, read through a forward-only cursor: must be consumed inside a transaction.
+     */
+    @QueryHints({@QueryHint(name = FETCH_SIZE, value = "500"), @QueryHint(name = READ_ONLY, value = "true")})
+    @Query("select student from Student student left join fetch student.school")
+    Stream<Student> streamAll();
 
 }
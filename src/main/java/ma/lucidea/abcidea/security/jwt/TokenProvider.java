@@ -28,6 +28,10 @@ public class TokenProvider {
 
     private static final String AUTHORITIES_KEY = "auth";
 
+    private static final int VERIFIED_TOKEN_CACHE_SIZE = 10000;
+
+    private final VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(VERIFIED_TOKEN_CACHE_SIZE);
+
     private Key key;
 
     private long tokenValidityInMilliseconds;
@@ -81,26 +85,59 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Get the authentication of a valid token.
+     * <p>
+     * A token is only parsed and verified the first time it is seen: its principal is then kept in a bounded
+     * cache until the token expires. A new authentication is built for each call, as it is mutable.
+     *
+     * @param token the token
+     * @return the authentication, or an empty Optional if the token is not valid
+     */
+    public Optional<Authentication> resolveAuthentication(String token) {
+        User principal = verifiedTokenCache.get(token);
+        if (principal == null) {
+            Optional<Claims> claims = parseClaims(token);
+            if (!claims.isPresent()) {
+                return Optional.empty();
+            }
+            principal = toPrincipal(claims.get());
+            if (claims.get().getExpiration() != null) {
+                verifiedTokenCache.put(token, principal, claims.get().getExpiration().getTime());
+            }
+        }
+        return Optional.of(toAuthentication(principal, token));
+    }
+
     public Authentication getAuthentication(String token) {
         Claims claims = Jwts.parser()
             .setSigningKey(key)
             .parseClaimsJws(token)
             .getBody();
 
+        return toAuthentication(toPrincipal(claims), token);
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    private User toPrincipal(Claims claims) {
         Collection<? extends GrantedAuthority> authorities =
             Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList());
 
-        User principal = new User(claims.getSubject(), "", authorities);
+        return new User(claims.getSubject(), "", authorities);
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    private Authentication toAuthentication(User principal, String token) {
+        return new UsernamePasswordAuthenticationToken(principal, token, principal.getAuthorities());
     }
 
-    public boolean validateToken(String authToken) {
+    private Optional<Claims> parseClaims(String authToken) {
         try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
-            return true;
+            return Optional.of(Jwts.parser().setSigningKey(key).parseClaimsJws(authToken).getBody());
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
@@ -114,6 +151,6 @@ public class TokenProvider {
             log.info("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return Optional.empty();
     }
 }
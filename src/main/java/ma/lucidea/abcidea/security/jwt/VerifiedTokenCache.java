@@ -0,0 +1,101 @@
+package ma.lucidea.abcidea.security.jwt;
+
+import org.springframework.security.core.userdetails.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of the principals of verified tokens, until the tokens expire.
+ * <p>
+ * The principals, with their authorities, are immutable and can be shared by all the requests of a token.
+ * Tokens are keyed by their SHA-256 hash, so that the tokens themselves are not kept in memory.
+ * When the cache is full, expired tokens are evicted first, then arbitrary ones.
+ */
+class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final Map<ByteBuffer, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+    private final int maxSize;
+
+    VerifiedTokenCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param token the token
+     * @return the principal of the token, or null if the token is not cached or has expired
+     */
+    User get(String token) {
+        ByteBuffer hash = hash(token);
+        VerifiedToken verifiedToken = tokens.get(hash);
+        if (verifiedToken == null) {
+            return null;
+        }
+        if (verifiedToken.isExpired(System.currentTimeMillis())) {
+            tokens.remove(hash);
+            return null;
+        }
+        return verifiedToken.principal;
+    }
+
+    /**
+     * @param token the verified token
+     * @param principal the principal of the token
+     * @param expiration the expiration time of the token, in milliseconds since the epoch
+     */
+    void put(String token, User principal, long expiration) {
+        if (tokens.size() >= maxSize) {
+            evict();
+        }
+        tokens.put(hash(token), new VerifiedToken(principal, expiration));
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private void evict() {
+        long now = System.currentTimeMillis();
+        tokens.values().removeIf(verifiedToken -> verifiedToken.isExpired(now));
+        // A tenth of the cache is evicted at once, so that a full cache is not swept on every put
+        Iterator<ByteBuffer> hashes = tokens.keySet().iterator();
+        while (tokens.size() >= maxSize - maxSize / 10 && hashes.hasNext()) {
+            hashes.next();
+            hashes.remove();
+        }
+    }
+
+    private static ByteBuffer hash(String token) {
+        return ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static final class VerifiedToken {
+
+        private final User principal;
+
+        private final long expiration;
+
+        private VerifiedToken(User principal, long expiration) {
+            this.principal = principal;
+            this.expiration = expiration;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiration;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package ma.lucidea.abcidea.service;
+
+/**
+ * Service Interface for keeping the audit events for the configured retention.
+ */
+public interface AuditEventRetentionService {
+
+    /**
+     * Create the partitions of the current and coming months, if the audit tables are partitioned.
+     * <p>
+     * This runs when the application starts, and every night with the retention.
+     */
+    void createPartitions();
+
+    /**
+     * Create the partitions of the coming months and drop the ones older than the retention, or delete the
+     * events older than the retention if the tables are not partitioned.
+     * <p>
+     * This is scheduled to run every night.
+     *
+     * @return the number of partitions dropped, or of events deleted
+     */
+    int applyRetention();
+}
@@ -0,0 +1,22 @@
+package ma.lucidea.abcidea.service;
+
+import java.util.List;
+
+/**
+ * Service Interface for loading many entities by their ids.
+ */
+public interface BatchLoadService {
+
+    /**
+     * Get the entities with the given ids.
+     * <p>
+     * The entities are read with a few queries, each selecting a batch of ids, besides the ones already loaded
+     * in the session.
+     *
+     * @param entityClass the class of the entities
+     * @param ids the ids of the entities
+     * @param <T> type of the entities
+     * @return the entities, in the order of their first id in the list: the ids without entity are skipped
+     */
+    <T> List<T> findAllById(Class<T> entityClass, List<Long> ids);
+}
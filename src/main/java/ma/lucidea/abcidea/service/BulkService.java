@@ -0,0 +1,29 @@
+package ma.lucidea.abcidea.service;
+
+import ma.lucidea.abcidea.domain.CourseHistory;
+import ma.lucidea.abcidea.domain.Student;
+import ma.lucidea.abcidea.service.dto.BulkItemResultDTO;
+
+import java.util.List;
+
+/**
+ * Service Interface for creating and updating entities in bulk.
+ */
+public interface BulkService {
+
+    /**
+     * Create the students without an id, and update the others.
+     *
+     * @param students the entities to save
+     * @return the result of each entity, in the order of the request
+     */
+    List<BulkItemResultDTO> saveStudents(List<Student> students);
+
+    /**
+     * Create the courseHistories without an id, and update the others.
+     *
+     * @param courseHistories the entities to save
+     * @return the result of each entity, in the order of the request
+     */
+    List<BulkItemResultDTO> saveCourseHistories(List<CourseHistory> courseHistories);
+}
@@ -0,0 +1,27 @@
+package ma.lucidea.abcidea.service;
+
+import ma.lucidea.abcidea.service.dto.CacheWarmUpProgressDTO;
+
+import java.util.Map;
+
+/**
+ * Service Interface for loading reference data into the second-level cache when the application starts.
+ */
+public interface CacheWarmUpService {
+
+    /**
+     * Load the regions configured with warm-up into the cache, in parallel, and wait for them at most
+     * for the time budget of the warm-up.
+     */
+    void warmUp();
+
+    /**
+     * @return true once every region is loaded, has failed, or once the time budget is spent
+     */
+    boolean isFinished();
+
+    /**
+     * @return the progress of the warm-up, by region
+     */
+    Map<String, CacheWarmUpProgressDTO> getProgress();
+}
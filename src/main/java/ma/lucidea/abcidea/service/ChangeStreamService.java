@@ -0,0 +1,28 @@
+package ma.lucidea.abcidea.service;
+
+import ma.lucidea.abcidea.service.dto.EntityChangeDTO;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Set;
+
+/**
+ * Service Interface for streaming the committed entity changes to clients, with Server-Sent Events.
+ */
+public interface ChangeStreamService {
+
+    /**
+     * Publish a committed change to the clients of every member of the cluster.
+     *
+     * @param change the change to publish
+     */
+    void publish(EntityChangeDTO change);
+
+    /**
+     * Subscribe to the changes published from now on.
+     *
+     * @param entityNames the names of the entities whose changes are sent, or an empty set for all the entities
+     * @return the emitter sending the changes, which is completed if the client falls too far behind
+     */
+    SseEmitter subscribe(Set<String> entityNames);
+}
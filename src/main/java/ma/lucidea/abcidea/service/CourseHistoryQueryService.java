@@ -0,0 +1,109 @@
+package ma.lucidea.abcidea.service;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ma.lucidea.abcidea.domain.CourseHistory;
+import ma.lucidea.abcidea.domain.*; // for static metamodels
+import ma.lucidea.abcidea.repository.CourseHistoryRepository;
+import ma.lucidea.abcidea.service.dto.CourseHistoryCriteria;
+
+/**
+ * Service for executing complex queries for CourseHistory entities in the database.
+ * The main input is a {@link CourseHistoryCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link CourseHistory} or a {@link Slice} of {@link CourseHistory} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CourseHistoryQueryService extends SliceQueryService<CourseHistory> {
+
+    private final Logger log = LoggerFactory.getLogger(CourseHistoryQueryService.class);
+
+    private final CourseHistoryRepository courseHistoryRepository;
+
+    public CourseHistoryQueryService(CourseHistoryRepository courseHistoryRepository, EntityManager em) {
+        super(em, CourseHistory.class);
+        this.courseHistoryRepository = courseHistoryRepository;
+    }
+
+    /**
+     * Return a {@link List} of {@link CourseHistory} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<CourseHistory> findByCriteria(CourseHistoryCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<CourseHistory> specification = createSpecification(criteria);
+        return courseHistoryRepository.findAll(specification);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link CourseHistory} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<CourseHistory> findByCriteria(CourseHistoryCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<CourseHistory> specification = createSpecification(criteria);
+        return findSlice(specification, page);
+    }
+
+    /**
+     * Return the number of matching entities in the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(CourseHistoryCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<CourseHistory> specification = createSpecification(criteria);
+        return courseHistoryRepository.count(specification);
+    }
+
+    /**
+     * Function to convert CourseHistoryCriteria to a {@link Specification}
+     */
+    private Specification<CourseHistory> createSpecification(CourseHistoryCriteria criteria) {
+        Specification<CourseHistory> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), CourseHistory_.id));
+            }
+            if (criteria.getStartDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getStartDate(), CourseHistory_.startDate));
+            }
+            if (criteria.getEndDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getEndDate(), CourseHistory_.endDate));
+            }
+            if (criteria.getLanguage() != null) {
+                specification = specification.and(buildSpecification(criteria.getLanguage(), CourseHistory_.language));
+            }
+            if (criteria.getCourseId() != null) {
+                specification = specification.and(buildSpecification(criteria.getCourseId(),
+                    root -> root.get(CourseHistory_.course).get(Course_.id)));
+            }
+            if (criteria.getSchoolId() != null) {
+                specification = specification.and(buildSpecification(criteria.getSchoolId(),
+                    root -> root.get(CourseHistory_.school).get(School_.id)));
+            }
+            if (criteria.getStudentId() != null) {
+                specification = specification.and(buildSpecification(criteria.getStudentId(),
+                    root -> root.get(CourseHistory_.student).get(Student_.id)));
+            }
+        }
+        return specification;
+    }
+}
@@ -4,7 +4,9 @@ import ma.lucidea.abcidea.domain.CourseHistory;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -28,6 +30,16 @@ public interface CourseHistoryService {
      */
     Page<CourseHistory> findAll(Pageable pageable);
 
+    /**
+     * Get a slice of courseHistories, using keyset pagination on (startDate, id).
+     *
+     * @param startDate the start date of the last courseHistory already read
+     * @param id the id of the last courseHistory already read, or null to get the first slice
+     * @param size the maximum number of entities to return
+     * @return the slice of entities
+     */
+    Slice<CourseHistory> findAllAfter(Instant startDate, Long id, int size);
+
 
     /**
      * Get the "id" courseHistory.
@@ -0,0 +1,30 @@
+package ma.lucidea.abcidea.service;
+
+import ma.lucidea.abcidea.domain.CourseHistoryView;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.Optional;
+
+/**
+ * Service Interface for reading the CourseHistoryView read model.
+ */
+public interface CourseHistoryViewService {
+
+    /**
+     * Get a slice of the courseHistoryViews.
+     *
+     * @param pageable the pagination information
+     * @return the slice of entities
+     */
+    Slice<CourseHistoryView> findAll(Pageable pageable);
+
+    /**
+     * Get the "id" courseHistoryView.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    Optional<CourseHistoryView> findOne(Long id);
+}
@@ -0,0 +1,121 @@
+package ma.lucidea.abcidea.service;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ma.lucidea.abcidea.domain.Course;
+import ma.lucidea.abcidea.domain.*; // for static metamodels
+import ma.lucidea.abcidea.repository.CourseRepository;
+import ma.lucidea.abcidea.service.dto.CourseCriteria;
+
+/**
+ * Service for executing complex queries for Course entities in the database.
+ * The main input is a {@link CourseCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link Course} or a {@link Slice} of {@link Course} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CourseQueryService extends SliceQueryService<Course> {
+
+    private final Logger log = LoggerFactory.getLogger(CourseQueryService.class);
+
+    private final CourseRepository courseRepository;
+
+    public CourseQueryService(CourseRepository courseRepository, EntityManager em) {
+        super(em, Course.class);
+        this.courseRepository = courseRepository;
+    }
+
+    /**
+     * Return a {@link List} of {@link Course} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Course> findByCriteria(CourseCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<Course> specification = createSpecification(criteria);
+        return courseRepository.findAll(specification);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Course} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param eagerload flag to fetch the tasks of the courses
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Course> findByCriteria(CourseCriteria criteria, Pageable page, boolean eagerload) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Course> specification = createSpecification(criteria);
+        if (eagerload) {
+            Slice<Long> ids = findSliceOfIds(specification, page);
+            return ids.map(courseRepository.toCoursesWithEagerRelationships(ids.getContent()));
+        }
+        return findSlice(specification, page);
+    }
+
+    /**
+     * Return a {@link Slice} of some fields of the courses which match the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The fields to read, as returned by {@link #selectableFields}.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> findFieldsByCriteria(CourseCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields {} by criteria : {}, page: {}", fields, criteria, page);
+        final Specification<Course> specification = createSpecification(criteria);
+        return findSliceOfFields(specification, page, fields);
+    }
+
+    /**
+     * Return the number of matching entities in the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(CourseCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Course> specification = createSpecification(criteria);
+        return courseRepository.count(specification);
+    }
+
+    /**
+     * Function to convert CourseCriteria to a {@link Specification}
+     */
+    private Specification<Course> createSpecification(CourseCriteria criteria) {
+        Specification<Course> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Course_.id));
+            }
+            if (criteria.getCourseTitle() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCourseTitle(), Course_.courseTitle));
+            }
+            if (criteria.getMinSalary() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getMinSalary(), Course_.minSalary));
+            }
+            if (criteria.getMaxSalary() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getMaxSalary(), Course_.maxSalary));
+            }
+            if (criteria.getStudentId() != null) {
+                specification = specification.and(buildSpecification(criteria.getStudentId(),
+                    root -> root.get(Course_.student).get(Student_.id)));
+            }
+        }
+        return specification;
+    }
+}
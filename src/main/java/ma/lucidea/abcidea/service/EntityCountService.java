@@ -0,0 +1,18 @@
+package ma.lucidea.abcidea.service;
+
+/**
+ * Service Interface for counting the rows of an entity without a COUNT query per request.
+ */
+public interface EntityCountService {
+
+    /**
+     * Get the number of rows of an entity.
+     * <p>
+     * The count is shared by the cluster and kept for a configurable time, and on PostgreSQL it is
+     * estimated from the planner statistics: it must only be used as an indication.
+     *
+     * @param entityClass the class of the entity
+     * @return the estimated number of rows
+     */
+    long count(Class<?> entityClass);
+}
@@ -0,0 +1,42 @@
+package ma.lucidea.abcidea.service;
+
+/**
+ * Service computing the entity tags (ETags) of the entities and of the lists of entities.
+ */
+public interface EntityTagService {
+
+    /**
+     * Get the entity tag of an entity.
+     * <p>
+     * It is computed from the versions of the entity and of the related entities loaded with it, so it changes
+     * when any of them is updated. Related entities which were not loaded are not written in the response, and
+     * are not part of the tag.
+     *
+     * @param entity the entity
+     * @return the quoted entity tag
+     */
+    String entityTag(Object entity);
+
+    /**
+     * Get the entity tag of a list of entities.
+     * <p>
+     * It is computed from the modification counters of the tables which may be read in the list: the table of
+     * the entities and the tables of their related entities. The list is not read.
+     * <p>
+     * Lists are not tagged when read replicas are configured, as they could be read from a replica which has not
+     * replicated the changes counted yet. A null tag is neither matched nor written by
+     * {@link org.springframework.web.context.request.WebRequest#checkNotModified(String)}.
+     *
+     * @param entityClass the class of the listed entities
+     * @param request the request of the list, identifying its representation
+     * @return the quoted entity tag, or null if the lists are not tagged
+     */
+    String collectionTag(Class<?> entityClass, String request);
+
+    /**
+     * Record that a row of the table of an entity was committed, which changes the tags of the lists reading it.
+     *
+     * @param entityClass the class of the entity
+     */
+    void tableModified(Class<?> entityClass);
+}
@@ -0,0 +1,31 @@
+package ma.lucidea.abcidea.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Service Interface for exporting entities as newline-delimited JSON.
+ */
+public interface ExportService {
+
+    /**
+     * Media type of newline-delimited JSON.
+     */
+    String NDJSON_VALUE = "application/x-ndjson";
+
+    /**
+     * Write all the students, one JSON document per line.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream could not be written
+     */
+    void exportStudents(OutputStream out) throws IOException;
+
+    /**
+     * Write all the courseHistories, one JSON document per line.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the stream could not be written
+     */
+    void exportCourseHistories(OutputStream out) throws IOException;
+}
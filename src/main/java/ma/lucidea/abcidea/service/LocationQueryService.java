@@ -0,0 +1,88 @@
+package ma.lucidea.abcidea.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.github.jhipster.service.QueryService;
+
+import ma.lucidea.abcidea.domain.Location;
+import ma.lucidea.abcidea.domain.*; // for static metamodels
+import ma.lucidea.abcidea.repository.LocationRepository;
+import ma.lucidea.abcidea.service.dto.LocationCriteria;
+
+/**
+ * Service for executing complex queries for Location entities in the database.
+ * The main input is a {@link LocationCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link Location} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class LocationQueryService extends QueryService<Location> {
+
+    private final Logger log = LoggerFactory.getLogger(LocationQueryService.class);
+
+    private final LocationRepository locationRepository;
+
+    public LocationQueryService(LocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    /**
+     * Return a {@link List} of {@link Location} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Location> findByCriteria(LocationCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<Location> specification = createSpecification(criteria);
+        return locationRepository.findAll(specification);
+    }
+
+    /**
+     * Return the number of matching entities in the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(LocationCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Location> specification = createSpecification(criteria);
+        return locationRepository.count(specification);
+    }
+
+    /**
+     * Function to convert LocationCriteria to a {@link Specification}
+     */
+    private Specification<Location> createSpecification(LocationCriteria criteria) {
+        Specification<Location> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Location_.id));
+            }
+            if (criteria.getStreetAddress() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getStreetAddress(), Location_.streetAddress));
+            }
+            if (criteria.getPostalCode() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getPostalCode(), Location_.postalCode));
+            }
+            if (criteria.getCity() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getCity(), Location_.city));
+            }
+            if (criteria.getStateProvince() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getStateProvince(), Location_.stateProvince));
+            }
+            if (criteria.getCountryId() != null) {
+                specification = specification.and(buildSpecification(criteria.getCountryId(),
+                    root -> root.get(Location_.country).get(Country_.id)));
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,37 @@
+package ma.lucidea.abcidea.service;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Service Interface for partially updating entities with JSON merge patches (RFC 7396).
+ */
+public interface MergePatchService {
+
+    /**
+     * Media type of JSON merge patches.
+     */
+    String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+    /**
+     * Apply a JSON merge patch to an entity.
+     * <p>
+     * The entity is loaded and patched in its transaction, so only its changed columns are updated: its
+     * relationships missing from the patch are neither loaded nor rewritten. A null member clears its field,
+     * and a relationship member replaces the relationship: the entities it references are only read for their ids.
+     * The id member is ignored, and the version member is checked against the version of the entity.
+     *
+     * @param entityClass the class of the entity
+     * @param id the id of the entity
+     * @param patch the members to change
+     * @param <T> type of the entity
+     * @return the patched entity, or empty if there is no entity with this id
+     * @throws IOException if a member of the patch is not a valid value of its field, or references an unknown
+     * entity: nothing is saved
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the version member is not the
+     * current version of the entity
+     */
+    <T> Optional<T> patch(Class<T> entityClass, Long id, ObjectNode patch) throws IOException;
+}
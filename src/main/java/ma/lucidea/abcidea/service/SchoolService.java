@@ -25,6 +25,13 @@ public interface SchoolService {
      */
     List<School> findAll();
 
+    /**
+     * Get all the schools, with their students.
+     *
+     * @return the list of entities
+     */
+    List<School> findAllWithEagerRelationships();
+
 
     /**
      * Get the "id" school.
@@ -0,0 +1,147 @@
+package ma.lucidea.abcidea.service;
+
+import io.github.jhipster.service.QueryService;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Base service for executing complex queries whose pages are not counted.
+ * <p>
+ * Like the {@code findAllBy(Pageable)} methods of the repositories, a slice is read by fetching one more
+ * row than its size, to know if there is a next slice. The specifications must not join collections,
+ * as their rows would then be duplicated.
+ *
+ * @param <ENTITY> the type of the entity which is queried
+ */
+public abstract class SliceQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    private final EntityManager em;
+
+    private final Class<ENTITY> domainClass;
+
+    protected SliceQueryService(EntityManager em, Class<ENTITY> domainClass) {
+        this.em = em;
+        this.domainClass = domainClass;
+    }
+
+    /**
+     * Return a slice of the entities which match the specification.
+     *
+     * @param specification the specification the entities must match
+     * @param pageable the pagination information
+     * @return the matching entities
+     */
+    protected Slice<ENTITY> findSlice(Specification<ENTITY> specification, Pageable pageable) {
+        return findSlice(domainClass, root -> root, specification, pageable);
+    }
+
+    /**
+     * Return a slice of the ids of the entities which match the specification, so that the entities of the slice
+     * can then be fetched with their collections.
+     *
+     * @param specification the specification the entities must match
+     * @param pageable the pagination information
+     * @return the ids of the matching entities
+     */
+    protected Slice<Long> findSliceOfIds(Specification<ENTITY> specification, Pageable pageable) {
+        return findSlice(Long.class, root -> root.get(em.getMetamodel().entity(domainClass).getId(Long.class)),
+            specification, pageable);
+    }
+
+    /**
+     * Return the fields of the entity which can be selected with {@link #findSliceOfFields}, among the given names.
+     * <p>
+     * Only the basic attributes of the entity can be selected, not its associations. The id is always selected,
+     * first, and the other fields keep their order.
+     *
+     * @param names the names of the fields
+     * @return the fields to select, or an empty Optional if one of the names is not a basic attribute of the entity
+     */
+    public Optional<List<String>> selectableFields(List<String> names) {
+        EntityType<ENTITY> entityType = em.getMetamodel().entity(domainClass);
+        String idName = entityType.getId(Long.class).getName();
+        Set<String> fields = new LinkedHashSet<>();
+        fields.add(idName);
+        for (String name : names) {
+            boolean basic = entityType.getSingularAttributes().stream()
+                .anyMatch(attribute -> attribute.getName().equals(name)
+                    && attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC);
+            if (!basic) {
+                return Optional.empty();
+            }
+            fields.add(name);
+        }
+        return Optional.of(new ArrayList<>(fields));
+    }
+
+    /**
+     * Return a slice of some fields of the entities which match the specification.
+     * <p>
+     * Only the columns of these fields are read, and no entity is loaded in the persistence context.
+     *
+     * @param specification the specification the entities must match
+     * @param pageable the pagination information
+     * @param fields the fields to read, as returned by {@link #selectableFields}
+     * @return the fields of the matching entities, by name and in the order of the given fields
+     */
+    protected Slice<Map<String, Object>> findSliceOfFields(Specification<ENTITY> specification, Pageable pageable,
+                                                           List<String> fields) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        Slice<Tuple> tuples = findSlice(Tuple.class, root -> builder.tuple(fields.stream()
+            .map(field -> root.get(field).alias(field))
+            .toArray(Selection<?>[]::new)), specification, pageable);
+        return tuples.map(tuple -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (String field : fields) {
+                values.put(field, tuple.get(field));
+            }
+            return values;
+        });
+    }
+
+    private <R> Slice<R> findSlice(Class<R> resultClass, Function<Root<ENTITY>, Selection<? extends R>> selection,
+                                   Specification<ENTITY> specification, Pageable pageable) {
+        CriteriaBuilder builder = em.getCriteriaBuilder();
+        CriteriaQuery<R> query = builder.createQuery(resultClass);
+        Root<ENTITY> root = query.from(domainClass);
+        query.select(selection.apply(root));
+        Predicate predicate = specification.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+        }
+        TypedQuery<R> typedQuery = em.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(typedQuery.getResultList(), pageable, false);
+        }
+        typedQuery.setFirstResult((int) pageable.getOffset());
+        typedQuery.setMaxResults(pageable.getPageSize() + 1);
+        List<R> content = typedQuery.getResultList();
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+}
@@ -0,0 +1,134 @@
+package ma.lucidea.abcidea.service;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import ma.lucidea.abcidea.domain.Student;
+import ma.lucidea.abcidea.domain.*; // for static metamodels
+import ma.lucidea.abcidea.repository.StudentRepository;
+import ma.lucidea.abcidea.service.dto.StudentCriteria;
+
+/**
+ * Service for executing complex queries for Student entities in the database.
+ * The main input is a {@link StudentCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link Student} or a {@link Slice} of {@link Student} which fulfills the criteria.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StudentQueryService extends SliceQueryService<Student> {
+
+    private final Logger log = LoggerFactory.getLogger(StudentQueryService.class);
+
+    private final StudentRepository studentRepository;
+
+    public StudentQueryService(StudentRepository studentRepository, EntityManager em) {
+        super(em, Student.class);
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Return a {@link List} of {@link Student} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public List<Student> findByCriteria(StudentCriteria criteria) {
+        log.debug("find by criteria : {}", criteria);
+        final Specification<Student> specification = createSpecification(criteria);
+        return studentRepository.findAll(specification);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link Student} which matches the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param eagerload flag to fetch the courses of the students
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Student> findByCriteria(StudentCriteria criteria, Pageable page, boolean eagerload) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Student> specification = createSpecification(criteria);
+        if (eagerload) {
+            Slice<Long> ids = findSliceOfIds(specification, page);
+            return ids.map(studentRepository.toStudentsWithEagerRelationships(ids.getContent()));
+        }
+        return findSlice(specification, page);
+    }
+
+    /**
+     * Return a {@link Slice} of some fields of the students which match the criteria from the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @param fields The fields to read, as returned by {@link #selectableFields}.
+     * @return the fields of the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<Map<String, Object>> findFieldsByCriteria(StudentCriteria criteria, Pageable page, List<String> fields) {
+        log.debug("find fields {} by criteria : {}, page: {}", fields, criteria, page);
+        final Specification<Student> specification = createSpecification(criteria);
+        return findSliceOfFields(specification, page, fields);
+    }
+
+    /**
+     * Return the number of matching entities in the database
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(StudentCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Student> specification = createSpecification(criteria);
+        return studentRepository.count(specification);
+    }
+
+    /**
+     * Function to convert StudentCriteria to a {@link Specification}
+     */
+    private Specification<Student> createSpecification(StudentCriteria criteria) {
+        Specification<Student> specification = Specification.where(null);
+        if (criteria != null) {
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Student_.id));
+            }
+            if (criteria.getFirstName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getFirstName(), Student_.firstName));
+            }
+            if (criteria.getLastName() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getLastName(), Student_.lastName));
+            }
+            if (criteria.getEmail() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getEmail(), Student_.email));
+            }
+            if (criteria.getPhoneNumber() != null) {
+                specification = specification.and(buildStringSpecification(criteria.getPhoneNumber(), Student_.phoneNumber));
+            }
+            if (criteria.getStartDate() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getStartDate(), Student_.startDate));
+            }
+            if (criteria.getSalary() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getSalary(), Student_.salary));
+            }
+            if (criteria.getCommissionPct() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getCommissionPct(), Student_.commissionPct));
+            }
+            if (criteria.getSchoolId() != null) {
+                // The foreign key is compared, without joining the school
+                specification = specification.and(buildSpecification(criteria.getSchoolId(),
+                    root -> root.get(Student_.school).get(School_.id)));
+            }
+        }
+        return specification;
+    }
+}
@@ -0,0 +1,75 @@
+package ma.lucidea.abcidea.service.dto;
+
+/**
+ * A DTO for the result of saving one item of a bulk request.
+ */
+public class BulkItemResultDTO {
+
+    /**
+     * Outcome of saving an item.
+     */
+    public enum Status {
+        CREATED, UPDATED, NOT_FOUND, INVALID, FAILED
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String message;
+
+    public BulkItemResultDTO() {
+        // Empty public constructor used by Jackson.
+    }
+
+    public BulkItemResultDTO(int index, Long id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + index +
+            ", id=" + id +
+            ", status=" + status +
+            ", message='" + message + "'" +
+            "}";
+    }
+}
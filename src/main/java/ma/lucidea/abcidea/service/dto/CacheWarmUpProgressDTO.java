@@ -0,0 +1,62 @@
+package ma.lucidea.abcidea.service.dto;
+
+/**
+ * A DTO for the progress of the warm-up of a second-level cache region.
+ */
+public class CacheWarmUpProgressDTO {
+
+    /**
+     * State of the warm-up of a region.
+     */
+    public enum Status {
+        PENDING, RUNNING, DONE, FAILED, TIMED_OUT
+    }
+
+    private final Status status;
+
+    private final int entries;
+
+    private final long durationMs;
+
+    private final String message;
+
+    public CacheWarmUpProgressDTO(Status status, int entries, long durationMs, String message) {
+        this.status = status;
+        this.entries = entries;
+        this.durationMs = durationMs;
+        this.message = message;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the number of entities or collections loaded into the region
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public boolean isFinished() {
+        return status != Status.PENDING && status != Status.RUNNING;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheWarmUpProgressDTO{" +
+            "status=" + status +
+            ", entries=" + entries +
+            ", durationMs=" + durationMs +
+            ", message='" + message + "'" +
+            "}";
+    }
+}
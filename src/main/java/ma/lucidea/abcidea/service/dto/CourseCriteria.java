@@ -0,0 +1,111 @@
+package ma.lucidea.abcidea.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the Course entity. This class is used in CourseResource to
+ * receive all the possible filtering options from the Http GET request parameters.
+ * For example the following could be a valid requests:
+ * <code> /courses?id.greaterThan=5&amp;attr1.contains=something&amp;attr2.specified=false</code>
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class CourseCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter courseTitle;
+
+    private LongFilter minSalary;
+
+    private LongFilter maxSalary;
+
+    private LongFilter studentId;
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getCourseTitle() {
+        return courseTitle;
+    }
+
+    public void setCourseTitle(StringFilter courseTitle) {
+        this.courseTitle = courseTitle;
+    }
+
+    public LongFilter getMinSalary() {
+        return minSalary;
+    }
+
+    public void setMinSalary(LongFilter minSalary) {
+        this.minSalary = minSalary;
+    }
+
+    public LongFilter getMaxSalary() {
+        return maxSalary;
+    }
+
+    public void setMaxSalary(LongFilter maxSalary) {
+        this.maxSalary = maxSalary;
+    }
+
+    public LongFilter getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(LongFilter studentId) {
+        this.studentId = studentId;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CourseCriteria that = (CourseCriteria) o;
+        return
+            Objects.equals(id, that.id) &&
+            Objects.equals(courseTitle, that.courseTitle) &&
+            Objects.equals(minSalary, that.minSalary) &&
+            Objects.equals(maxSalary, that.maxSalary) &&
+            Objects.equals(studentId, that.studentId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        id,
+        courseTitle,
+        minSalary,
+        maxSalary,
+        studentId
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "CourseCriteria{" +
+                (id != null ? "id=" + id + ", " : "") +
+                (courseTitle != null ? "courseTitle=" + courseTitle + ", " : "") +
+                (minSalary != null ? "minSalary=" + minSalary + ", " : "") +
+                (maxSalary != null ? "maxSalary=" + maxSalary + ", " : "") +
+                (studentId != null ? "studentId=" + studentId + ", " : "") +
+        "}";
+    }
+
+}
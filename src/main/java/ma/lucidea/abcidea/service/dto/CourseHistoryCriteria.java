@@ -0,0 +1,144 @@
+package ma.lucidea.abcidea.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.InstantFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import ma.lucidea.abcidea.domain.enumeration.Language;
+
+/**
+ * Criteria class for the CourseHistory entity. This class is used in CourseHistoryResource to
+ * receive all the possible filtering options from the Http GET request parameters.
+ * For example the following could be a valid requests:
+ * <code> /course-histories?id.greaterThan=5&amp;attr1.contains=something&amp;attr2.specified=false</code>
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class CourseHistoryCriteria implements Serializable {
+
+    /**
+     * Class for filtering Language
+     */
+    public static class LanguageFilter extends Filter<Language> {
+    }
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private InstantFilter startDate;
+
+    private InstantFilter endDate;
+
+    private LanguageFilter language;
+
+    private LongFilter courseId;
+
+    private LongFilter schoolId;
+
+    private LongFilter studentId;
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public InstantFilter getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(InstantFilter startDate) {
+        this.startDate = startDate;
+    }
+
+    public InstantFilter getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(InstantFilter endDate) {
+        this.endDate = endDate;
+    }
+
+    public LanguageFilter getLanguage() {
+        return language;
+    }
+
+    public void setLanguage(LanguageFilter language) {
+        this.language = language;
+    }
+
+    public LongFilter getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(LongFilter courseId) {
+        this.courseId = courseId;
+    }
+
+    public LongFilter getSchoolId() {
+        return schoolId;
+    }
+
+    public void setSchoolId(LongFilter schoolId) {
+        this.schoolId = schoolId;
+    }
+
+    public LongFilter getStudentId() {
+        return studentId;
+    }
+
+    public void setStudentId(LongFilter studentId) {
+        this.studentId = studentId;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CourseHistoryCriteria that = (CourseHistoryCriteria) o;
+        return
+            Objects.equals(id, that.id) &&
+            Objects.equals(startDate, that.startDate) &&
+            Objects.equals(endDate, that.endDate) &&
+            Objects.equals(language, that.language) &&
+            Objects.equals(courseId, that.courseId) &&
+            Objects.equals(schoolId, that.schoolId) &&
+            Objects.equals(studentId, that.studentId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        id,
+        startDate,
+        endDate,
+        language,
+        courseId,
+        schoolId,
+        studentId
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "CourseHistoryCriteria{" +
+                (id != null ? "id=" + id + ", " : "") +
+                (startDate != null ? "startDate=" + startDate + ", " : "") +
+                (endDate != null ? "endDate=" + endDate + ", " : "") +
+                (language != null ? "language=" + language + ", " : "") +
+                (courseId != null ? "courseId=" + courseId + ", " : "") +
+                (schoolId != null ? "schoolId=" + schoolId + ", " : "") +
+                (studentId != null ? "studentId=" + studentId + ", " : "") +
+        "}";
+    }
+
+}
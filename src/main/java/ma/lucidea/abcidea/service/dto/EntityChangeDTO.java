@@ -0,0 +1,66 @@
+package ma.lucidea.abcidea.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO for a committed change of an entity, published to the cluster and sent to the change stream clients.
+ */
+public class EntityChangeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Kind of change of the entity.
+     */
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final Type type;
+
+    private final String entityName;
+
+    private final Long entityId;
+
+    private final Instant timestamp;
+
+    public EntityChangeDTO(Type type, String entityName, Long entityId, Instant timestamp) {
+        this.type = type;
+        this.entityName = entityName;
+        this.entityId = entityId;
+        this.timestamp = timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the simple name of the entity class, for example "CourseHistory"
+     */
+    public String getEntityName() {
+        return entityName;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    /**
+     * @return when the change was committed
+     */
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public String toString() {
+        return "EntityChangeDTO{" +
+            "type=" + type +
+            ", entityName='" + entityName + "'" +
+            ", entityId=" + entityId +
+            ", timestamp=" + timestamp +
+            "}";
+    }
+}
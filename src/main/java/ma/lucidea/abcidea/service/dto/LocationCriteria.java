@@ -0,0 +1,124 @@
+package ma.lucidea.abcidea.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the Location entity. This class is used in LocationResource to
+ * receive all the possible filtering options from the Http GET request parameters.
+ * For example the following could be a valid requests:
+ * <code> /locations?id.greaterThan=5&amp;attr1.contains=something&amp;attr2.specified=false</code>
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class LocationCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter streetAddress;
+
+    private StringFilter postalCode;
+
+    private StringFilter city;
+
+    private StringFilter stateProvince;
+
+    private LongFilter countryId;
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getStreetAddress() {
+        return streetAddress;
+    }
+
+    public void setStreetAddress(StringFilter streetAddress) {
+        this.streetAddress = streetAddress;
+    }
+
+    public StringFilter getPostalCode() {
+        return postalCode;
+    }
+
+    public void setPostalCode(StringFilter postalCode) {
+        this.postalCode = postalCode;
+    }
+
+    public StringFilter getCity() {
+        return city;
+    }
+
+    public void setCity(StringFilter city) {
+        this.city = city;
+    }
+
+    public StringFilter getStateProvince() {
+        return stateProvince;
+    }
+
+    public void setStateProvince(StringFilter stateProvince) {
+        this.stateProvince = stateProvince;
+    }
+
+    public LongFilter getCountryId() {
+        return countryId;
+    }
+
+    public void setCountryId(LongFilter countryId) {
+        this.countryId = countryId;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final LocationCriteria that = (LocationCriteria) o;
+        return
+            Objects.equals(id, that.id) &&
+            Objects.equals(streetAddress, that.streetAddress) &&
+            Objects.equals(postalCode, that.postalCode) &&
+            Objects.equals(city, that.city) &&
+            Objects.equals(stateProvince, that.stateProvince) &&
+            Objects.equals(countryId, that.countryId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        id,
+        streetAddress,
+        postalCode,
+        city,
+        stateProvince,
+        countryId
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "LocationCriteria{" +
+                (id != null ? "id=" + id + ", " : "") +
+                (streetAddress != null ? "streetAddress=" + streetAddress + ", " : "") +
+                (postalCode != null ? "postalCode=" + postalCode + ", " : "") +
+                (city != null ? "city=" + city + ", " : "") +
+                (stateProvince != null ? "stateProvince=" + stateProvince + ", " : "") +
+                (countryId != null ? "countryId=" + countryId + ", " : "") +
+        "}";
+    }
+
+}
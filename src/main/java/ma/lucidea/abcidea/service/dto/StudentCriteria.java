@@ -0,0 +1,164 @@
+package ma.lucidea.abcidea.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+import io.github.jhipster.service.filter.Filter;
+import io.github.jhipster.service.filter.InstantFilter;
+import io.github.jhipster.service.filter.LongFilter;
+import io.github.jhipster.service.filter.StringFilter;
+
+/**
+ * Criteria class for the Student entity. This class is used in StudentResource to
+ * receive all the possible filtering options from the Http GET request parameters.
+ * For example the following could be a valid requests:
+ * <code> /students?id.greaterThan=5&amp;attr1.contains=something&amp;attr2.specified=false</code>
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+public class StudentCriteria implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private StringFilter firstName;
+
+    private StringFilter lastName;
+
+    private StringFilter email;
+
+    private StringFilter phoneNumber;
+
+    private InstantFilter startDate;
+
+    private LongFilter salary;
+
+    private LongFilter commissionPct;
+
+    private LongFilter schoolId;
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public StringFilter getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(StringFilter firstName) {
+        this.firstName = firstName;
+    }
+
+    public StringFilter getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(StringFilter lastName) {
+        this.lastName = lastName;
+    }
+
+    public StringFilter getEmail() {
+        return email;
+    }
+
+    public void setEmail(StringFilter email) {
+        this.email = email;
+    }
+
+    public StringFilter getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(StringFilter phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public InstantFilter getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(InstantFilter startDate) {
+        this.startDate = startDate;
+    }
+
+    public LongFilter getSalary() {
+        return salary;
+    }
+
+    public void setSalary(LongFilter salary) {
+        this.salary = salary;
+    }
+
+    public LongFilter getCommissionPct() {
+        return commissionPct;
+    }
+
+    public void setCommissionPct(LongFilter commissionPct) {
+        this.commissionPct = commissionPct;
+    }
+
+    public LongFilter getSchoolId() {
+        return schoolId;
+    }
+
+    public void setSchoolId(LongFilter schoolId) {
+        this.schoolId = schoolId;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final StudentCriteria that = (StudentCriteria) o;
+        return
+            Objects.equals(id, that.id) &&
+            Objects.equals(firstName, that.firstName) &&
+            Objects.equals(lastName, that.lastName) &&
+            Objects.equals(email, that.email) &&
+            Objects.equals(phoneNumber, that.phoneNumber) &&
+            Objects.equals(startDate, that.startDate) &&
+            Objects.equals(salary, that.salary) &&
+            Objects.equals(commissionPct, that.commissionPct) &&
+            Objects.equals(schoolId, that.schoolId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(
+        id,
+        firstName,
+        lastName,
+        email,
+        phoneNumber,
+        startDate,
+        salary,
+        commissionPct,
+        schoolId
+        );
+    }
+
+    @Override
+    public String toString() {
+        return "StudentCriteria{" +
+                (id != null ? "id=" + id + ", " : "") +
+                (firstName != null ? "firstName=" + firstName + ", " : "") +
+                (lastName != null ? "lastName=" + lastName + ", " : "") +
+                (email != null ? "email=" + email + ", " : "") +
+                (phoneNumber != null ? "phoneNumber=" + phoneNumber + ", " : "") +
+                (startDate != null ? "startDate=" + startDate + ", " : "") +
+                (salary != null ? "salary=" + salary + ", " : "") +
+                (commissionPct != null ? "commissionPct=" + commissionPct + ", " : "") +
+                (schoolId != null ? "schoolId=" + schoolId + ", " : "") +
+        "}";
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Data Transfer Objects.
+ */
+package ma.lucidea.abcidea.service.dto;
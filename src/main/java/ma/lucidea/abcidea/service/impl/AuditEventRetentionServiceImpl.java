@@ -0,0 +1,169 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.service.AuditEventRetentionService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Calendar;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service Implementation for keeping the audit events for the configured retention.
+ * <p>
+ * On PostgreSQL, the audit tables are partitioned by month (see the 20261018110000_partitioned_audit_events
+ * changelog): whole partitions are dropped, which neither scans the tables nor leaves dead rows behind, and only
+ * the old events of the default partitions are deleted. On other databases, the old events are deleted.
+ */
+@Service
+@Transactional
+public class AuditEventRetentionServiceImpl implements AuditEventRetentionService {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(
+        "(jhi_persistent_audit_event|jhi_persistent_audit_evt_data)_y(\\d{4})m(\\d{2})");
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventRetentionServiceImpl.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate partitionTransactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private Boolean partitioned;
+
+    public AuditEventRetentionServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                          ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitionTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * The partitions are created before the application handles requests, even if the nightly job did not
+     * run for a while. A failure is logged without stopping the application: the events would go to the
+     * default partitions.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onApplicationReady() {
+        try {
+            createPartitions();
+        } catch (DataAccessException e) {
+            log.error("Could not create the audit event partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Each partition is created and committed in its own transaction, as this is also called from this class,
+     * where the transaction of the proxy does not apply.
+     */
+    @Override
+    public void createPartitions() {
+        if (isPartitioned()) {
+            YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+            for (int i = 0; i <= applicationProperties.getAudit().getRetention().getMonthsAhead(); i++) {
+                Date month = Date.valueOf(currentMonth.plusMonths(i).atDay(1));
+                partitionTransactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject("select create_audit_event_partitions(?)", Object.class, month));
+            }
+        }
+    }
+
+    /**
+     * Runs on the scheduler of the AsyncConfiguration, every night at 01:30.
+     */
+    @Override
+    @Scheduled(cron = "0 30 1 * * ?")
+    public int applyRetention() {
+        ApplicationProperties.Audit.Retention retention = applicationProperties.getAudit().getRetention();
+        YearMonth oldestMonth = YearMonth.now(ZoneOffset.UTC).minusMonths(retention.getMonths());
+        if (isPartitioned()) {
+            createPartitions();
+            int dropped = dropPartitionsBefore(oldestMonth);
+            // Only the default partitions can still hold older events
+            deleteEventsBefore(oldestMonth.atDay(1));
+            return dropped;
+        }
+        return deleteEventsBefore(oldestMonth.atDay(1));
+    }
+
+    private int dropPartitionsBefore(YearMonth oldestMonth) {
+        List<String> partitions = jdbcTemplate.queryForList("select child.relname from pg_inherits" +
+            " join pg_class child on child.oid = pg_inherits.inhrelid" +
+            " join pg_class parent on parent.oid = pg_inherits.inhparent" +
+            " where parent.relname in ('jhi_persistent_audit_event', 'jhi_persistent_audit_evt_data')", String.class);
+        int dropped = 0;
+        for (String partition : partitions) {
+            YearMonth month = partitionMonth(partition);
+            if (month != null && month.isBefore(oldestMonth)) {
+                // The name is safe to inline, as it matches the partition name pattern
+                jdbcTemplate.execute("drop table " + partition);
+                log.info("Dropped the audit event partition {}", partition);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private int deleteEventsBefore(LocalDate oldestDay) {
+        // The dates are stored in UTC, like Hibernate does (see hibernate.jdbc.time_zone)
+        Timestamp before = Timestamp.from(oldestDay.atStartOfDay().toInstant(ZoneOffset.UTC));
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        jdbcTemplate.update("delete from jhi_persistent_audit_evt_data where event_date < ?",
+            ps -> ps.setTimestamp(1, before, utc));
+        int deleted = jdbcTemplate.update("delete from jhi_persistent_audit_event where event_date < ?",
+            ps -> ps.setTimestamp(1, before, utc));
+        log.info("Deleted {} audit events older than {}", deleted, oldestDay);
+        return deleted;
+    }
+
+    /**
+     * @return the month of a partition, or null if the name is not the name of a partition
+     */
+    static YearMonth partitionMonth(String name) {
+        Matcher matcher = PARTITION_NAME.matcher(name);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+    }
+
+    private boolean isPartitioned() {
+        if (partitioned == null) {
+            try {
+                Object productName = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+                    DatabaseMetaData::getDatabaseProductName);
+                partitioned = "PostgreSQL".equals(productName);
+            } catch (MetaDataAccessException e) {
+                log.warn("Could not find out whether the audit tables are partitioned: {}", e.getMessage());
+                return false;
+            }
+        }
+        return partitioned;
+    }
+}
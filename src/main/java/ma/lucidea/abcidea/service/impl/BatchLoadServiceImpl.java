@@ -0,0 +1,55 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.service.BatchLoadService;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation for loading many entities by their ids.
+ * <p>
+ * The entities are loaded with the Hibernate multi-load, which selects them by batches of
+ * {@value #MAX_BATCH_SIZE} ids. The second-level cache is not used: with the Hazelcast region factory, looking up
+ * or putting each entity is a call to the cluster, which costs more than the query of a whole batch.
+ */
+@Service
+@Transactional(readOnly = true)
+public class BatchLoadServiceImpl implements BatchLoadService {
+
+    /**
+     * Maximum number of ids in a query, below the limit of the databases on the elements of an "in" list.
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(BatchLoadServiceImpl.class);
+
+    private final EntityManager em;
+
+    public BatchLoadServiceImpl(EntityManager em) {
+        this.em = em;
+    }
+
+    @Override
+    public <T> List<T> findAllById(Class<T> entityClass, List<Long> ids) {
+        log.debug("Request to get {} {} by ids", ids.size(), entityClass.getSimpleName());
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinctIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return em.unwrap(Session.class).byMultipleIds(entityClass)
+            .with(CacheMode.IGNORE)
+            .enableSessionCheck(true)
+            .withBatchSize(Math.min(distinctIds.size(), MAX_BATCH_SIZE))
+            .multiLoad(distinctIds).stream()
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+}
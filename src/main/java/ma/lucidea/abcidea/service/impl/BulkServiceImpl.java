@@ -0,0 +1,142 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.domain.CourseHistory;
+import ma.lucidea.abcidea.domain.Student;
+import ma.lucidea.abcidea.repository.CourseHistoryRepository;
+import ma.lucidea.abcidea.repository.StudentRepository;
+import ma.lucidea.abcidea.service.BulkService;
+import ma.lucidea.abcidea.service.dto.BulkItemResultDTO;
+import ma.lucidea.abcidea.service.dto.BulkItemResultDTO.Status;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service Implementation for creating and updating entities in bulk.
+ * <p>
+ * Entities are saved by chunks, each in its own transaction and flushed once, so that Hibernate sends the
+ * inserts and updates as JDBC batches (see the {@code hibernate.jdbc.batch_size} property). A chunk that fails in
+ * the database is rolled back without affecting the other chunks.
+ * <p>
+ * An updated item without version is saved over the current entity; an item with a version fails if the entity
+ * was modified since.
+ */
+@Service
+public class BulkServiceImpl implements BulkService {
+
+    private final Logger log = LoggerFactory.getLogger(BulkServiceImpl.class);
+
+    private final StudentRepository studentRepository;
+
+    private final CourseHistoryRepository courseHistoryRepository;
+
+    private final EntityManager em;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    public BulkServiceImpl(StudentRepository studentRepository, CourseHistoryRepository courseHistoryRepository,
+                           EntityManager em, Validator validator, PlatformTransactionManager transactionManager,
+                           ApplicationProperties applicationProperties) {
+        this.studentRepository = studentRepository;
+        this.courseHistoryRepository = courseHistoryRepository;
+        this.em = em;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public List<BulkItemResultDTO> saveStudents(List<Student> students) {
+        log.debug("Request to save {} Students", students.size());
+        return saveAll(students, studentRepository, Student::getId, (student, current) -> {
+            if (student.getVersion() == null) {
+                student.setVersion(current.getVersion());
+            }
+        });
+    }
+
+    @Override
+    public List<BulkItemResultDTO> saveCourseHistories(List<CourseHistory> courseHistories) {
+        log.debug("Request to save {} CourseHistories", courseHistories.size());
+        return saveAll(courseHistories, courseHistoryRepository, CourseHistory::getId, (courseHistory, current) -> {
+            if (courseHistory.getVersion() == null) {
+                courseHistory.setVersion(current.getVersion());
+            }
+        });
+    }
+
+    private <T> List<BulkItemResultDTO> saveAll(List<T> entities, JpaRepository<T, Long> repository, Function<T, Long> idGetter,
+                                                BiConsumer<T, T> versionDefaulter) {
+        BulkItemResultDTO[] results = new BulkItemResultDTO[entities.size()];
+        int chunkSize = applicationProperties.getBulk().getChunkSize();
+        for (int chunkStart = 0; chunkStart < entities.size(); chunkStart += chunkSize) {
+            int start = chunkStart;
+            int end = Math.min(start + chunkSize, entities.size());
+            try {
+                transactionTemplate.execute(status -> saveChunk(entities, start, end, repository, idGetter, versionDefaulter, results));
+            } catch (DataAccessException | PersistenceException | TransactionException e) {
+                log.warn("Bulk chunk [{}, {}) failed: {}", start, end, e.getMessage());
+                for (int i = start; i < end; i++) {
+                    if (results[i] == null || results[i].getStatus() == Status.CREATED || results[i].getStatus() == Status.UPDATED) {
+                        results[i] = new BulkItemResultDTO(i, null, Status.FAILED, e.getMessage());
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private <T> Void saveChunk(List<T> entities, int start, int end, JpaRepository<T, Long> repository,
+                               Function<T, Long> idGetter, BiConsumer<T, T> versionDefaulter, BulkItemResultDTO[] results) {
+        List<T> chunk = entities.subList(start, end);
+        Set<Long> ids = chunk.stream().filter(Objects::nonNull).map(idGetter).filter(Objects::nonNull).collect(Collectors.toSet());
+        Map<Long, T> existingEntities = ids.isEmpty() ? Collections.emptyMap() :
+            repository.findAllById(ids).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+        for (int i = start; i < end; i++) {
+            T entity = entities.get(i);
+            if (entity == null) {
+                results[i] = new BulkItemResultDTO(i, null, Status.INVALID, "must not be null");
+                continue;
+            }
+            Long id = idGetter.apply(entity);
+            Set<ConstraintViolation<T>> violations = validator.validate(entity);
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .collect(Collectors.joining(", "));
+                results[i] = new BulkItemResultDTO(i, id, Status.INVALID, message);
+            } else if (id == null) {
+                results[i] = new BulkItemResultDTO(i, idGetter.apply(repository.save(entity)), Status.CREATED, null);
+            } else if (!existingEntities.containsKey(id)) {
+                results[i] = new BulkItemResultDTO(i, id, Status.NOT_FOUND, null);
+            } else {
+                versionDefaulter.accept(entity, existingEntities.get(id));
+                repository.save(entity);
+                results[i] = new BulkItemResultDTO(i, id, Status.UPDATED, null);
+            }
+        }
+        repository.flush();
+        em.clear();
+        return null;
+    }
+}
@@ -0,0 +1,160 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.service.CacheWarmUpService;
+import ma.lucidea.abcidea.service.dto.CacheWarmUpProgressDTO;
+import ma.lucidea.abcidea.service.dto.CacheWarmUpProgressDTO.Status;
+
+import org.hibernate.CacheMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.metamodel.EntityType;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hibernate.annotations.QueryHints.CACHE_MODE;
+
+/**
+ * Service Implementation for loading reference data into the second-level cache when the application starts.
+ * <p>
+ * An entity region is loaded with a query on all the entities, and a collection region with a query
+ * fetching that collection for all the entities. The queries use {@link CacheMode#REFRESH}, so that
+ * entries are put in the cache even with {@code hibernate.cache.use_minimal_puts}.
+ */
+@Service
+public class CacheWarmUpServiceImpl implements CacheWarmUpService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpServiceImpl.class);
+
+    private final EntityManager em;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Map<String, CacheWarmUpProgressDTO> progress = new ConcurrentHashMap<>();
+
+    private volatile boolean finished;
+
+    public CacheWarmUpServiceImpl(EntityManager em, PlatformTransactionManager transactionManager,
+                                  ApplicationProperties applicationProperties) {
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.applicationProperties = applicationProperties;
+        this.finished = !applicationProperties.getCache().getWarmUp().isEnabled();
+    }
+
+    /**
+     * Start the warm-up once the application is ready, without holding up the startup.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (applicationProperties.getCache().getWarmUp().isEnabled()) {
+            Thread thread = new Thread(this::warmUp, "cache-warm-up");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void warmUp() {
+        ApplicationProperties.Cache cache = applicationProperties.getCache();
+        List<String> regions = cache.getRegions().entrySet().stream()
+            .filter(region -> region.getValue().isWarmUp())
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        regions.forEach(region -> progress.put(region, new CacheWarmUpProgressDTO(Status.PENDING, 0, 0, null)));
+        if (regions.isEmpty()) {
+            finished = true;
+            return;
+        }
+
+        Duration timeBudget = cache.getWarmUp().getTimeBudget();
+        log.info("Warming up the cache regions {} within {}", regions, timeBudget);
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(cache.getWarmUp().getParallelism(), regions.size()),
+            new CustomizableThreadFactory("cache-warm-up-"));
+        try {
+            regions.forEach(region -> executor.submit(() -> warmUpRegion(region)));
+            executor.shutdown();
+            if (!executor.awaitTermination(timeBudget.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("The cache warm-up did not finish within {}, it is abandoned", timeBudget);
+                executor.shutdownNow();
+                regions.forEach(region -> progress.computeIfPresent(region, (name, regionProgress) ->
+                    regionProgress.isFinished() ? regionProgress :
+                        new CacheWarmUpProgressDTO(Status.TIMED_OUT, 0, timeBudget.toMillis(), "The time budget is spent")));
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            finished = true;
+        }
+        log.info("Warmed up the cache regions in {} ms: {}", System.currentTimeMillis() - start, progress);
+    }
+
+    private void warmUpRegion(String region) {
+        long start = System.currentTimeMillis();
+        progress.put(region, new CacheWarmUpProgressDTO(Status.RUNNING, 0, 0, null));
+        try {
+            String query = toQuery(region);
+            Integer entries = transactionTemplate.execute(status -> {
+                List<?> result = em.createQuery(query)
+                    .setHint(CACHE_MODE, CacheMode.REFRESH)
+                    .getResultList();
+                em.clear();
+                return result.size();
+            });
+            progress.put(region, new CacheWarmUpProgressDTO(Status.DONE, entries, System.currentTimeMillis() - start, null));
+            log.debug("Warmed up the cache region {} with {} entries", region, entries);
+        } catch (RuntimeException e) {
+            log.warn("Could not warm up the cache region {}: {}", region, e.getMessage());
+            progress.put(region, new CacheWarmUpProgressDTO(Status.FAILED, 0, System.currentTimeMillis() - start, e.getMessage()));
+        }
+    }
+
+    /**
+     * Build the query of a region, named after an entity ("School") or one of its collections ("School.students").
+     */
+    private String toQuery(String region) {
+        String[] path = region.split("\\.");
+        EntityType<?> entityType = em.getMetamodel().getEntities().stream()
+            .filter(entity -> entity.getName().equals(path[0]))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown entity " + path[0]));
+        if (path.length == 1) {
+            return "select entity from " + entityType.getName() + " entity";
+        }
+        if (path.length != 2 || !entityType.getAttribute(path[1]).isCollection()) {
+            throw new IllegalArgumentException(region + " is not a collection");
+        }
+        return "select distinct entity from " + entityType.getName() + " entity left join fetch entity." + path[1];
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public Map<String, CacheWarmUpProgressDTO> getProgress() {
+        return Collections.unmodifiableMap(new TreeMap<>(progress));
+    }
+}
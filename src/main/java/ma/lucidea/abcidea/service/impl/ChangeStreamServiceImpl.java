@@ -0,0 +1,281 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.service.ChangeStreamService;
+import ma.lucidea.abcidea.service.dto.EntityChangeDTO;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import com.hazelcast.core.MessageListener;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service Implementation for streaming the committed entity changes to clients.
+ * <p>
+ * Changes are published to a Hazelcast topic, and each member sends the changes it receives to its own clients.
+ * The topic listener never waits for a client: each client has a bounded buffer, drained by a pool of sender
+ * threads, and a client whose buffer is full is disconnected, as it does not keep up with the changes.
+ */
+@Service
+public class ChangeStreamServiceImpl implements ChangeStreamService, SmartLifecycle, MessageListener<EntityChangeDTO> {
+
+    private static final String CHANGES_TOPIC = "entityChanges";
+
+    /**
+     * Buffered in place of a change to send a heartbeat comment.
+     */
+    private static final EntityChangeDTO HEARTBEAT = new EntityChangeDTO(null, null, null, null);
+
+    private final Logger log = LoggerFactory.getLogger(ChangeStreamServiceImpl.class);
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final MeterRegistry registry;
+
+    private final ApplicationProperties.ChangeStream properties;
+
+    private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+
+    private final AtomicLong evicted = new AtomicLong();
+
+    private Executor senders;
+
+    private ScheduledExecutorService heartbeats;
+
+    private String listenerRegistration;
+
+    private volatile boolean running;
+
+    @Autowired
+    public ChangeStreamServiceImpl(HazelcastInstance hazelcastInstance, @Lazy MeterRegistry registry,
+                                   ApplicationProperties applicationProperties) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.registry = registry;
+        this.properties = applicationProperties.getChangeStream();
+    }
+
+    /**
+     * Constructor for tests, sending the events with the given executor.
+     */
+    ChangeStreamServiceImpl(HazelcastInstance hazelcastInstance, MeterRegistry registry,
+                            ApplicationProperties applicationProperties, Executor senders) {
+        this(hazelcastInstance, registry, applicationProperties);
+        this.senders = senders;
+    }
+
+    @Override
+    public void publish(EntityChangeDTO change) {
+        changesTopic().publish(change);
+    }
+
+    @Override
+    public SseEmitter subscribe(Set<String> entityNames) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, entityNames);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Subscribed to the changes of {}, {} subscribers", entityNames.isEmpty() ? "all entities" : entityNames,
+            subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public void onMessage(Message<EntityChangeDTO> message) {
+        EntityChangeDTO change = message.getMessageObject();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.entityNames.isEmpty() || subscriber.entityNames.contains(change.getEntityName())) {
+                subscriber.offer(change);
+            }
+        }
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.buffer.isEmpty()) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    /**
+     * Builds the event of a change: an event builder is not thread-safe and appends to its data on each build, so
+     * each send builds its own.
+     */
+    private static SseEventBuilder event(EntityChangeDTO change) {
+        if (change == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return SseEmitter.event().data(change, MediaType.APPLICATION_JSON);
+    }
+
+    private ITopic<EntityChangeDTO> changesTopic() {
+        return hazelcastInstance.getTopic(CHANGES_TOPIC);
+    }
+
+    private void bindMetrics() {
+        Gauge.builder("changes.stream.subscribers", subscribers, Set::size)
+            .description("Clients of the change stream of this member")
+            .register(registry);
+        FunctionCounter.builder("changes.stream.evicted", evicted, AtomicLong::get)
+            .description("Clients disconnected as their buffer was full")
+            .register(registry);
+    }
+
+    @Override
+    public void start() {
+        bindMetrics();
+        if (senders == null) {
+            AtomicInteger threads = new AtomicInteger();
+            senders = Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+                Thread thread = new Thread(runnable, "change-stream-sender-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHeartbeatInterval().toMillis();
+        heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, interval, interval, TimeUnit.MILLISECONDS);
+        listenerRegistration = changesTopic().addMessageListener(this);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listenerRegistration != null) {
+            try {
+                changesTopic().removeMessageListener(listenerRegistration);
+            } catch (HazelcastInstanceNotActiveException e) {
+                // Hazelcast was shut down first, with its listeners
+            }
+            listenerRegistration = null;
+        }
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+            heartbeats = null;
+        }
+        subscribers.forEach(Subscriber::close);
+        if (senders instanceof ExecutorService) {
+            ((ExecutorService) senders).shutdownNow();
+            senders = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return true;
+    }
+
+    @Override
+    public void stop(Runnable callback) {
+        stop();
+        callback.run();
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * A client of the change stream, with the changes waiting to be sent to it.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Set<String> entityNames;
+
+        private final BlockingQueue<EntityChangeDTO> buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+
+        /**
+         * Whether a sender thread is draining the buffer: a single thread sends to a client at a time, in order.
+         */
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        private Subscriber(SseEmitter emitter, Set<String> entityNames) {
+            this.emitter = emitter;
+            this.entityNames = entityNames;
+        }
+
+        private void offer(EntityChangeDTO change) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(change)) {
+                evicted.incrementAndGet();
+                log.info("Disconnected a change stream client, which has {} events waiting", buffer.size());
+                close();
+                return;
+            }
+            if (sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                EntityChangeDTO change;
+                while (!closed && (change = buffer.poll()) != null) {
+                    emitter.send(event(change));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client is gone, or the emitter was completed
+                log.debug("Could not send to a change stream client: {}", e.getMessage());
+                close();
+            } finally {
+                sending.set(false);
+            }
+            // Events offered while the flag was being cleared
+            if (!closed && !buffer.isEmpty() && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void close() {
+            closed = true;
+            subscribers.remove(this);
+            buffer.clear();
+            emitter.complete();
+        }
+    }
+}
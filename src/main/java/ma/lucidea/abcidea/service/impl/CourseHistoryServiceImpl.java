@@ -7,10 +7,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.Optional;
 
 /**
@@ -53,6 +56,28 @@ public class CourseHistoryServiceImpl implements CourseHistoryService {
         return courseHistoryRepository.findAll(pageable);
     }
 
+    /**
+     * Get a slice of courseHistories, using keyset pagination on (startDate, id).
+     *
+     * @param startDate the start date of the last courseHistory already read
+     * @param id the id of the last courseHistory already read, or null to get the first slice
+     * @param size the maximum number of entities to return
+     * @return the slice of entities
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CourseHistory> findAllAfter(Instant startDate, Long id, int size) {
+        log.debug("Request to get CourseHistories after : {}, {}", startDate, id);
+        Pageable pageable = PageRequest.of(0, size);
+        if (id == null) {
+            return courseHistoryRepository.findFirstKeysetSlice(pageable);
+        }
+        if (startDate == null) {
+            return courseHistoryRepository.findKeysetSliceAfterNullStartDate(id, pageable);
+        }
+        return courseHistoryRepository.findKeysetSliceAfter(startDate, id, pageable);
+    }
+
 
     /**
      * Get one courseHistory by id.
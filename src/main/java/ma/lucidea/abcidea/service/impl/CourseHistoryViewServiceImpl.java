@@ -0,0 +1,54 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.service.CourseHistoryViewService;
+import ma.lucidea.abcidea.domain.CourseHistoryView;
+import ma.lucidea.abcidea.repository.CourseHistoryViewRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Service Implementation for reading the CourseHistoryView read model.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CourseHistoryViewServiceImpl implements CourseHistoryViewService {
+
+    private final Logger log = LoggerFactory.getLogger(CourseHistoryViewServiceImpl.class);
+
+    private final CourseHistoryViewRepository courseHistoryViewRepository;
+
+    public CourseHistoryViewServiceImpl(CourseHistoryViewRepository courseHistoryViewRepository) {
+        this.courseHistoryViewRepository = courseHistoryViewRepository;
+    }
+
+    /**
+     * Get a slice of the courseHistoryViews.
+     *
+     * @param pageable the pagination information
+     * @return the slice of entities
+     */
+    @Override
+    public Slice<CourseHistoryView> findAll(Pageable pageable) {
+        log.debug("Request to get all CourseHistoryViews");
+        return courseHistoryViewRepository.findAllBy(pageable);
+    }
+
+    /**
+     * Get the "id" courseHistoryView.
+     *
+     * @param id the id of the entity
+     * @return the entity
+     */
+    @Override
+    public Optional<CourseHistoryView> findOne(Long id) {
+        log.debug("Request to get CourseHistoryView : {}", id);
+        return courseHistoryViewRepository.findById(id);
+    }
+}
@@ -0,0 +1,77 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.service.EntityCountService;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.orm.jpa.vendor.Database;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Table;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service Implementation for counting the rows of an entity.
+ * <p>
+ * Counts are held in a Hazelcast map, so that a single member of the cluster computes them for the
+ * configured time to live. On PostgreSQL they are read from {@code pg_class.reltuples}, which is maintained
+ * by VACUUM and ANALYZE, and an exact count is only run if the table has never been analyzed.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EntityCountServiceImpl implements EntityCountService {
+
+    private static final String COUNTS_MAP = "entityCounts";
+
+    private final Logger log = LoggerFactory.getLogger(EntityCountServiceImpl.class);
+
+    private final EntityManager em;
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final boolean postgresql;
+
+    public EntityCountServiceImpl(EntityManager em, HazelcastInstance hazelcastInstance,
+                                  ApplicationProperties applicationProperties, JpaProperties jpaProperties) {
+        this.em = em;
+        this.hazelcastInstance = hazelcastInstance;
+        this.applicationProperties = applicationProperties;
+        this.postgresql = jpaProperties.getDatabase() == Database.POSTGRESQL;
+    }
+
+    @Override
+    public long count(Class<?> entityClass) {
+        IMap<String, Long> counts = hazelcastInstance.getMap(COUNTS_MAP);
+        Long count = counts.get(entityClass.getName());
+        if (count == null) {
+            count = countFromDatabase(entityClass);
+            counts.set(entityClass.getName(), count,
+                applicationProperties.getPagination().getCountTimeToLiveSeconds(), TimeUnit.SECONDS);
+        }
+        return count;
+    }
+
+    private long countFromDatabase(Class<?> entityClass) {
+        if (postgresql) {
+            Table table = entityClass.getAnnotation(Table.class);
+            List<?> estimates = em.createNativeQuery("select reltuples from pg_class where relname = :table")
+                .setParameter("table", table.name())
+                .getResultList();
+            if (!estimates.isEmpty() && ((Number) estimates.get(0)).longValue() > 0) {
+                return ((Number) estimates.get(0)).longValue();
+            }
+        }
+        log.debug("Counting the rows of {}", entityClass.getSimpleName());
+        return em.createQuery("select count(entity) from " + entityClass.getSimpleName() + " entity", Long.class)
+            .getSingleResult();
+    }
+}
@@ -0,0 +1,169 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.service.EntityTagService;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MetamodelImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service Implementation for computing entity tags.
+ * <p>
+ * The modification counters of the tables are Hazelcast atomic longs, shared by the members of the cluster.
+ * They start again at 0 when the cluster restarts, so the tags of the lists also depend on the time the counters
+ * were created: the tags held by the clients before the restart never match again.
+ * <p>
+ * The lists are not tagged when read replicas are configured: the counters are incremented when the primary commits,
+ * so a list read from a replica lagging behind would get the tag of rows it does not have yet.
+ */
+@Service
+public class EntityTagServiceImpl implements EntityTagService {
+
+    private static final String TABLE_VERSION_PREFIX = "tableVersion.";
+
+    private static final String EPOCH = TABLE_VERSION_PREFIX + "epoch";
+
+    private final Logger log = LoggerFactory.getLogger(EntityTagServiceImpl.class);
+
+    private final HazelcastInstance hazelcastInstance;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final MetamodelImplementor metamodel;
+
+    private final boolean collectionTagsEnabled;
+
+    /**
+     * Names of the entities which may be read in a list, by class of the listed entities.
+     */
+    private final Map<Class<?>, Set<String>> readEntityNames = new ConcurrentHashMap<>();
+
+    public EntityTagServiceImpl(HazelcastInstance hazelcastInstance, EntityManagerFactory entityManagerFactory,
+                                ApplicationProperties applicationProperties) {
+        this.hazelcastInstance = hazelcastInstance;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.metamodel = sessionFactory.getMetamodel();
+        this.collectionTagsEnabled = applicationProperties.getDatasource().getReplicas().isEmpty();
+        if (!collectionTagsEnabled) {
+            log.info("Lists have no entity tags, as they may be read from the read replicas");
+        }
+    }
+
+    @Override
+    public String entityTag(Object entity) {
+        // Sorted, so that the tag does not depend on the order of the collections
+        Set<String> versions = new TreeSet<>();
+        addVersions(entity, versions, Collections.newSetFromMap(new IdentityHashMap<>()));
+        return tag(String.join(";", versions));
+    }
+
+    private void addVersions(Object entity, Set<String> versions, Set<Object> visited) {
+        if (!Hibernate.isInitialized(entity)) {
+            return;
+        }
+        Object implementation = entity instanceof HibernateProxy ?
+            ((HibernateProxy) entity).getHibernateLazyInitializer().getImplementation() : entity;
+        if (!visited.add(implementation)) {
+            return;
+        }
+        EntityPersister persister = metamodel.entityPersister(implementation.getClass());
+        versions.add(persister.getEntityName() + ":" + persister.getIdentifier(implementation, null) + ":" +
+            persister.getVersion(implementation));
+        Type[] types = persister.getPropertyTypes();
+        Object[] values = persister.getPropertyValues(implementation);
+        for (int i = 0; i < types.length; i++) {
+            if (values[i] == null) {
+                continue;
+            }
+            if (types[i].isEntityType()) {
+                addVersions(values[i], versions, visited);
+            } else if (types[i].isCollectionType() && Hibernate.isInitialized(values[i])
+                && ((CollectionType) types[i]).getElementType(sessionFactory).isEntityType()) {
+                for (Object element : (Collection<?>) values[i]) {
+                    addVersions(element, versions, visited);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String collectionTag(Class<?> entityClass, String request) {
+        if (!collectionTagsEnabled) {
+            return null;
+        }
+        StringBuilder state = new StringBuilder(request).append(';').append(epoch());
+        for (String entityName : readEntityNames.computeIfAbsent(entityClass, this::findReadEntityNames)) {
+            state.append(';').append(entityName).append(':').append(tableVersion(entityName).get());
+        }
+        return tag(state.toString());
+    }
+
+    /**
+     * Find the entities related to an entity, directly or through other entities.
+     */
+    private Set<String> findReadEntityNames(Class<?> entityClass) {
+        Set<String> entityNames = new TreeSet<>();
+        Deque<String> toVisit = new ArrayDeque<>();
+        toVisit.add(entityClass.getName());
+        while (!toVisit.isEmpty()) {
+            String entityName = toVisit.poll();
+            if (!entityNames.add(entityName)) {
+                continue;
+            }
+            for (Type type : metamodel.entityPersister(entityName).getPropertyTypes()) {
+                if (type.isEntityType()) {
+                    toVisit.add(((EntityType) type).getAssociatedEntityName());
+                } else if (type.isCollectionType()) {
+                    Type elementType = ((CollectionType) type).getElementType(sessionFactory);
+                    if (elementType.isEntityType()) {
+                        toVisit.add(((EntityType) elementType).getAssociatedEntityName());
+                    }
+                }
+            }
+        }
+        return entityNames;
+    }
+
+    @Override
+    public void tableModified(Class<?> entityClass) {
+        if (!collectionTagsEnabled) {
+            return;
+        }
+        tableVersion(entityClass.getName()).incrementAndGet();
+    }
+
+    private IAtomicLong tableVersion(String entityName) {
+        return hazelcastInstance.getAtomicLong(TABLE_VERSION_PREFIX + entityName);
+    }
+
+    private long epoch() {
+        IAtomicLong epoch = hazelcastInstance.getAtomicLong(EPOCH);
+        long value = epoch.get();
+        if (value == 0) {
+            epoch.compareAndSet(0, System.currentTimeMillis());
+            value = epoch.get();
+        }
+        return value;
+    }
+
+    private static String tag(String state) {
+        return "\"" + DigestUtils.md5DigestAsHex(state.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
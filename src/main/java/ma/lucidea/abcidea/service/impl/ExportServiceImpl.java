@@ -0,0 +1,92 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.domain.CourseHistory;
+import ma.lucidea.abcidea.domain.Student;
+import ma.lucidea.abcidea.repository.CourseHistoryRepository;
+import ma.lucidea.abcidea.repository.StudentRepository;
+import ma.lucidea.abcidea.service.ExportService;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service Implementation for exporting entities as newline-delimited JSON.
+ * <p>
+ * Entities are read through a database cursor and written as soon as they are read. The persistence context is
+ * cleared after each chunk, so that the memory used does not depend on the number of exported entities.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportServiceImpl implements ExportService {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final Logger log = LoggerFactory.getLogger(ExportServiceImpl.class);
+
+    private final StudentRepository studentRepository;
+
+    private final CourseHistoryRepository courseHistoryRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager em;
+
+    public ExportServiceImpl(StudentRepository studentRepository, CourseHistoryRepository courseHistoryRepository,
+                             ObjectMapper objectMapper, EntityManager em) {
+        this.studentRepository = studentRepository;
+        this.courseHistoryRepository = courseHistoryRepository;
+        this.objectMapper = objectMapper;
+        this.em = em;
+    }
+
+    @Override
+    public void exportStudents(OutputStream out) throws IOException {
+        log.debug("Request to export all Students");
+        try (Stream<Student> students = studentRepository.streamAll()) {
+            export(students, Student.class, out);
+        }
+    }
+
+    @Override
+    public void exportCourseHistories(OutputStream out) throws IOException {
+        log.debug("Request to export all CourseHistories");
+        try (Stream<CourseHistory> courseHistories = courseHistoryRepository.streamAll()) {
+            export(courseHistories, CourseHistory.class, out);
+        }
+    }
+
+    private <T> void export(Stream<T> entities, Class<T> entityClass, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(entityClass).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        long count = 0;
+        Iterator<T> iterator = entities.iterator();
+        while (iterator.hasNext()) {
+            writer.writeValue(generator, iterator.next());
+            generator.writeRaw('\n');
+            count++;
+            if (count == 1) {
+                // Send the first entity right away, so that the client does not wait for a full chunk
+                generator.flush();
+            } else if (count % CHUNK_SIZE == 0) {
+                generator.flush();
+                em.clear();
+            }
+        }
+        generator.flush();
+        log.debug("Exported {} {} entities", count, entityClass.getSimpleName());
+    }
+}
@@ -0,0 +1,135 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.service.MergePatchService;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Service Implementation for partially updating entities with JSON merge patches.
+ * <p>
+ * The patch is read by Jackson into the managed entity, with the mapping of the REST API, and Hibernate dirty
+ * checking finds the changed fields. Unlike the merge of a whole detached entity, the cached collections of the
+ * entity are not evicted unless the patch replaces them. Jackson reads the entities referenced by a relationship
+ * member as new instances, which are then replaced by the managed entities with their ids.
+ */
+@Service
+@Transactional
+public class MergePatchServiceImpl implements MergePatchService {
+
+    private static final String ID = "id";
+
+    private static final String VERSION = "version";
+
+    private final Logger log = LoggerFactory.getLogger(MergePatchServiceImpl.class);
+
+    private final EntityManager em;
+
+    private final ObjectMapper objectMapper;
+
+    public MergePatchServiceImpl(EntityManager em, ObjectMapper objectMapper) {
+        this.em = em;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(rollbackFor = IOException.class)
+    public <T> Optional<T> patch(Class<T> entityClass, Long id, ObjectNode patch) throws IOException {
+        log.debug("Request to patch {} {} : {}", entityClass.getSimpleName(), id, patch);
+        T entity = em.find(entityClass, id);
+        if (entity == null) {
+            return Optional.empty();
+        }
+        ObjectNode members = patch.deepCopy();
+        members.remove(ID);
+        JsonNode version = members.remove(VERSION);
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getEntityPersister(null, entity);
+        if (version != null && !version.isNull()) {
+            if (!Objects.equals(version.asLong(), persister.getVersion(entity))) {
+                throw new ObjectOptimisticLockingFailureException(entityClass, id);
+            }
+        }
+        T patched = objectMapper.readerForUpdating(entity).readValue(members);
+        resolveReferences(session, persister, patched, members);
+        return Optional.of(patched);
+    }
+
+    /**
+     * Replace the entities referenced by the relationship members of the patch with the managed entities with
+     * the same ids, so that the patch only changes which entities are referenced.
+     *
+     * @throws IOException if a referenced entity has no id or does not exist, or if the member is the inverse
+     * side of a relationship, which is saved with the entities of the other side
+     */
+    @SuppressWarnings("unchecked")
+    private void resolveReferences(SessionImplementor session, EntityPersister persister, Object entity, ObjectNode members)
+        throws IOException {
+        Iterator<String> names = members.fieldNames();
+        while (names.hasNext()) {
+            String name = names.next();
+            Integer index = persister.getEntityMetamodel().getPropertyIndexOrNull(name);
+            if (index == null) {
+                continue;
+            }
+            Type type = persister.getPropertyTypes()[index];
+            Object value = persister.getPropertyValue(entity, index);
+            if (value == null) {
+                continue;
+            }
+            if (type.isEntityType()) {
+                persister.setPropertyValue(entity, index, managedReference(session, (EntityType) type, value));
+            } else if (type.isCollectionType()) {
+                CollectionPersister collectionPersister = session.getFactory().getMetamodel()
+                    .collectionPersister(((CollectionType) type).getRole());
+                if (!collectionPersister.getElementType().isEntityType()) {
+                    continue;
+                }
+                if (collectionPersister.isInverse()) {
+                    throw JsonMappingException.from((JsonParser) null, "The " + name + " relationship is saved with "
+                        + ((EntityType) collectionPersister.getElementType()).getAssociatedEntityName());
+                }
+                Collection<Object> references = (Collection<Object>) value;
+                List<Object> managedReferences = new ArrayList<>(references.size());
+                for (Object reference : references) {
+                    managedReferences.add(managedReference(session, (EntityType) collectionPersister.getElementType(), reference));
+                }
+                references.clear();
+                references.addAll(managedReferences);
+            }
+        }
+    }
+
+    private Object managedReference(SessionImplementor session, EntityType type, Object reference) throws IOException {
+        Serializable id = session.getEntityPersister(type.getAssociatedEntityName(), reference).getIdentifier(reference, session);
+        Object managed = id == null ? null : em.find(type.getReturnedClass(), id);
+        if (managed == null) {
+            throw JsonMappingException.from((JsonParser) null, "Unknown " + type.getAssociatedEntityName() + " " + id);
+        }
+        return managed;
+    }
+}
@@ -51,6 +51,18 @@ public class SchoolServiceImpl implements SchoolService {
         return schoolRepository.findAll();
     }
 
+    /**
+     * Get all the schools, with their students.
+     *
+     * @return the list of entities
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<School> findAllWithEagerRelationships() {
+        log.debug("Request to get all Schools with their Students");
+        return schoolRepository.findAllWithEagerRelationships();
+    }
+
 
     /**
      * Get one school by id.
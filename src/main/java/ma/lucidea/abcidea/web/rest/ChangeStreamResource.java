@@ -0,0 +1,43 @@
+package ma.lucidea.abcidea.web.rest;
+
+import ma.lucidea.abcidea.service.ChangeStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * REST controller streaming the entity changes, so that clients do not need to poll the entities.
+ */
+@RestController
+@RequestMapping("/api")
+public class ChangeStreamResource {
+
+    private final Logger log = LoggerFactory.getLogger(ChangeStreamResource.class);
+
+    private final ChangeStreamService changeStreamService;
+
+    public ChangeStreamResource(ChangeStreamService changeStreamService) {
+        this.changeStreamService = changeStreamService;
+    }
+
+    /**
+     * GET  /stream/changes : stream the entity changes, as Server-Sent Events.
+     * <p>
+     * Each event holds a committed creation, update or deletion of an entity, from any member of the cluster.
+     * The connection is closed if the client falls too far behind, or after a timeout: the client then
+     * reconnects, and should reload the entities it shows, as changes may have been missed.
+     *
+     * @param entityNames the names of the entities whose changes are streamed, for example "Student", all the entities if empty
+     * @return the emitter of the change events
+     */
+    @GetMapping(path = "/stream/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(name = "entity", required = false) Set<String> entityNames) {
+        log.debug("REST request to stream the changes of : {}", entityNames);
+        return changeStreamService.subscribe(entityNames == null ? Collections.emptySet() : entityNames);
+    }
+}
@@ -1,13 +1,18 @@
 package ma.lucidea.abcidea.web.rest;
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Country;
+import ma.lucidea.abcidea.service.BatchLoadService;
 import ma.lucidea.abcidea.service.CountryService;
+import ma.lucidea.abcidea.service.EntityTagService;
 import ma.lucidea.abcidea.web.rest.errors.BadRequestAlertException;
+import ma.lucidea.abcidea.web.rest.util.EntityTagUtil;
 import ma.lucidea.abcidea.web.rest.util.HeaderUtil;
-import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -28,8 +33,18 @@ public class CountryResource {
 
     private final CountryService countryService;
 
-    public CountryResource(CountryService countryService) {
+    private final EntityTagService entityTagService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BatchLoadService batchLoadService;
+
+    public CountryResource(CountryService countryService, EntityTagService entityTagService,
+                           ApplicationProperties applicationProperties, BatchLoadService batchLoadService) {
         this.countryService = countryService;
+        this.entityTagService = entityTagService;
+        this.applicationProperties = applicationProperties;
+        this.batchLoadService = batchLoadService;
     }
 
     /**
@@ -53,19 +68,32 @@ public class CountryResource {
 
     /**
      * PUT  /countries : Updates an existing country.
+     * <p>
+     * When the If-Match header is sent, the country is only updated if the header holds the entity tag of the
+     * current country. Without it, the version of the country is checked if the client sent it.
      *
      * @param country the country to update
+     * @param ifMatch the entity tags of the country known by the client, or null
      * @return the ResponseEntity with status 200 (OK) and with body the updated country,
      * or with status 400 (Bad Request) if the country is not valid,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag,
      * or with status 500 (Internal Server Error) if the country couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/countries")
-    public ResponseEntity<Country> updateCountry(@RequestBody Country country) throws URISyntaxException {
+    public ResponseEntity<Country> updateCountry(@RequestBody Country country,
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Country : {}", country);
         if (country.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        Country current = countryService.findOne(country.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current));
+        if (ifMatch != null || country.getVersion() == null) {
+            country.setVersion(current.getVersion());
+        }
         Country result = countryService.save(country);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, country.getId().toString()))
@@ -75,25 +103,57 @@ public class CountryResource {
     /**
      * GET  /countries : get all the countries.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of countries in body
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of countries in body,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
      */
     @GetMapping("/countries")
-    public List<Country> getAllCountries() {
+    public List<Country> getAllCountries(ServletWebRequest webRequest) {
         log.debug("REST request to get all Countries");
+        String entityTag = entityTagService.collectionTag(Country.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
         return countryService.findAll();
     }
 
+    /**
+     * GET  /countries?ids=:ids : get the countries with the given ids.
+     * <p>
+     * The countries are read by batches of ids: a single request replaces a request per id. They are returned in
+     * the order of the ids, and the ids without country are skipped.
+     *
+     * @param ids the ids of the countries, separated by commas
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of countries in body,
+     * or with status 400 (Bad Request) if there are too many ids,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/countries", params = "ids")
+    public ResponseEntity<List<Country>> getCountriesByIds(@RequestParam("ids") List<Long> ids, ServletWebRequest webRequest) {
+        log.debug("REST request to get {} Countries by ids", ids.size());
+        if (ids.size() > applicationProperties.getBatchLoad().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoolarge");
+        }
+        String entityTag = entityTagService.collectionTag(Country.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(batchLoadService.findAllById(Country.class, ids));
+    }
+
     /**
      * GET  /countries/:id : get the "id" country.
      *
      * @param id the id of the country to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the country, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the country and its entity tag,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag, or with status 404 (Not Found)
      */
     @GetMapping("/countries/{id}")
     public ResponseEntity<Country> getCountry(@PathVariable Long id) {
         log.debug("REST request to get Country : {}", id);
         Optional<Country> country = countryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(country);
+        return EntityTagUtil.wrapOrNotFound(country, entityTagService::entityTag);
     }
 
     /**
@@ -1,21 +1,37 @@
 package ma.lucidea.abcidea.web.rest;
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.CourseHistory;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.BulkService;
+import ma.lucidea.abcidea.service.CourseHistoryQueryService;
 import ma.lucidea.abcidea.service.CourseHistoryService;
+import ma.lucidea.abcidea.service.EntityCountService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.ExportService;
+import ma.lucidea.abcidea.service.dto.BulkItemResultDTO;
+import ma.lucidea.abcidea.service.dto.CourseHistoryCriteria;
 import ma.lucidea.abcidea.web.rest.errors.BadRequestAlertException;
+import ma.lucidea.abcidea.web.rest.util.EntityTagUtil;
 import ma.lucidea.abcidea.web.rest.util.HeaderUtil;
+import ma.lucidea.abcidea.web.rest.util.KeysetCursor;
 import ma.lucidea.abcidea.web.rest.util.PaginationUtil;
-import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 
 import java.util.List;
 import java.util.Optional;
@@ -33,8 +49,32 @@ public class CourseHistoryResource {
 
     private final CourseHistoryService courseHistoryService;
 
-    public CourseHistoryResource(CourseHistoryService courseHistoryService) {
+    private final EntityCountService entityCountService;
+
+    private final ExportService exportService;
+
+    private final BulkService bulkService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final CourseHistoryQueryService courseHistoryQueryService;
+
+    private final EntityTagService entityTagService;
+
+    private final BatchLoadService batchLoadService;
+
+    public CourseHistoryResource(CourseHistoryService courseHistoryService, EntityCountService entityCountService,
+                                 ExportService exportService, BulkService bulkService, ApplicationProperties applicationProperties,
+                                 CourseHistoryQueryService courseHistoryQueryService, EntityTagService entityTagService,
+                                 BatchLoadService batchLoadService) {
         this.courseHistoryService = courseHistoryService;
+        this.entityCountService = entityCountService;
+        this.exportService = exportService;
+        this.bulkService = bulkService;
+        this.applicationProperties = applicationProperties;
+        this.courseHistoryQueryService = courseHistoryQueryService;
+        this.entityTagService = entityTagService;
+        this.batchLoadService = batchLoadService;
     }
 
     /**
@@ -56,21 +96,53 @@ public class CourseHistoryResource {
             .body(result);
     }
 
+    /**
+     * POST  /course-histories/bulk : Create or update many courseHistories.
+     * <p>
+     * The courseHistories without an ID are created, the others are updated. Each item is reported separately:
+     * an invalid or unknown item does not prevent the others from being saved.
+     *
+     * @param courseHistories the courseHistories to create or update
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each item, in the order of the request,
+     * or with status 400 (Bad Request) if there are too many items
+     */
+    @PostMapping("/course-histories/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveCourseHistories(@RequestBody List<CourseHistory> courseHistories) {
+        log.debug("REST request to save {} CourseHistories", courseHistories.size());
+        if (courseHistories.size() > applicationProperties.getBulk().getMaxSize()) {
+            throw new BadRequestAlertException("Too many items in bulk request", ENTITY_NAME, "bulktoolarge");
+        }
+        return ResponseEntity.ok(bulkService.saveCourseHistories(courseHistories));
+    }
+
     /**
      * PUT  /course-histories : Updates an existing courseHistory.
+     * <p>
+     * When the If-Match header is sent, the courseHistory is only updated if the header holds the entity tag of the
+     * current courseHistory. Without it, the version of the courseHistory is checked if the client sent it.
      *
      * @param courseHistory the courseHistory to update
+     * @param ifMatch the entity tags of the courseHistory known by the client, or null
      * @return the ResponseEntity with status 200 (OK) and with body the updated courseHistory,
      * or with status 400 (Bad Request) if the courseHistory is not valid,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag,
      * or with status 500 (Internal Server Error) if the courseHistory couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/course-histories")
-    public ResponseEntity<CourseHistory> updateCourseHistory(@RequestBody CourseHistory courseHistory) throws URISyntaxException {
+    public ResponseEntity<CourseHistory> updateCourseHistory(@RequestBody CourseHistory courseHistory,
+                                                             @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update CourseHistory : {}", courseHistory);
         if (courseHistory.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        CourseHistory current = courseHistoryService.findOne(courseHistory.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current));
+        if (ifMatch != null || courseHistory.getVersion() == null) {
+            courseHistory.setVersion(current.getVersion());
+        }
         CourseHistory result = courseHistoryService.save(courseHistory);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, courseHistory.getId().toString()))
@@ -79,29 +151,140 @@ public class CourseHistoryResource {
 
     /**
      * GET  /course-histories : get all the courseHistories.
+     * <p>
+     * The courseHistories are not counted, unless the client asks for it: the X-Total-Count header then holds
+     * an estimated count of all the courseHistories, or the exact count of the courseHistories matching the criteria.
      *
+     * @param criteria the criteria which the requested entities should match
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of courseHistories in body
+     * @param count flag to add the total count of courseHistories in the X-Total-Count header
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of courseHistories in body,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
      */
     @GetMapping("/course-histories")
-    public ResponseEntity<List<CourseHistory>> getAllCourseHistories(Pageable pageable) {
-        log.debug("REST request to get a page of CourseHistories");
-        Page<CourseHistory> page = courseHistoryService.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/course-histories");
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    public ResponseEntity<List<CourseHistory>> getAllCourseHistories(CourseHistoryCriteria criteria, Pageable pageable,
+                                                                     @RequestParam(required = false, defaultValue = "false") boolean count,
+                                                                     ServletWebRequest webRequest) {
+        log.debug("REST request to get CourseHistories by criteria: {}", criteria);
+        String entityTag = entityTagService.collectionTag(CourseHistory.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        Slice<CourseHistory> slice = courseHistoryQueryService.findByCriteria(criteria, pageable);
+        Long totalCount = null;
+        if (count) {
+            totalCount = criteria.equals(new CourseHistoryCriteria()) ?
+                entityCountService.count(CourseHistory.class) : courseHistoryQueryService.countByCriteria(criteria);
+        }
+        HttpHeaders headers = PaginationUtil.generateSliceHttpHeaders(slice, totalCount, ServletUriComponentsBuilder.fromCurrentRequest());
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * GET  /course-histories?after=:cursor : get a slice of the courseHistories, using keyset pagination.
+     * <p>
+     * The courseHistories are sorted by start date then id, whatever the requested sort. An empty cursor
+     * returns the first slice, and the "next" link of the response holds the cursor of the following one.
+     *
+     * @param after the cursor returned in the "next" link of the previous slice
+     * @param pageable the pagination information, only its size is used
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of courseHistories in body,
+     * or with status 400 (Bad Request) if the cursor is invalid,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/course-histories", params = {"after", "!ids"})
+    public ResponseEntity<List<CourseHistory>> getAllCourseHistoriesAfter(@RequestParam("after") String after, Pageable pageable,
+                                                                          ServletWebRequest webRequest) {
+        log.debug("REST request to get a slice of CourseHistories after : {}", after);
+        String entityTag = entityTagService.collectionTag(CourseHistory.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        Slice<CourseHistory> slice;
+        if (after.isEmpty()) {
+            slice = courseHistoryService.findAllAfter(null, null, pageable.getPageSize());
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after)
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            slice = courseHistoryService.findAllAfter(parseStartDate(cursor), cursor.getId(), pageable.getPageSize());
+        }
+        KeysetCursor nextCursor = null;
+        if (slice.hasContent()) {
+            CourseHistory last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = KeysetCursor.of(last.getStartDate() == null ? null : last.getStartDate().toString(), last.getId());
+        }
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, nextCursor, "/api/course-histories");
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    private Instant parseStartDate(KeysetCursor cursor) {
+        if (cursor.getKey() == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(cursor.getKey());
+        } catch (DateTimeParseException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+    }
+
+    /**
+     * GET  /course-histories/export : export all the courseHistories, as newline-delimited JSON.
+     * <p>
+     * The courseHistories are streamed from the database as they are read, so the response is neither paginated nor counted.
+     *
+     * @param response the response to write the courseHistories to
+     * @throws IOException if the response could not be written
+     */
+    @GetMapping("/course-histories/export")
+    public void exportCourseHistories(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all CourseHistories");
+        response.setContentType(ExportService.NDJSON_VALUE);
+        exportService.exportCourseHistories(response.getOutputStream());
+    }
+
+    /**
+     * GET  /course-histories?ids=:ids : get the courseHistories with the given ids.
+     * <p>
+     * The courseHistories are read by batches of ids: a single request replaces a request per id. They are returned in
+     * the order of the ids, and the ids without courseHistory are skipped.
+     *
+     * @param ids the ids of the courseHistories, separated by commas
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of courseHistories in body,
+     * or with status 400 (Bad Request) if there are too many ids or they come with a cursor,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/course-histories", params = "ids")
+    public ResponseEntity<List<CourseHistory>> getCourseHistoriesByIds(@RequestParam("ids") List<Long> ids, ServletWebRequest webRequest) {
+        log.debug("REST request to get {} CourseHistories by ids", ids.size());
+        if (webRequest.getParameter("after") != null) {
+            throw new BadRequestAlertException("The ids cannot be combined with after", ENTITY_NAME, "idscombined");
+        }
+        if (ids.size() > applicationProperties.getBatchLoad().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoolarge");
+        }
+        String entityTag = entityTagService.collectionTag(CourseHistory.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(batchLoadService.findAllById(CourseHistory.class, ids));
     }
 
     /**
      * GET  /course-histories/:id : get the "id" courseHistory.
      *
      * @param id the id of the courseHistory to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the courseHistory, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the courseHistory and its entity tag,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag, or with status 404 (Not Found)
      */
     @GetMapping("/course-histories/{id}")
     public ResponseEntity<CourseHistory> getCourseHistory(@PathVariable Long id) {
         log.debug("REST request to get CourseHistory : {}", id);
         Optional<CourseHistory> courseHistory = courseHistoryService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(courseHistory);
+        return EntityTagUtil.wrapOrNotFound(courseHistory, entityTagService::entityTag);
     }
 
     /**
@@ -0,0 +1,66 @@
+package ma.lucidea.abcidea.web.rest;
+
+import ma.lucidea.abcidea.domain.CourseHistoryView;
+import ma.lucidea.abcidea.service.CourseHistoryViewService;
+import ma.lucidea.abcidea.web.rest.util.PaginationUtil;
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for reading the CourseHistoryView read model.
+ * <p>
+ * Each courseHistoryView holds a courseHistory with the title of its course and the names of its school and student,
+ * so listing them reads a single table. The read model is refreshed shortly after each commit, so a courseHistory
+ * that was just saved may not be listed yet.
+ */
+@RestController
+@RequestMapping("/api")
+public class CourseHistoryViewResource {
+
+    private final Logger log = LoggerFactory.getLogger(CourseHistoryViewResource.class);
+
+    private final CourseHistoryViewService courseHistoryViewService;
+
+    public CourseHistoryViewResource(CourseHistoryViewService courseHistoryViewService) {
+        this.courseHistoryViewService = courseHistoryViewService;
+    }
+
+    /**
+     * GET  /course-history-views : get all the courseHistoryViews.
+     * <p>
+     * The courseHistoryViews are not counted. Sorting them by startDate then id reads the index of the read model.
+     *
+     * @param pageable the pagination information
+     * @return the ResponseEntity with status 200 (OK) and the list of courseHistoryViews in body
+     */
+    @GetMapping("/course-history-views")
+    public ResponseEntity<List<CourseHistoryView>> getAllCourseHistoryViews(Pageable pageable) {
+        log.debug("REST request to get a slice of CourseHistoryViews");
+        Slice<CourseHistoryView> slice = courseHistoryViewService.findAll(pageable);
+        HttpHeaders headers = PaginationUtil.generateSliceHttpHeaders(slice, null, ServletUriComponentsBuilder.fromCurrentRequest());
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * GET  /course-history-views/:id : get the "id" courseHistoryView.
+     *
+     * @param id the id of the courseHistoryView to retrieve
+     * @return the ResponseEntity with status 200 (OK) and with body the courseHistoryView, or with status 404 (Not Found)
+     */
+    @GetMapping("/course-history-views/{id}")
+    public ResponseEntity<CourseHistoryView> getCourseHistoryView(@PathVariable Long id) {
+        log.debug("REST request to get CourseHistoryView : {}", id);
+        Optional<CourseHistoryView> courseHistoryView = courseHistoryViewService.findOne(id);
+        return ResponseUtil.wrapOrNotFound(courseHistoryView);
+    }
+}
@@ -1,23 +1,40 @@
 package ma.lucidea.abcidea.web.rest;
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Course;
 import ma.lucidea.abcidea.repository.CourseRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.CourseQueryService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.MergePatchService;
+import ma.lucidea.abcidea.service.dto.CourseCriteria;
 import ma.lucidea.abcidea.web.rest.errors.BadRequestAlertException;
+import ma.lucidea.abcidea.web.rest.util.EntityTagUtil;
 import ma.lucidea.abcidea.web.rest.util.HeaderUtil;
 import ma.lucidea.abcidea.web.rest.util.PaginationUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,8 +50,25 @@ public class CourseResource {
 
     private final CourseRepository courseRepository;
 
-    public CourseResource(CourseRepository courseRepository) {
+    private final CourseQueryService courseQueryService;
+
+    private final EntityTagService entityTagService;
+
+    private final MergePatchService mergePatchService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BatchLoadService batchLoadService;
+
+    public CourseResource(CourseRepository courseRepository, CourseQueryService courseQueryService,
+                          EntityTagService entityTagService, MergePatchService mergePatchService,
+                          ApplicationProperties applicationProperties, BatchLoadService batchLoadService) {
         this.courseRepository = courseRepository;
+        this.courseQueryService = courseQueryService;
+        this.entityTagService = entityTagService;
+        this.mergePatchService = mergePatchService;
+        this.applicationProperties = applicationProperties;
+        this.batchLoadService = batchLoadService;
     }
 
     /**
@@ -58,56 +92,197 @@ public class CourseResource {
 
     /**
      * PUT  /courses : Updates an existing course.
+     * <p>
+     * When the If-Match header is sent, the course is only updated if the header holds the entity tag of the
+     * current course. Without it, the version of the course is checked if the client sent it.
      *
      * @param course the course to update
+     * @param ifMatch the entity tags of the course known by the client, or null
      * @return the ResponseEntity with status 200 (OK) and with body the updated course,
      * or with status 400 (Bad Request) if the course is not valid,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag,
      * or with status 500 (Internal Server Error) if the course couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/courses")
-    public ResponseEntity<Course> updateCourse(@RequestBody Course course) throws URISyntaxException {
+    public ResponseEntity<Course> updateCourse(@RequestBody Course course,
+                                               @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Course : {}", course);
         if (course.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        Course current = courseRepository.findOneWithEagerRelationships(course.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current));
+        if (ifMatch != null || course.getVersion() == null) {
+            course.setVersion(current.getVersion());
+        }
         Course result = courseRepository.save(course);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, course.getId().toString()))
             .body(result);
     }
 
+    /**
+     * PATCH  /courses/:id : Partially updates the "id" course, with a JSON merge patch.
+     * <p>
+     * Only the members of the patch are changed, and only the changed columns are written: the relationships
+     * missing from the patch are kept as they are, with their cached collections. A null member clears its field,
+     * and the version member, if any, must be the current version of the course. When the If-Match header is sent,
+     * it must hold the entity tag of the current course.
+     *
+     * @param id the id of the course to update
+     * @param patch the JSON merge patch of the course
+     * @param ifMatch the entity tags of the course known by the client, or null
+     * @return the ResponseEntity with status 200 (OK) and with body the updated course,
+     * or with status 400 (Bad Request) if the patch is not valid,
+     * or with status 404 (Not Found) if the course does not exist,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag
+     */
+    @PatchMapping(value = "/courses/{id}", consumes = {MergePatchService.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Course> patchCourse(@PathVariable Long id, @RequestBody JsonNode patch,
+                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("REST request to patch Course {} : {}", id, patch);
+        if (!patch.isObject() || patch.hasNonNull("id") && patch.get("id").asLong() != id) {
+            throw new BadRequestAlertException("Invalid patch", ENTITY_NAME, "patchinvalid");
+        }
+        ObjectNode members = (ObjectNode) patch;
+        if (ifMatch != null) {
+            Optional<Course> current = courseRepository.findOneWithEagerRelationships(id);
+            if (current.isPresent()) {
+                EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current.get()));
+                // The entity checked is the one patched, or the patch fails
+                members = members.deepCopy().put("version", current.get().getVersion());
+            }
+        }
+        try {
+            Optional<Course> result = mergePatchService.patch(Course.class, id, members);
+            return ResponseUtil.wrapOrNotFound(result, HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id.toString()));
+        } catch (IOException e) {
+            throw new BadRequestAlertException("Invalid patch", ENTITY_NAME, "patchinvalid");
+        }
+    }
+
     /**
      * GET  /courses : get all the courses.
+     * <p>
+     * The courses are paged by number: the X-Total-Count header holds the exact count of the courses matching
+     * the criteria, and the Link header has a "last" link. Clients which do not need them pass count=false,
+     * so that the courses are not counted.
      *
+     * @param criteria the criteria which the requested entities should match
      * @param pageable the pagination information
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many)
-     * @return the ResponseEntity with status 200 (OK) and the list of courses in body
+     * @param count flag to add the total count of courses and the "last" link in the headers, true by default
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of courses in body,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
      */
     @GetMapping("/courses")
-    public ResponseEntity<List<Course>> getAllCourses(Pageable pageable, @RequestParam(required = false, defaultValue = "false") boolean eagerload) {
-        log.debug("REST request to get a page of Courses");
-        Page<Course> page;
-        if (eagerload) {
-            page = courseRepository.findAllWithEagerRelationships(pageable);
-        } else {
-            page = courseRepository.findAll(pageable);
+    public ResponseEntity<List<Course>> getAllCourses(CourseCriteria criteria, Pageable pageable,
+                                                      @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+                                                      @RequestParam(required = false, defaultValue = "true") boolean count,
+                                                      ServletWebRequest webRequest) {
+        log.debug("REST request to get Courses by criteria: {}", criteria);
+        String entityTag = entityTagService.collectionTag(Course.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        Slice<Course> slice = courseQueryService.findByCriteria(criteria, pageable, eagerload);
+        HttpHeaders headers = generatePaginationHttpHeaders(slice, criteria, count);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * GET  /courses?fields=:fields : get some fields of all the courses.
+     * <p>
+     * Only the requested fields are read from the database and written in the response, with the id
+     * of each course. The fields are basic attributes of the course, not its relationships.
+     *
+     * @param criteria the criteria which the requested entities should match
+     * @param pageable the pagination information
+     * @param fields the names of the fields to get, separated by commas
+     * @param count flag to add the total count of courses and the "last" link in the headers, true by default
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the fields of the courses in body,
+     * or with status 400 (Bad Request) if a field is unknown or is a relationship,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/courses", params = {"fields", "!after", "!ids"})
+    public ResponseEntity<List<Map<String, Object>>> getAllCourseFields(CourseCriteria criteria, Pageable pageable,
+                                                                     @RequestParam("fields") List<String> fields,
+                                                                     @RequestParam(required = false, defaultValue = "true") boolean count,
+                                                                     ServletWebRequest webRequest) {
+        log.debug("REST request to get the fields {} of Courses by criteria: {}", fields, criteria);
+        String entityTag = entityTagService.collectionTag(Course.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        List<String> selectedFields = courseQueryService.selectableFields(fields)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid fields", ENTITY_NAME, "fieldsinvalid"));
+        Slice<Map<String, Object>> slice = courseQueryService.findFieldsByCriteria(criteria, pageable, selectedFields);
+        HttpHeaders headers = generatePaginationHttpHeaders(slice, criteria, count);
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * Generate the pagination headers of a slice of courses, counting the courses matching the criteria if asked to.
+     * <p>
+     * The count query is skipped when the slice is the last one, as its offset and size then give the total count.
+     */
+    private <T> HttpHeaders generatePaginationHttpHeaders(Slice<T> slice, CourseCriteria criteria, boolean count) {
+        UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest();
+        if (!count) {
+            return PaginationUtil.generateSliceHttpHeaders(slice, null, uriBuilder);
+        }
+        long totalCount = slice.hasNext() || (!slice.hasContent() && slice.hasPrevious()) ?
+            courseQueryService.countByCriteria(criteria) : slice.getPageable().getOffset() + slice.getNumberOfElements();
+        Page<T> page = new PageImpl<>(slice.getContent(), slice.getPageable(), totalCount);
+        return PaginationUtil.generatePaginationHttpHeaders(page, uriBuilder);
+    }
+
+    /**
+     * GET  /courses?ids=:ids : get the courses with the given ids.
+     * <p>
+     * The courses are read by batches of ids: a single request replaces a request per id. They are returned in
+     * the order of the ids, and the ids without course are skipped.
+     *
+     * @param ids the ids of the courses, separated by commas
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of courses in body,
+     * or with status 400 (Bad Request) if there are too many ids or they come with fields,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/courses", params = "ids")
+    public ResponseEntity<List<Course>> getCoursesByIds(@RequestParam("ids") List<Long> ids, ServletWebRequest webRequest) {
+        log.debug("REST request to get {} Courses by ids", ids.size());
+        if (webRequest.getParameter("fields") != null) {
+            throw new BadRequestAlertException("The ids cannot be combined with fields", ENTITY_NAME, "idscombined");
+        }
+        if (ids.size() > applicationProperties.getBatchLoad().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoolarge");
+        }
+        String entityTag = entityTagService.collectionTag(Course.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
         }
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, String.format("/api/courses?eagerload=%b", eagerload));
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok(batchLoadService.findAllById(Course.class, ids));
     }
 
     /**
      * GET  /courses/:id : get the "id" course.
      *
      * @param id the id of the course to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the course, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the course and its entity tag,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag, or with status 404 (Not Found)
      */
     @GetMapping("/courses/{id}")
     public ResponseEntity<Course> getCourse(@PathVariable Long id) {
         log.debug("REST request to get Course : {}", id);
         Optional<Course> course = courseRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(course);
+        return EntityTagUtil.wrapOrNotFound(course, entityTagService::entityTag);
     }
 
     /**
@@ -1,13 +1,20 @@
 package ma.lucidea.abcidea.web.rest;
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Location;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.LocationQueryService;
 import ma.lucidea.abcidea.service.LocationService;
+import ma.lucidea.abcidea.service.dto.LocationCriteria;
 import ma.lucidea.abcidea.web.rest.errors.BadRequestAlertException;
+import ma.lucidea.abcidea.web.rest.util.EntityTagUtil;
 import ma.lucidea.abcidea.web.rest.util.HeaderUtil;
-import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -28,8 +35,22 @@ public class LocationResource {
 
     private final LocationService locationService;
 
-    public LocationResource(LocationService locationService) {
+    private final LocationQueryService locationQueryService;
+
+    private final EntityTagService entityTagService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BatchLoadService batchLoadService;
+
+    public LocationResource(LocationService locationService, LocationQueryService locationQueryService,
+                            EntityTagService entityTagService, ApplicationProperties applicationProperties,
+                            BatchLoadService batchLoadService) {
         this.locationService = locationService;
+        this.locationQueryService = locationQueryService;
+        this.entityTagService = entityTagService;
+        this.applicationProperties = applicationProperties;
+        this.batchLoadService = batchLoadService;
     }
 
     /**
@@ -53,19 +74,32 @@ public class LocationResource {
 
     /**
      * PUT  /locations : Updates an existing location.
+     * <p>
+     * When the If-Match header is sent, the location is only updated if the header holds the entity tag of the
+     * current location. Without it, the version of the location is checked if the client sent it.
      *
      * @param location the location to update
+     * @param ifMatch the entity tags of the location known by the client, or null
      * @return the ResponseEntity with status 200 (OK) and with body the updated location,
      * or with status 400 (Bad Request) if the location is not valid,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag,
      * or with status 500 (Internal Server Error) if the location couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/locations")
-    public ResponseEntity<Location> updateLocation(@RequestBody Location location) throws URISyntaxException {
+    public ResponseEntity<Location> updateLocation(@RequestBody Location location,
+                                                   @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Location : {}", location);
         if (location.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        Location current = locationService.findOne(location.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current));
+        if (ifMatch != null || location.getVersion() == null) {
+            location.setVersion(current.getVersion());
+        }
         Location result = locationService.save(location);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, location.getId().toString()))
@@ -75,25 +109,60 @@ public class LocationResource {
     /**
      * GET  /locations : get all the locations.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of locations in body
+     * @param criteria the criteria which the requested entities should match
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of locations in body,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
      */
     @GetMapping("/locations")
-    public List<Location> getAllLocations() {
-        log.debug("REST request to get all Locations");
-        return locationService.findAll();
+    public ResponseEntity<List<Location>> getAllLocations(LocationCriteria criteria,
+                                                          ServletWebRequest webRequest) {
+        log.debug("REST request to get Locations by criteria: {}", criteria);
+        String entityTag = entityTagService.collectionTag(Location.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        List<Location> entityList = locationQueryService.findByCriteria(criteria);
+        return ResponseEntity.ok().body(entityList);
+    }
+
+    /**
+     * GET  /locations?ids=:ids : get the locations with the given ids.
+     * <p>
+     * The locations are read by batches of ids: a single request replaces a request per id. They are returned in
+     * the order of the ids, and the ids without location are skipped.
+     *
+     * @param ids the ids of the locations, separated by commas
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of locations in body,
+     * or with status 400 (Bad Request) if there are too many ids,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/locations", params = "ids")
+    public ResponseEntity<List<Location>> getLocationsByIds(@RequestParam("ids") List<Long> ids, ServletWebRequest webRequest) {
+        log.debug("REST request to get {} Locations by ids", ids.size());
+        if (ids.size() > applicationProperties.getBatchLoad().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoolarge");
+        }
+        String entityTag = entityTagService.collectionTag(Location.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(batchLoadService.findAllById(Location.class, ids));
     }
 
     /**
      * GET  /locations/:id : get the "id" location.
      *
      * @param id the id of the location to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the location, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the location and its entity tag,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag, or with status 404 (Not Found)
      */
     @GetMapping("/locations/{id}")
     public ResponseEntity<Location> getLocation(@PathVariable Long id) {
         log.debug("REST request to get Location : {}", id);
         Optional<Location> location = locationService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(location);
+        return EntityTagUtil.wrapOrNotFound(location, entityTagService::entityTag);
     }
 
     /**
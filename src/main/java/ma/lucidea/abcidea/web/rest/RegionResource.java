@@ -1,13 +1,18 @@
 package ma.lucidea.abcidea.web.rest;
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Region;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.EntityTagService;
 import ma.lucidea.abcidea.service.RegionService;
 import ma.lucidea.abcidea.web.rest.errors.BadRequestAlertException;
+import ma.lucidea.abcidea.web.rest.util.EntityTagUtil;
 import ma.lucidea.abcidea.web.rest.util.HeaderUtil;
-import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -28,8 +33,18 @@ public class RegionResource {
 
     private final RegionService regionService;
 
-    public RegionResource(RegionService regionService) {
+    private final EntityTagService entityTagService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BatchLoadService batchLoadService;
+
+    public RegionResource(RegionService regionService, EntityTagService entityTagService,
+                          ApplicationProperties applicationProperties, BatchLoadService batchLoadService) {
         this.regionService = regionService;
+        this.entityTagService = entityTagService;
+        this.applicationProperties = applicationProperties;
+        this.batchLoadService = batchLoadService;
     }
 
     /**
@@ -53,19 +68,32 @@ public class RegionResource {
 
     /**
      * PUT  /regions : Updates an existing region.
+     * <p>
+     * When the If-Match header is sent, the region is only updated if the header holds the entity tag of the
+     * current region. Without it, the version of the region is checked if the client sent it.
      *
      * @param region the region to update
+     * @param ifMatch the entity tags of the region known by the client, or null
      * @return the ResponseEntity with status 200 (OK) and with body the updated region,
      * or with status 400 (Bad Request) if the region is not valid,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag,
      * or with status 500 (Internal Server Error) if the region couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/regions")
-    public ResponseEntity<Region> updateRegion(@RequestBody Region region) throws URISyntaxException {
+    public ResponseEntity<Region> updateRegion(@RequestBody Region region,
+                                               @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Region : {}", region);
         if (region.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        Region current = regionService.findOne(region.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current));
+        if (ifMatch != null || region.getVersion() == null) {
+            region.setVersion(current.getVersion());
+        }
         Region result = regionService.save(region);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, region.getId().toString()))
@@ -75,25 +103,57 @@ public class RegionResource {
     /**
      * GET  /regions : get all the regions.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of regions in body
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of regions in body,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
      */
     @GetMapping("/regions")
-    public List<Region> getAllRegions() {
+    public List<Region> getAllRegions(ServletWebRequest webRequest) {
         log.debug("REST request to get all Regions");
+        String entityTag = entityTagService.collectionTag(Region.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
         return regionService.findAll();
     }
 
+    /**
+     * GET  /regions?ids=:ids : get the regions with the given ids.
+     * <p>
+     * The regions are read by batches of ids: a single request replaces a request per id. They are returned in
+     * the order of the ids, and the ids without region are skipped.
+     *
+     * @param ids the ids of the regions, separated by commas
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of regions in body,
+     * or with status 400 (Bad Request) if there are too many ids,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/regions", params = "ids")
+    public ResponseEntity<List<Region>> getRegionsByIds(@RequestParam("ids") List<Long> ids, ServletWebRequest webRequest) {
+        log.debug("REST request to get {} Regions by ids", ids.size());
+        if (ids.size() > applicationProperties.getBatchLoad().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoolarge");
+        }
+        String entityTag = entityTagService.collectionTag(Region.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(batchLoadService.findAllById(Region.class, ids));
+    }
+
     /**
      * GET  /regions/:id : get the "id" region.
      *
      * @param id the id of the region to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the region, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the region and its entity tag,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag, or with status 404 (Not Found)
      */
     @GetMapping("/regions/{id}")
     public ResponseEntity<Region> getRegion(@PathVariable Long id) {
         log.debug("REST request to get Region : {}", id);
         Optional<Region> region = regionService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(region);
+        return EntityTagUtil.wrapOrNotFound(region, entityTagService::entityTag);
     }
 
     /**
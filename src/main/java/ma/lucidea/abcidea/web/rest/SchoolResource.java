@@ -1,13 +1,18 @@
 package ma.lucidea.abcidea.web.rest;
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.School;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.EntityTagService;
 import ma.lucidea.abcidea.service.SchoolService;
 import ma.lucidea.abcidea.web.rest.errors.BadRequestAlertException;
+import ma.lucidea.abcidea.web.rest.util.EntityTagUtil;
 import ma.lucidea.abcidea.web.rest.util.HeaderUtil;
-import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -29,8 +34,18 @@ public class SchoolResource {
 
     private final SchoolService schoolService;
 
-    public SchoolResource(SchoolService schoolService) {
+    private final EntityTagService entityTagService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BatchLoadService batchLoadService;
+
+    public SchoolResource(SchoolService schoolService, EntityTagService entityTagService,
+                          ApplicationProperties applicationProperties, BatchLoadService batchLoadService) {
         this.schoolService = schoolService;
+        this.entityTagService = entityTagService;
+        this.applicationProperties = applicationProperties;
+        this.batchLoadService = batchLoadService;
     }
 
     /**
@@ -54,19 +69,32 @@ public class SchoolResource {
 
     /**
      * PUT  /schools : Updates an existing school.
+     * <p>
+     * When the If-Match header is sent, the school is only updated if the header holds the entity tag of the
+     * current school. Without it, the version of the school is checked if the client sent it.
      *
      * @param school the school to update
+     * @param ifMatch the entity tags of the school known by the client, or null
      * @return the ResponseEntity with status 200 (OK) and with body the updated school,
      * or with status 400 (Bad Request) if the school is not valid,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag,
      * or with status 500 (Internal Server Error) if the school couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/schools")
-    public ResponseEntity<School> updateSchool(@Valid @RequestBody School school) throws URISyntaxException {
+    public ResponseEntity<School> updateSchool(@Valid @RequestBody School school,
+                                               @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update School : {}", school);
         if (school.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        School current = schoolService.findOne(school.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current));
+        if (ifMatch != null || school.getVersion() == null) {
+            school.setVersion(current.getVersion());
+        }
         School result = schoolService.save(school);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, school.getId().toString()))
@@ -76,25 +104,62 @@ public class SchoolResource {
     /**
      * GET  /schools : get all the schools.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of schools in body
+     * @param eagerload flag to eager load the students of the schools
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of schools in body,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
      */
     @GetMapping("/schools")
-    public List<School> getAllSchools() {
+    public List<School> getAllSchools(@RequestParam(required = false, defaultValue = "false") boolean eagerload,
+                                      ServletWebRequest webRequest) {
         log.debug("REST request to get all Schools");
+        String entityTag = entityTagService.collectionTag(School.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        if (eagerload) {
+            return schoolService.findAllWithEagerRelationships();
+        }
         return schoolService.findAll();
     }
 
+    /**
+     * GET  /schools?ids=:ids : get the schools with the given ids.
+     * <p>
+     * The schools are read by batches of ids: a single request replaces a request per id. They are returned in
+     * the order of the ids, and the ids without school are skipped.
+     *
+     * @param ids the ids of the schools, separated by commas
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of schools in body,
+     * or with status 400 (Bad Request) if there are too many ids,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/schools", params = "ids")
+    public ResponseEntity<List<School>> getSchoolsByIds(@RequestParam("ids") List<Long> ids, ServletWebRequest webRequest) {
+        log.debug("REST request to get {} Schools by ids", ids.size());
+        if (ids.size() > applicationProperties.getBatchLoad().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoolarge");
+        }
+        String entityTag = entityTagService.collectionTag(School.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(batchLoadService.findAllById(School.class, ids));
+    }
+
     /**
      * GET  /schools/:id : get the "id" school.
      *
      * @param id the id of the school to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the school, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the school and its entity tag,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag, or with status 404 (Not Found)
      */
     @GetMapping("/schools/{id}")
     public ResponseEntity<School> getSchool(@PathVariable Long id) {
         log.debug("REST request to get School : {}", id);
         Optional<School> school = schoolService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(school);
+        return EntityTagUtil.wrapOrNotFound(school, entityTagService::entityTag);
     }
 
     /**
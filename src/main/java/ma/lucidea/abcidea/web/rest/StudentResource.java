@@ -1,23 +1,44 @@
 package ma.lucidea.abcidea.web.rest;
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Student;
 import ma.lucidea.abcidea.repository.StudentRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.BulkService;
+import ma.lucidea.abcidea.service.EntityCountService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.ExportService;
+import ma.lucidea.abcidea.service.MergePatchService;
+import ma.lucidea.abcidea.service.StudentQueryService;
+import ma.lucidea.abcidea.service.dto.BulkItemResultDTO;
+import ma.lucidea.abcidea.service.dto.StudentCriteria;
 import ma.lucidea.abcidea.web.rest.errors.BadRequestAlertException;
+import ma.lucidea.abcidea.web.rest.util.EntityTagUtil;
 import ma.lucidea.abcidea.web.rest.util.HeaderUtil;
+import ma.lucidea.abcidea.web.rest.util.KeysetCursor;
 import ma.lucidea.abcidea.web.rest.util.PaginationUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -33,8 +54,34 @@ public class StudentResource {
 
     private final StudentRepository studentRepository;
 
-    public StudentResource(StudentRepository studentRepository) {
+    private final EntityCountService entityCountService;
+
+    private final ExportService exportService;
+
+    private final BulkService bulkService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final StudentQueryService studentQueryService;
+
+    private final EntityTagService entityTagService;
+
+    private final MergePatchService mergePatchService;
+
+    private final BatchLoadService batchLoadService;
+
+    public StudentResource(StudentRepository studentRepository, EntityCountService entityCountService, ExportService exportService,
+                           BulkService bulkService, ApplicationProperties applicationProperties, StudentQueryService studentQueryService,
+                           EntityTagService entityTagService, MergePatchService mergePatchService, BatchLoadService batchLoadService) {
         this.studentRepository = studentRepository;
+        this.entityCountService = entityCountService;
+        this.exportService = exportService;
+        this.bulkService = bulkService;
+        this.applicationProperties = applicationProperties;
+        this.studentQueryService = studentQueryService;
+        this.entityTagService = entityTagService;
+        this.mergePatchService = mergePatchService;
+        this.batchLoadService = batchLoadService;
     }
 
     /**
@@ -56,52 +103,269 @@ public class StudentResource {
             .body(result);
     }
 
+    /**
+     * POST  /students/bulk : Create or update many students.
+     * <p>
+     * The students without an ID are created, the others are updated. Each item is reported separately:
+     * an invalid or unknown item does not prevent the others from being saved.
+     *
+     * @param students the students to create or update
+     * @return the ResponseEntity with status 200 (OK) and with body the result of each item, in the order of the request,
+     * or with status 400 (Bad Request) if there are too many items
+     */
+    @PostMapping("/students/bulk")
+    public ResponseEntity<List<BulkItemResultDTO>> bulkSaveStudents(@RequestBody List<Student> students) {
+        log.debug("REST request to save {} Students", students.size());
+        if (students.size() > applicationProperties.getBulk().getMaxSize()) {
+            throw new BadRequestAlertException("Too many items in bulk request", ENTITY_NAME, "bulktoolarge");
+        }
+        return ResponseEntity.ok(bulkService.saveStudents(students));
+    }
+
     /**
      * PUT  /students : Updates an existing student.
+     * <p>
+     * When the If-Match header is sent, the student is only updated if the header holds the entity tag of the
+     * current student. Without it, the version of the student is checked if the client sent it.
      *
      * @param student the student to update
+     * @param ifMatch the entity tags of the student known by the client, or null
      * @return the ResponseEntity with status 200 (OK) and with body the updated student,
      * or with status 400 (Bad Request) if the student is not valid,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag,
      * or with status 500 (Internal Server Error) if the student couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/students")
-    public ResponseEntity<Student> updateStudent(@RequestBody Student student) throws URISyntaxException {
+    public ResponseEntity<Student> updateStudent(@RequestBody Student student,
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Student : {}", student);
         if (student.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        Student current = studentRepository.findById(student.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current));
+        if (ifMatch != null || student.getVersion() == null) {
+            student.setVersion(current.getVersion());
+        }
         Student result = studentRepository.save(student);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, student.getId().toString()))
             .body(result);
     }
 
+    /**
+     * PATCH  /students/:id : Partially updates the "id" student, with a JSON merge patch.
+     * <p>
+     * Only the members of the patch are changed, and only the changed columns are written: the relationships
+     * missing from the patch are kept as they are, with their cached collections. A null member clears its field,
+     * and the version member, if any, must be the current version of the student. When the If-Match header is sent,
+     * it must hold the entity tag of the current student.
+     *
+     * @param id the id of the student to update
+     * @param patch the JSON merge patch of the student
+     * @param ifMatch the entity tags of the student known by the client, or null
+     * @return the ResponseEntity with status 200 (OK) and with body the updated student,
+     * or with status 400 (Bad Request) if the patch is not valid,
+     * or with status 404 (Not Found) if the student does not exist,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag
+     */
+    @PatchMapping(value = "/students/{id}", consumes = {MergePatchService.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Student> patchStudent(@PathVariable Long id, @RequestBody JsonNode patch,
+                                                @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("REST request to patch Student {} : {}", id, patch);
+        if (!patch.isObject() || patch.hasNonNull("id") && patch.get("id").asLong() != id) {
+            throw new BadRequestAlertException("Invalid patch", ENTITY_NAME, "patchinvalid");
+        }
+        ObjectNode members = (ObjectNode) patch;
+        if (ifMatch != null) {
+            Optional<Student> current = studentRepository.findById(id);
+            if (current.isPresent()) {
+                EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current.get()));
+                // The entity checked is the one patched, or the patch fails
+                members = members.deepCopy().put("version", current.get().getVersion());
+            }
+        }
+        try {
+            Optional<Student> result = mergePatchService.patch(Student.class, id, members);
+            return ResponseUtil.wrapOrNotFound(result, HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id.toString()));
+        } catch (IOException e) {
+            throw new BadRequestAlertException("Invalid patch", ENTITY_NAME, "patchinvalid");
+        }
+    }
+
     /**
      * GET  /students : get all the students.
+     * <p>
+     * The students are not counted, unless the client asks for it: the X-Total-Count header then holds
+     * an estimated count of all the students, or the exact count of the students matching the criteria.
      *
+     * @param criteria the criteria which the requested entities should match
      * @param pageable the pagination information
-     * @return the ResponseEntity with status 200 (OK) and the list of students in body
+     * @param eagerload flag to eager load the courses of the students
+     * @param count flag to add the total count of students in the X-Total-Count header
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of students in body,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
      */
     @GetMapping("/students")
-    public ResponseEntity<List<Student>> getAllStudents(Pageable pageable) {
-        log.debug("REST request to get a page of Students");
-        Page<Student> page = studentRepository.findAll(pageable);
-        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, "/api/students");
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    public ResponseEntity<List<Student>> getAllStudents(StudentCriteria criteria, Pageable pageable,
+                                                        @RequestParam(required = false, defaultValue = "false") boolean eagerload,
+                                                        @RequestParam(required = false, defaultValue = "false") boolean count,
+                                                        ServletWebRequest webRequest) {
+        log.debug("REST request to get Students by criteria: {}", criteria);
+        String entityTag = entityTagService.collectionTag(Student.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        Slice<Student> slice = studentQueryService.findByCriteria(criteria, pageable, eagerload);
+        Long totalCount = null;
+        if (count) {
+            totalCount = criteria.equals(new StudentCriteria()) ?
+                entityCountService.count(Student.class) : studentQueryService.countByCriteria(criteria);
+        }
+        HttpHeaders headers = PaginationUtil.generateSliceHttpHeaders(slice, totalCount, ServletUriComponentsBuilder.fromCurrentRequest());
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * GET  /students?fields=:fields : get some fields of all the students.
+     * <p>
+     * Only the requested fields are read from the database and written in the response, with the id
+     * of each student. The fields are basic attributes of the student, not its relationships.
+     *
+     * @param criteria the criteria which the requested entities should match
+     * @param pageable the pagination information
+     * @param fields the names of the fields to get, separated by commas
+     * @param count flag to add the total count of students in the X-Total-Count header
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the fields of the students in body,
+     * or with status 400 (Bad Request) if a field is unknown or is a relationship,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/students", params = {"fields", "!after", "!ids"})
+    public ResponseEntity<List<Map<String, Object>>> getAllStudentFields(StudentCriteria criteria, Pageable pageable,
+                                                                     @RequestParam("fields") List<String> fields,
+                                                                     @RequestParam(required = false, defaultValue = "false") boolean count,
+                                                                     ServletWebRequest webRequest) {
+        log.debug("REST request to get the fields {} of Students by criteria: {}", fields, criteria);
+        String entityTag = entityTagService.collectionTag(Student.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        List<String> selectedFields = studentQueryService.selectableFields(fields)
+            .orElseThrow(() -> new BadRequestAlertException("Invalid fields", ENTITY_NAME, "fieldsinvalid"));
+        Slice<Map<String, Object>> slice = studentQueryService.findFieldsByCriteria(criteria, pageable, selectedFields);
+        Long totalCount = null;
+        if (count) {
+            totalCount = criteria.equals(new StudentCriteria()) ?
+                entityCountService.count(Student.class) : studentQueryService.countByCriteria(criteria);
+        }
+        HttpHeaders headers = PaginationUtil.generateSliceHttpHeaders(slice, totalCount, ServletUriComponentsBuilder.fromCurrentRequest());
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * GET  /students?after=:cursor : get a slice of the students, using keyset pagination.
+     * <p>
+     * The students are sorted by last name then id, whatever the requested sort. An empty cursor
+     * returns the first slice, and the "next" link of the response holds the cursor of the following one.
+     *
+     * @param after the cursor returned in the "next" link of the previous slice
+     * @param pageable the pagination information, only its size is used
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of students in body,
+     * or with status 400 (Bad Request) if the cursor is invalid,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/students", params = {"after", "!ids"})
+    public ResponseEntity<List<Student>> getAllStudentsAfter(@RequestParam("after") String after, Pageable pageable,
+                                                             ServletWebRequest webRequest) {
+        log.debug("REST request to get a slice of Students after : {}", after);
+        String entityTag = entityTagService.collectionTag(Student.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        Pageable firstSlice = PageRequest.of(0, pageable.getPageSize());
+        Slice<Student> slice;
+        if (after.isEmpty()) {
+            slice = studentRepository.findFirstKeysetSlice(firstSlice);
+        } else {
+            KeysetCursor cursor = KeysetCursor.decode(after)
+                .orElseThrow(() -> new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid"));
+            if (cursor.getKey() == null) {
+                slice = studentRepository.findKeysetSliceAfterNullLastName(cursor.getId(), firstSlice);
+            } else {
+                slice = studentRepository.findKeysetSliceAfter(cursor.getKey(), cursor.getId(), firstSlice);
+            }
+        }
+        KeysetCursor nextCursor = null;
+        if (slice.hasContent()) {
+            Student last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = KeysetCursor.of(last.getLastName(), last.getId());
+        }
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, nextCursor, "/api/students");
+        return ResponseEntity.ok().headers(headers).body(slice.getContent());
+    }
+
+    /**
+     * GET  /students/export : export all the students, as newline-delimited JSON.
+     * <p>
+     * The students are streamed from the database as they are read, so the response is neither paginated nor counted.
+     *
+     * @param response the response to write the students to
+     * @throws IOException if the response could not be written
+     */
+    @GetMapping("/students/export")
+    public void exportStudents(HttpServletResponse response) throws IOException {
+        log.debug("REST request to export all Students");
+        response.setContentType(ExportService.NDJSON_VALUE);
+        exportService.exportStudents(response.getOutputStream());
+    }
+
+    /**
+     * GET  /students?ids=:ids : get the students with the given ids.
+     * <p>
+     * The students are read by batches of ids: a single request replaces a request per id. They are returned in
+     * the order of the ids, and the ids without student are skipped.
+     *
+     * @param ids the ids of the students, separated by commas
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of students in body,
+     * or with status 400 (Bad Request) if there are too many ids or they come with fields or a cursor,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/students", params = "ids")
+    public ResponseEntity<List<Student>> getStudentsByIds(@RequestParam("ids") List<Long> ids, ServletWebRequest webRequest) {
+        log.debug("REST request to get {} Students by ids", ids.size());
+        if (webRequest.getParameter("fields") != null || webRequest.getParameter("after") != null) {
+            throw new BadRequestAlertException("The ids cannot be combined with fields or after", ENTITY_NAME, "idscombined");
+        }
+        if (ids.size() > applicationProperties.getBatchLoad().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoolarge");
+        }
+        String entityTag = entityTagService.collectionTag(Student.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(batchLoadService.findAllById(Student.class, ids));
     }
 
     /**
      * GET  /students/:id : get the "id" student.
      *
      * @param id the id of the student to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the student, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the student and its entity tag,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag, or with status 404 (Not Found)
      */
     @GetMapping("/students/{id}")
     public ResponseEntity<Student> getStudent(@PathVariable Long id) {
         log.debug("REST request to get Student : {}", id);
         Optional<Student> student = studentRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(student);
+        return EntityTagUtil.wrapOrNotFound(student, entityTagService::entityTag);
     }
 
     /**
@@ -1,13 +1,18 @@
 package ma.lucidea.abcidea.web.rest;
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Task;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.EntityTagService;
 import ma.lucidea.abcidea.service.TaskService;
 import ma.lucidea.abcidea.web.rest.errors.BadRequestAlertException;
+import ma.lucidea.abcidea.web.rest.util.EntityTagUtil;
 import ma.lucidea.abcidea.web.rest.util.HeaderUtil;
-import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -28,8 +33,18 @@ public class TaskResource {
 
     private final TaskService taskService;
 
-    public TaskResource(TaskService taskService) {
+    private final EntityTagService entityTagService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final BatchLoadService batchLoadService;
+
+    public TaskResource(TaskService taskService, EntityTagService entityTagService,
+                        ApplicationProperties applicationProperties, BatchLoadService batchLoadService) {
         this.taskService = taskService;
+        this.entityTagService = entityTagService;
+        this.applicationProperties = applicationProperties;
+        this.batchLoadService = batchLoadService;
     }
 
     /**
@@ -53,19 +68,32 @@ public class TaskResource {
 
     /**
      * PUT  /tasks : Updates an existing task.
+     * <p>
+     * When the If-Match header is sent, the task is only updated if the header holds the entity tag of the
+     * current task. Without it, the version of the task is checked if the client sent it.
      *
      * @param task the task to update
+     * @param ifMatch the entity tags of the task known by the client, or null
      * @return the ResponseEntity with status 200 (OK) and with body the updated task,
      * or with status 400 (Bad Request) if the task is not valid,
+     * or with status 409 (Conflict) if its version is not the current one,
+     * or with status 412 (Precondition Failed) if the If-Match header does not hold its entity tag,
      * or with status 500 (Internal Server Error) if the task couldn't be updated
      * @throws URISyntaxException if the Location URI syntax is incorrect
      */
     @PutMapping("/tasks")
-    public ResponseEntity<Task> updateTask(@RequestBody Task task) throws URISyntaxException {
+    public ResponseEntity<Task> updateTask(@RequestBody Task task,
+                                           @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws URISyntaxException {
         log.debug("REST request to update Task : {}", task);
         if (task.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
         }
+        Task current = taskService.findOne(task.getId())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnotfound"));
+        EntityTagUtil.checkIfMatch(ifMatch, entityTagService.entityTag(current));
+        if (ifMatch != null || task.getVersion() == null) {
+            task.setVersion(current.getVersion());
+        }
         Task result = taskService.save(task);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, task.getId().toString()))
@@ -75,25 +103,57 @@ public class TaskResource {
     /**
      * GET  /tasks : get all the tasks.
      *
-     * @return the ResponseEntity with status 200 (OK) and the list of tasks in body
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of tasks in body,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
      */
     @GetMapping("/tasks")
-    public List<Task> getAllTasks() {
+    public List<Task> getAllTasks(ServletWebRequest webRequest) {
         log.debug("REST request to get all Tasks");
+        String entityTag = entityTagService.collectionTag(Task.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
         return taskService.findAll();
     }
 
+    /**
+     * GET  /tasks?ids=:ids : get the tasks with the given ids.
+     * <p>
+     * The tasks are read by batches of ids: a single request replaces a request per id. They are returned in
+     * the order of the ids, and the ids without task are skipped.
+     *
+     * @param ids the ids of the tasks, separated by commas
+     * @param webRequest the request, whose If-None-Match header is checked against the entity tag of the list
+     * @return the ResponseEntity with status 200 (OK) and the list of tasks in body,
+     * or with status 400 (Bad Request) if there are too many ids,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag
+     */
+    @GetMapping(value = "/tasks", params = "ids")
+    public ResponseEntity<List<Task>> getTasksByIds(@RequestParam("ids") List<Long> ids, ServletWebRequest webRequest) {
+        log.debug("REST request to get {} Tasks by ids", ids.size());
+        if (ids.size() > applicationProperties.getBatchLoad().getMaxIds()) {
+            throw new BadRequestAlertException("Too many ids", ENTITY_NAME, "idstoolarge");
+        }
+        String entityTag = entityTagService.collectionTag(Task.class, EntityTagUtil.collectionRequest(webRequest));
+        if (webRequest.checkNotModified(entityTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(batchLoadService.findAllById(Task.class, ids));
+    }
+
     /**
      * GET  /tasks/:id : get the "id" task.
      *
      * @param id the id of the task to retrieve
-     * @return the ResponseEntity with status 200 (OK) and with body the task, or with status 404 (Not Found)
+     * @return the ResponseEntity with status 200 (OK) and with body the task and its entity tag,
+     * or with status 304 (Not Modified) if the If-None-Match header holds its entity tag, or with status 404 (Not Found)
      */
     @GetMapping("/tasks/{id}")
     public ResponseEntity<Task> getTask(@PathVariable Long id) {
         log.debug("REST request to get Task : {}", id);
         Optional<Task> task = taskService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(task);
+        return EntityTagUtil.wrapOrNotFound(task, entityTagService::entityTag);
     }
 
     /**
@@ -0,0 +1,17 @@
+package ma.lucidea.abcidea.web.rest.errors;
+
+import org.zalando.problem.AbstractThrowableProblem;
+import org.zalando.problem.Status;
+
+/**
+ * Simple exception with a message, that returns a Precondition Failed code: the client does not hold the
+ * current version of the entity it updates.
+ */
+public class PreconditionFailedException extends AbstractThrowableProblem {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String message) {
+        super(ErrorConstants.DEFAULT_TYPE, message, Status.PRECONDITION_FAILED);
+    }
+}
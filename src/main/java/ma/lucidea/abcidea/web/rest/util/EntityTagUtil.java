@@ -0,0 +1,72 @@
+package ma.lucidea.abcidea.web.rest.util;
+
+import ma.lucidea.abcidea.web.rest.errors.PreconditionFailedException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Utility class for entity tags (ETags) and conditional requests.
+ */
+public final class EntityTagUtil {
+
+    private static final String ANY_TAG = "*";
+
+    private EntityTagUtil() {
+    }
+
+    /**
+     * Wrap the optional into a {@link ResponseEntity} with an {@link HttpStatus#OK} status and the entity tag of the
+     * entity, or with a {@link HttpStatus#NOT_FOUND} status if it is empty.
+     * <p>
+     * When the If-None-Match header of a GET holds the entity tag, the response is a 304 (Not Modified) without body:
+     * the entity is not serialized.
+     *
+     * @param maybeResponse the response to return if present
+     * @param entityTag the function computing the entity tag of the response
+     * @param <X> type of the response
+     * @return the response
+     */
+    public static <X> ResponseEntity<X> wrapOrNotFound(Optional<X> maybeResponse, Function<? super X, String> entityTag) {
+        return maybeResponse.map(response -> ResponseEntity.ok().eTag(entityTag.apply(response)).body(response))
+            .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Check the If-Match header of an update against the entity tag of the current entity, with the strong comparison.
+     *
+     * @param ifMatch the If-Match header, or null if the client did not send it
+     * @param entityTag the entity tag of the current entity
+     * @throws PreconditionFailedException if the header holds neither "*" nor the entity tag
+     */
+    public static void checkIfMatch(String ifMatch, String entityTag) {
+        if (ifMatch == null) {
+            return;
+        }
+        for (String tag : StringUtils.commaDelimitedListToStringArray(ifMatch)) {
+            String trimmedTag = tag.trim();
+            if (ANY_TAG.equals(trimmedTag) || trimmedTag.equals(entityTag)) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("The entity was modified since it was read");
+    }
+
+    /**
+     * Identify the list requested: its path and query, which select and order the listed entities.
+     *
+     * @param webRequest the request of the list
+     * @return the path and query of the request
+     */
+    public static String collectionRequest(ServletWebRequest webRequest) {
+        HttpServletRequest request = webRequest.getRequest();
+        return request.getQueryString() == null ? request.getRequestURI() :
+            request.getRequestURI() + "?" + request.getQueryString();
+    }
+}
@@ -0,0 +1,80 @@
+package ma.lucidea.abcidea.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Opaque cursor used by keyset (seek) pagination.
+ *
+ * <p>
+ * A cursor points just after the last row of a page, and is made of the value of the sort key of that row
+ * (which may be {@code null}) and of its id, used as a tie-breaker. It is exchanged with clients as a
+ * URL-safe Base64 string, so they should not rely on its content.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final String key;
+
+    private final Long id;
+
+    private KeysetCursor(String key, Long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static KeysetCursor of(String key, Long id) {
+        if (id == null) {
+            throw new IllegalArgumentException("A cursor requires an id");
+        }
+        return new KeysetCursor(key, id);
+    }
+
+    /**
+     * Decode a cursor sent by a client.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded cursor, or an empty Optional if it is blank or malformed
+     */
+    public static Optional<KeysetCursor> decode(String cursor) {
+        if (cursor == null || cursor.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return Optional.of(new KeysetCursor(null, Long.valueOf(raw)));
+            }
+            return Optional.of(new KeysetCursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode() {
+        String raw = key == null ? id.toString() : id.toString() + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort key of the last row, or {@code null} if that row had no value for it
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+            "key='" + key + "'" +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -1,6 +1,7 @@
 package ma.lucidea.abcidea.web.rest.util;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -39,7 +40,113 @@ public final class PaginationUtil {
         return headers;
     }
 
+    /**
+     * Generate the pagination headers of a page, with its total count and a "last" link.
+     * <p>
+     * The links keep the query parameters of the given URI, such as the criteria and the sort, and only replace
+     * its page and size.
+     *
+     * @param page the current page
+     * @param uriBuilder the encoded URI of the list request, typically built from the current request
+     * @return the pagination headers
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(Page<T> page, UriComponentsBuilder uriBuilder) {
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("X-Total-Count", Long.toString(page.getTotalElements()));
+        String link = "";
+        if (page.hasNext()) {
+            link = "<" + generateUri(uriBuilder, page.getNumber() + 1, page.getSize()) + ">; rel=\"next\",";
+        }
+        // prev link
+        if (page.hasPrevious()) {
+            link += "<" + generateUri(uriBuilder, page.getNumber() - 1, page.getSize()) + ">; rel=\"prev\",";
+        }
+        // last and first link
+        int lastPage = Math.max(page.getTotalPages() - 1, 0);
+        link += "<" + generateUri(uriBuilder, lastPage, page.getSize()) + ">; rel=\"last\",";
+        link += "<" + generateUri(uriBuilder, 0, page.getSize()) + ">; rel=\"first\"";
+        headers.add(HttpHeaders.LINK, link);
+        return headers;
+    }
+
+    /**
+     * Generate the pagination headers of a slice, which is fetched without counting all the rows.
+     *
+     * @param slice the current slice
+     * @param totalCount the total number of elements, or null to omit the X-Total-Count header
+     * @param baseUrl the URL of the list endpoint
+     * @return the pagination headers
+     * @see #generateSliceHttpHeaders(Slice, Long, UriComponentsBuilder)
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(Slice<T> slice, Long totalCount, String baseUrl) {
+        return generateSliceHttpHeaders(slice, totalCount, UriComponentsBuilder.fromUriString(baseUrl));
+    }
+
+    /**
+     * Generate the pagination headers of a slice, which is fetched without counting all the rows.
+     * <p>
+     * There is no "last" link, as the number of pages is unknown. The X-Total-Count header is only added if
+     * a total count is given, typically when the client requested it. The links keep the query parameters of
+     * the given URI, such as the criteria and the sort, and only replace its page and size.
+     *
+     * @param slice the current slice
+     * @param totalCount the total number of elements, or null to omit the X-Total-Count header
+     * @param uriBuilder the encoded URI of the list request, typically built from the current request
+     * @return the pagination headers
+     */
+    public static <T> HttpHeaders generateSliceHttpHeaders(Slice<T> slice, Long totalCount, UriComponentsBuilder uriBuilder) {
+
+        HttpHeaders headers = new HttpHeaders();
+        if (totalCount != null) {
+            headers.add("X-Total-Count", Long.toString(totalCount));
+        }
+        String link = "";
+        if (slice.hasNext()) {
+            link = "<" + generateUri(uriBuilder, slice.getNumber() + 1, slice.getSize()) + ">; rel=\"next\",";
+        }
+        // prev link
+        if (slice.hasPrevious()) {
+            link += "<" + generateUri(uriBuilder, slice.getNumber() - 1, slice.getSize()) + ">; rel=\"prev\",";
+        }
+        link += "<" + generateUri(uriBuilder, 0, slice.getSize()) + ">; rel=\"first\"";
+        headers.add(HttpHeaders.LINK, link);
+        return headers;
+    }
+
+    /**
+     * Generate the Link header of a keyset-paginated list.
+     * <p>
+     * There is no total count, "prev" or "last" link: the "next" link carries the cursor of the last row of the slice,
+     * and the "first" link restarts the iteration with an empty cursor.
+     *
+     * @param slice the current slice
+     * @param nextCursor the cursor pointing after the last row of the slice, ignored if there is no next slice
+     * @param baseUrl the URL of the list endpoint
+     * @return the pagination headers
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(Slice<T> slice, KeysetCursor nextCursor, String baseUrl) {
+
+        HttpHeaders headers = new HttpHeaders();
+        String link = "";
+        if (slice.hasNext() && nextCursor != null) {
+            link = "<" + generateCursorUri(baseUrl, nextCursor.encode(), slice.getSize()) + ">; rel=\"next\",";
+        }
+        link += "<" + generateCursorUri(baseUrl, "", slice.getSize()) + ">; rel=\"first\"";
+        headers.add(HttpHeaders.LINK, link);
+        return headers;
+    }
+
     private static String generateUri(String baseUrl, int page, int size) {
         return UriComponentsBuilder.fromUriString(baseUrl).queryParam("page", page).queryParam("size", size).toUriString();
     }
+
+    private static String generateUri(UriComponentsBuilder uriBuilder, int page, int size) {
+        return uriBuilder.cloneBuilder().replaceQueryParam("page", page).replaceQueryParam("size", size)
+            .build(true).toUriString();
+    }
+
+    private static String generateCursorUri(String baseUrl, String cursor, int size) {
+        return UriComponentsBuilder.fromUriString(baseUrl).queryParam("after", cursor).queryParam("size", size).toUriString();
+    }
 }
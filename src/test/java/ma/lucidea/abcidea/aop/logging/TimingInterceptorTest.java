@@ -0,0 +1,99 @@
+package ma.lucidea.abcidea.aop.logging;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the TimingInterceptor class.
+ *
+ * @see TimingInterceptor
+ */
+public class TimingInterceptorTest {
+
+    private MeterRegistry registry;
+
+    private TimingInterceptor timingInterceptor;
+
+    private GreetingService greetingService;
+
+    @Before
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        timingInterceptor = new TimingInterceptor(registry, 1, Duration.ofSeconds(1), true);
+        greetingService = proxy(GreetingService.class, new DefaultGreetingService());
+    }
+
+    @Test
+    public void testCallsAreTimedByClassAndMethod() {
+        assertThat(greetingService.greet("world")).isEqualTo("Hello world");
+        assertThat(greetingService.greet("you")).isEqualTo("Hello you");
+
+        FunctionTimer timer = registry.get(TimingInterceptor.METRIC_NAME)
+            .tags("class", "GreetingService", "method", "greet", "outcome", "SUCCESS").functionTimer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isPositive();
+    }
+
+    @Test
+    public void testFailedCallsAreTimedApart() {
+        assertThatThrownBy(() -> greetingService.greet(null)).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.get(TimingInterceptor.METRIC_NAME)
+            .tags("class", "GreetingService", "method", "greet", "outcome", "ERROR").functionTimer().count()).isEqualTo(1);
+        assertThat(registry.get(TimingInterceptor.METRIC_NAME)
+            .tags("class", "GreetingService", "method", "greet", "outcome", "SUCCESS").functionTimer().count()).isEqualTo(0);
+    }
+
+    @Test
+    public void testInheritedMethodsAreTimedByBean() {
+        PoliteGreetingService politeGreetingService = proxy(PoliteGreetingService.class, new DefaultPoliteGreetingService());
+
+        greetingService.greet("world");
+        politeGreetingService.greet("world");
+        politeGreetingService.greet("you");
+
+        assertThat(registry.get(TimingInterceptor.METRIC_NAME)
+            .tags("class", "GreetingService", "method", "greet", "outcome", "SUCCESS").functionTimer().count()).isEqualTo(1);
+        assertThat(registry.get(TimingInterceptor.METRIC_NAME)
+            .tags("class", "PoliteGreetingService", "method", "greet", "outcome", "SUCCESS").functionTimer().count()).isEqualTo(2);
+    }
+
+    private <T> T proxy(Class<T> type, T target) {
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(type);
+        proxyFactory.addAdvice(timingInterceptor);
+        return type.cast(proxyFactory.getProxy());
+    }
+
+    public interface GreetingService {
+
+        String greet(String name);
+    }
+
+    private static class DefaultGreetingService implements GreetingService {
+
+        @Override
+        public String greet(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("A name is required");
+            }
+            return "Hello " + name;
+        }
+    }
+
+    public interface PoliteGreetingService extends GreetingService {
+    }
+
+    private static class DefaultPoliteGreetingService extends DefaultGreetingService implements PoliteGreetingService {
+    }
+}
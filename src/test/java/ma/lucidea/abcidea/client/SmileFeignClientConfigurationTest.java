@@ -0,0 +1,83 @@
+package ma.lucidea.abcidea.client;
+
+import ma.lucidea.abcidea.config.JacksonConfiguration;
+import ma.lucidea.abcidea.domain.Student;
+
+import feign.RequestTemplate;
+import feign.Response;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the SmileFeignClientConfiguration class.
+ *
+ * @see SmileFeignClientConfiguration
+ */
+public class SmileFeignClientConfigurationTest {
+
+    private final SmileFeignClientConfiguration configuration = new SmileFeignClientConfiguration();
+
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
+    private Student student;
+
+    @Before
+    public void setup() {
+        smileHttpMessageConverter = new MappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder.smile().build());
+        student = new Student().firstName("Amina").lastName("Alaoui").startDate(Instant.parse("2019-09-01T08:00:00Z"));
+        student.setId(1L);
+    }
+
+    @Test
+    public void testRequestsAcceptSmile() {
+        RequestTemplate template = new RequestTemplate();
+
+        configuration.smileAcceptRequestInterceptor().apply(template);
+
+        assertThat(template.headers().get(HttpHeaders.ACCEPT)).containsExactly(JacksonConfiguration.SMILE_VALUE);
+    }
+
+    @Test
+    public void testBodyIsEncodedWithSmile() throws Exception {
+        RequestTemplate template = new RequestTemplate();
+
+        configuration.smileFeignEncoder(smileHttpMessageConverter).encode(student, Student.class, template);
+
+        assertThat(template.headers().get(HttpHeaders.CONTENT_TYPE)).hasSize(1);
+        MediaType contentType = MediaType.parseMediaType(template.headers().get(HttpHeaders.CONTENT_TYPE).iterator().next());
+        assertThat(contentType.isCompatibleWith(MediaType.parseMediaType(JacksonConfiguration.SMILE_VALUE))).isTrue();
+        Student encodedStudent = smileHttpMessageConverter.getObjectMapper().readValue(template.body(), Student.class);
+        assertThat(encodedStudent.getId()).isEqualTo(1L);
+        assertThat(encodedStudent.getFirstName()).isEqualTo("Amina");
+        assertThat(encodedStudent.getStartDate()).isEqualTo(student.getStartDate());
+    }
+
+    @Test
+    public void testResponseIsDecodedWithSmile() throws Exception {
+        Map<String, Collection<String>> headers =
+            Collections.singletonMap(HttpHeaders.CONTENT_TYPE, Collections.singletonList(JacksonConfiguration.SMILE_VALUE));
+        Response response = Response.builder()
+            .status(200)
+            .reason("OK")
+            .headers(headers)
+            .body(smileHttpMessageConverter.getObjectMapper().writeValueAsBytes(student))
+            .build();
+
+        Object decodedStudent = configuration.smileFeignDecoder(smileHttpMessageConverter).decode(response, Student.class);
+
+        assertThat(decodedStudent).isInstanceOf(Student.class);
+        assertThat(((Student) decodedStudent).getLastName()).isEqualTo("Alaoui");
+        assertThat(((Student) decodedStudent).getStartDate()).isEqualTo(student.getStartDate());
+    }
+}
@@ -0,0 +1,99 @@
+package ma.lucidea.abcidea.config;
+
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizeConfig;
+import io.github.jhipster.config.JHipsterProperties;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for the CacheConfiguration class.
+ *
+ * @see CacheConfiguration
+ */
+public class CacheConfigurationTest {
+
+    private CacheConfiguration cacheConfiguration;
+
+    private JHipsterProperties jHipsterProperties;
+
+    @Before
+    public void setup() {
+        cacheConfiguration = new CacheConfiguration(new MockEnvironment(), new ServerProperties(), mock(DiscoveryClient.class));
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getHazelcast().setTimeToLiveSeconds(3600);
+        jHipsterProperties.getCache().getHazelcast().setBackupCount(1);
+    }
+
+    @Test
+    public void testRegionsAreBoundByEntityAndCollectionName() {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("application.cache.regions.Region.near-cache.enabled", "true");
+        properties.put("application.cache.regions[Student.courses].max-size", "1000");
+        properties.put("application.cache.regions[Student.courses].eviction-policy", "LFU");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+
+        new Binder(new MapConfigurationPropertySource(properties))
+            .bind("application", Bindable.ofInstance(applicationProperties));
+
+        assertThat(applicationProperties.getCache().getRegions()).containsOnlyKeys("Region", "Student.courses");
+        assertThat(applicationProperties.getCache().getRegions().get("Region").getNearCache().isEnabled()).isTrue();
+        assertThat(applicationProperties.getCache().getRegions().get("Student.courses").getMaxSize()).isEqualTo(1000);
+        assertThat(applicationProperties.getCache().getRegions().get("Student.courses").getEvictionPolicy()).isEqualTo(EvictionPolicy.LFU);
+    }
+
+    @Test
+    public void testReferenceRegionMapConfig() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setTimeToLiveSeconds(0);
+        region.getNearCache().setEnabled(true);
+        region.getNearCache().setMaxSize(1000);
+
+        MapConfig mapConfig = cacheConfiguration.initializeRegionMapConfig("ma.lucidea.abcidea.domain.Region", jHipsterProperties, region);
+
+        assertThat(mapConfig.getName()).isEqualTo("ma.lucidea.abcidea.domain.Region");
+        assertThat(mapConfig.getTimeToLiveSeconds()).isEqualTo(0);
+        assertThat(mapConfig.getEvictionPolicy()).isEqualTo(EvictionPolicy.NONE);
+        assertThat(mapConfig.getBackupCount()).isEqualTo(1);
+        assertThat(mapConfig.getNearCacheConfig().getInMemoryFormat()).isEqualTo(InMemoryFormat.OBJECT);
+        assertThat(mapConfig.getNearCacheConfig().isInvalidateOnChange()).isTrue();
+        assertThat(mapConfig.getNearCacheConfig().getEvictionConfig().getSize()).isEqualTo(1000);
+    }
+
+    @Test
+    public void testHotRegionMapConfig() {
+        ApplicationProperties.Cache.Region region = new ApplicationProperties.Cache.Region();
+        region.setMaxSize(100000);
+        region.setEvictionPolicy(EvictionPolicy.LRU);
+        region.setMaxIdleSeconds(1800);
+        region.setBackupCount(0);
+        region.setAsyncBackupCount(1);
+        region.setReadBackupData(true);
+
+        MapConfig mapConfig = cacheConfiguration.initializeRegionMapConfig("ma.lucidea.abcidea.domain.Student", jHipsterProperties, region);
+
+        assertThat(mapConfig.getTimeToLiveSeconds()).isEqualTo(3600);
+        assertThat(mapConfig.getMaxIdleSeconds()).isEqualTo(1800);
+        assertThat(mapConfig.getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+        assertThat(mapConfig.getMaxSizeConfig().getSize()).isEqualTo(100000);
+        assertThat(mapConfig.getMaxSizeConfig().getMaxSizePolicy()).isEqualTo(MaxSizeConfig.MaxSizePolicy.PER_NODE);
+        assertThat(mapConfig.getBackupCount()).isEqualTo(0);
+        assertThat(mapConfig.getAsyncBackupCount()).isEqualTo(1);
+        assertThat(mapConfig.isReadBackupData()).isTrue();
+        assertThat(mapConfig.getNearCacheConfig()).isNull();
+    }
+}
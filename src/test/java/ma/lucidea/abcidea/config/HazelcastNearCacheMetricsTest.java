@@ -0,0 +1,71 @@
+package ma.lucidea.abcidea.config;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the HazelcastNearCacheMetrics class.
+ *
+ * @see HazelcastNearCacheMetrics
+ */
+public class HazelcastNearCacheMetricsTest {
+
+    private static final String MAP_NAME = CacheConfiguration.DOMAIN_REGION_PREFIX + "Region";
+
+    private HazelcastInstance hazelcastInstance;
+
+    private MeterRegistry registry;
+
+    @Before
+    public void setup() {
+        Config config = new Config();
+        config.setInstanceName("HazelcastNearCacheMetricsTest");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.addMapConfig(new MapConfig(MAP_NAME)
+            .setNearCacheConfig(new NearCacheConfig(MAP_NAME).setCacheLocalEntries(true)));
+        hazelcastInstance = Hazelcast.newHazelcastInstance(config);
+
+        registry = new SimpleMeterRegistry();
+        new HazelcastNearCacheMetrics(hazelcastInstance, Collections.singletonList(MAP_NAME)).bindTo(registry);
+    }
+
+    @After
+    public void destroy() {
+        hazelcastInstance.shutdown();
+    }
+
+    @Test
+    public void testHitRatioIsNotANumberBeforeAnyRead() {
+        assertThat(registry.get("hazelcast.near.cache.hit.ratio").tag("cache", MAP_NAME).gauge().value()).isNaN();
+    }
+
+    @Test
+    public void testHitsAndMissesAreCounted() {
+        IMap<Long, String> map = hazelcastInstance.getMap(MAP_NAME);
+        map.put(1L, "Africa");
+
+        // The first read misses and fills the near cache, the next ones are served by it
+        map.get(1L);
+        map.get(1L);
+        map.get(1L);
+        map.get(1L);
+
+        assertThat(registry.get("hazelcast.near.cache.misses").tag("cache", MAP_NAME).functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("hazelcast.near.cache.hits").tag("cache", MAP_NAME).functionCounter().count()).isEqualTo(3);
+        assertThat(registry.get("hazelcast.near.cache.hit.ratio").tag("cache", MAP_NAME).gauge().value()).isEqualTo(0.75);
+        assertThat(registry.get("hazelcast.near.cache.entries").tag("cache", MAP_NAME).gauge().value()).isEqualTo(1);
+    }
+}
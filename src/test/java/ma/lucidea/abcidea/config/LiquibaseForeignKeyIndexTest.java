@@ -0,0 +1,159 @@
+package ma.lucidea.abcidea.config;
+
+import liquibase.change.AddColumnConfig;
+import liquibase.change.Change;
+import liquibase.change.ColumnConfig;
+import liquibase.change.ConstraintsConfig;
+import liquibase.change.core.*;
+import liquibase.changelog.ChangeLogParameters;
+import liquibase.changelog.ChangeSet;
+import liquibase.changelog.DatabaseChangeLog;
+import liquibase.parser.ChangeLogParserFactory;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import liquibase.resource.ResourceAccessor;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that each foreign key of the Liquibase changelogs is indexed.
+ * <p>
+ * PostgreSQL does not index foreign keys by itself, and H2 does, so the schema is rebuilt from the changes
+ * applied on PostgreSQL rather than read from the test database. A foreign key is indexed when its columns
+ * are the leading columns of a primary key, unique constraint or index of its table. Raw SQL changes are not
+ * interpreted.
+ */
+public class LiquibaseForeignKeyIndexTest {
+
+    private static final String MASTER_CHANGELOG = "config/liquibase/master.xml";
+
+    private static final String DBMS = "postgresql";
+
+    /** Columns of the indexes of each table, by index name. */
+    private final Map<String, Map<String, List<String>>> indexes = new HashMap<>();
+
+    /** Table and columns of each foreign key, by constraint name. */
+    private final Map<String, ForeignKey> foreignKeys = new LinkedHashMap<>();
+
+    @Before
+    public void setup() throws Exception {
+        ResourceAccessor resourceAccessor = new ClassLoaderResourceAccessor();
+        DatabaseChangeLog changeLog = ChangeLogParserFactory.getInstance().getParser(MASTER_CHANGELOG, resourceAccessor)
+            .parse(MASTER_CHANGELOG, new ChangeLogParameters(), resourceAccessor);
+        for (ChangeSet changeSet : changeLog.getChangeSets()) {
+            if (changeSet.getDbmsSet() == null || changeSet.getDbmsSet().isEmpty() || changeSet.getDbmsSet().contains(DBMS)) {
+                changeSet.getChanges().forEach(this::apply);
+            }
+        }
+    }
+
+    @Test
+    public void testForeignKeysAreIndexed() {
+        List<String> unindexed = foreignKeys.entrySet().stream()
+            .filter(foreignKey -> !isIndexed(foreignKey.getValue()))
+            .map(foreignKey -> foreignKey.getKey() + " on " + foreignKey.getValue())
+            .collect(Collectors.toList());
+
+        assertThat(unindexed).as("Foreign keys without an index").isEmpty();
+    }
+
+    @Test
+    public void testForeignKeysAreRead() {
+        assertThat(foreignKeys.values()).extracting(ForeignKey::toString)
+            .contains("student(school_id)", "course(student_id)", "course_task(task_id)");
+    }
+
+    private boolean isIndexed(ForeignKey foreignKey) {
+        return indexes.getOrDefault(foreignKey.table, Collections.emptyMap()).values().stream()
+            .anyMatch(columns -> columns.size() >= foreignKey.columns.size()
+                && new HashSet<>(columns.subList(0, foreignKey.columns.size())).equals(new HashSet<>(foreignKey.columns)));
+    }
+
+    private void apply(Change change) {
+        if (change instanceof CreateTableChange) {
+            CreateTableChange createTable = (CreateTableChange) change;
+            String table = createTable.getTableName();
+            List<String> primaryKey = new ArrayList<>();
+            for (ColumnConfig column : createTable.getColumns()) {
+                ConstraintsConfig constraints = column.getConstraints();
+                if (constraints == null) {
+                    continue;
+                }
+                if (Boolean.TRUE.equals(constraints.isPrimaryKey())) {
+                    primaryKey.add(column.getName());
+                }
+                if (Boolean.TRUE.equals(constraints.isUnique())) {
+                    addIndex(table, "unique " + column.getName(), Collections.singletonList(column.getName()));
+                }
+                if (constraints.getReferences() != null) {
+                    foreignKeys.put(constraints.getForeignKeyName(), new ForeignKey(table, Collections.singletonList(column.getName())));
+                }
+            }
+            if (!primaryKey.isEmpty()) {
+                addIndex(table, "primary key", primaryKey);
+            }
+        } else if (change instanceof AddPrimaryKeyChange) {
+            AddPrimaryKeyChange addPrimaryKey = (AddPrimaryKeyChange) change;
+            addIndex(addPrimaryKey.getTableName(), "primary key", columnNames(addPrimaryKey.getColumnNames()));
+        } else if (change instanceof AddUniqueConstraintChange) {
+            AddUniqueConstraintChange addUniqueConstraint = (AddUniqueConstraintChange) change;
+            addIndex(addUniqueConstraint.getTableName(), "unique " + addUniqueConstraint.getColumnNames(),
+                columnNames(addUniqueConstraint.getColumnNames()));
+        } else if (change instanceof CreateIndexChange) {
+            CreateIndexChange createIndex = (CreateIndexChange) change;
+            addIndex(createIndex.getTableName(), createIndex.getIndexName(),
+                createIndex.getColumns().stream().map(AddColumnConfig::getName).collect(Collectors.toList()));
+        } else if (change instanceof DropIndexChange) {
+            DropIndexChange dropIndex = (DropIndexChange) change;
+            indexes.getOrDefault(dropIndex.getTableName(), new HashMap<>()).remove(dropIndex.getIndexName());
+        } else if (change instanceof AddForeignKeyConstraintChange) {
+            AddForeignKeyConstraintChange addForeignKey = (AddForeignKeyConstraintChange) change;
+            foreignKeys.put(addForeignKey.getConstraintName(),
+                new ForeignKey(addForeignKey.getBaseTableName(), columnNames(addForeignKey.getBaseColumnNames())));
+        } else if (change instanceof DropForeignKeyConstraintChange) {
+            foreignKeys.remove(((DropForeignKeyConstraintChange) change).getConstraintName());
+        } else if (change instanceof RenameTableChange) {
+            RenameTableChange renameTable = (RenameTableChange) change;
+            Map<String, List<String>> tableIndexes = indexes.remove(renameTable.getOldTableName());
+            if (tableIndexes != null) {
+                indexes.put(renameTable.getNewTableName(), tableIndexes);
+            }
+            foreignKeys.values().stream()
+                .filter(foreignKey -> foreignKey.table.equals(renameTable.getOldTableName()))
+                .forEach(foreignKey -> foreignKey.table = renameTable.getNewTableName());
+        } else if (change instanceof DropTableChange) {
+            String table = ((DropTableChange) change).getTableName();
+            indexes.remove(table);
+            foreignKeys.values().removeIf(foreignKey -> foreignKey.table.equals(table));
+        }
+    }
+
+    private void addIndex(String table, String name, List<String> columns) {
+        indexes.computeIfAbsent(table, key -> new HashMap<>()).put(name, columns);
+    }
+
+    private static List<String> columnNames(String columnNames) {
+        return Arrays.stream(columnNames.split(",")).map(String::trim).collect(Collectors.toList());
+    }
+
+    private static final class ForeignKey {
+
+        private String table;
+
+        private final List<String> columns;
+
+        private ForeignKey(String table, List<String> columns) {
+            this.table = table;
+            this.columns = columns;
+        }
+
+        @Override
+        public String toString() {
+            return table + "(" + String.join(", ", columns) + ")";
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package ma.lucidea.abcidea.config;
+
+import ma.lucidea.abcidea.AbcideaApp;
+import ma.lucidea.abcidea.aop.logging.TimingInterceptor;
+import ma.lucidea.abcidea.service.RegionService;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the TimingConfiguration, which is enabled without any timing property.
+ *
+ * @see TimingConfiguration
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class TimingConfigurationIntTest {
+
+    @Autowired
+    private RegionService regionService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    public void serviceCallsAreTimedByDefault() {
+        FunctionTimer timer = registry.find(TimingInterceptor.METRIC_NAME)
+            .tags("class", "RegionServiceImpl", "method", "findAll", "outcome", "SUCCESS").functionTimer();
+        double before = timer != null ? timer.count() : 0;
+
+        regionService.findAll();
+
+        assertThat(registry.get(TimingInterceptor.METRIC_NAME)
+            .tags("class", "RegionServiceImpl", "method", "findAll", "outcome", "SUCCESS").functionTimer().count())
+            .isEqualTo(before + 1);
+    }
+}
@@ -0,0 +1,205 @@
+package ma.lucidea.abcidea.config.audit;
+
+import ma.lucidea.abcidea.AbcideaApp;
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.config.ApplicationProperties.Audit.OverflowPolicy;
+import ma.lucidea.abcidea.domain.PersistentAuditEvent;
+import ma.lucidea.abcidea.repository.PersistenceAuditEventRepository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AsyncAuditEventWriter.
+ *
+ * @see AsyncAuditEventWriter
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class AsyncAuditEventWriterIntTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry registry;
+
+    @Before
+    public void setup() throws IOException {
+        persistenceAuditEventRepository.deleteAll();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getAudit().setQueueCapacity(3);
+        applicationProperties.getAudit().setBatchSize(2);
+        applicationProperties.getAudit().setFlushInterval(Duration.ofMillis(50));
+        applicationProperties.getAudit().setBlockTimeout(Duration.ofMillis(10));
+        applicationProperties.getAudit().setSpillDirectory(temporaryFolder.newFolder().getPath());
+        registry = new SimpleMeterRegistry();
+    }
+
+    @After
+    public void destroy() {
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    private AsyncAuditEventWriter newWriter(OverflowPolicy overflowPolicy) {
+        applicationProperties.getAudit().setOverflowPolicy(overflowPolicy);
+        return new AsyncAuditEventWriter(jdbcTemplate, transactionManager, objectMapper, registry, applicationProperties);
+    }
+
+    private static PersistentAuditEvent newEvent(int i) {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setPrincipal("user-" + i);
+        event.setAuditEventType("AUTHENTICATION_SUCCESS");
+        event.setAuditEventDate(Instant.parse("2019-01-01T00:00:00Z").plusSeconds(i));
+        event.getData().put("remoteAddress", "127.0.0." + i);
+        return event;
+    }
+
+    private Map<String, String> findData(String principal) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<PersistentAuditEvent> events = persistenceAuditEventRepository.findByPrincipal(principal);
+            assertThat(events).hasSize(1);
+            return new HashMap<>(events.get(0).getData());
+        });
+    }
+
+    private double metric(String name) {
+        return registry.get(name).functionCounter().count();
+    }
+
+    @Test
+    public void queuedEventsAreWrittenInBatches() {
+        AsyncAuditEventWriter writer = newWriter(OverflowPolicy.DROP);
+        for (int i = 0; i < 3; i++) {
+            writer.write(newEvent(i));
+        }
+
+        writer.start();
+        writer.stop();
+
+        assertThat(findData("user-1")).containsEntry("remoteAddress", "127.0.0.1");
+        assertThat(persistenceAuditEventRepository.findByAuditEventDateAfter(Instant.parse("2019-01-01T00:00:01Z")))
+            .extracting(PersistentAuditEvent::getPrincipal).containsExactly("user-2");
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(3);
+        assertThat(metric("audit.events.written")).isEqualTo(3);
+        assertThat(registry.get("audit.events.flush").timer().count()).isEqualTo(2);
+        assertThat(registry.get("audit.events.queue.depth").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void eventsAreDroppedWhenTheQueueIsFull() {
+        AsyncAuditEventWriter writer = newWriter(OverflowPolicy.DROP);
+        for (int i = 0; i < 5; i++) {
+            writer.write(newEvent(i));
+        }
+
+        writer.start();
+        writer.stop();
+
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(3);
+        assertThat(metric("audit.events.dropped")).isEqualTo(2);
+    }
+
+    @Test
+    public void eventsAreDroppedWhenTheQueueIsStillFullAfterBlocking() {
+        AsyncAuditEventWriter writer = newWriter(OverflowPolicy.BLOCK);
+        for (int i = 0; i < 4; i++) {
+            writer.write(newEvent(i));
+        }
+
+        writer.start();
+        writer.stop();
+
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(3);
+        assertThat(metric("audit.events.dropped")).isEqualTo(1);
+    }
+
+    @Test
+    public void spilledEventsAreWrittenOnceTheQueueHasRoom() throws IOException {
+        AsyncAuditEventWriter writer = newWriter(OverflowPolicy.SPILL);
+        for (int i = 0; i < 6; i++) {
+            writer.write(newEvent(i));
+        }
+
+        writer.start();
+        writer.stop();
+
+        assertThat(metric("audit.events.spilled")).isEqualTo(3);
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(6);
+        assertThat(findData("user-5")).containsEntry("remoteAddress", "127.0.0.5");
+        assertThat(Files.list(Paths.get(applicationProperties.getAudit().getSpillDirectory()))).isEmpty();
+    }
+
+    @Test
+    public void spilledEventsAreWrittenWhileTheQueueIsFull() throws Exception {
+        applicationProperties.getAudit().setReplayInterval(Duration.ofMillis(20));
+        AsyncAuditEventWriter writer = newWriter(OverflowPolicy.SPILL);
+        AtomicInteger produced = new AtomicInteger();
+        AtomicBoolean producing = new AtomicBoolean(true);
+        Thread producer = new Thread(() -> {
+            while (producing.get()) {
+                writer.write(newEvent(produced.get()));
+                produced.incrementAndGet();
+            }
+        });
+
+        writer.start();
+        producer.start();
+        boolean spilledEventsWritten = false;
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!spilledEventsWritten && System.currentTimeMillis() < deadline) {
+            // The events that were not spilled are at most the ones produced less the ones spilled, plus the one
+            // being produced: more events written means that spilled ones were written, while the queue is full
+            double written = metric("audit.events.written");
+            double spilled = metric("audit.events.spilled");
+            spilledEventsWritten = written > produced.get() - spilled + 1;
+            Thread.sleep(10);
+        }
+        producing.set(false);
+        producer.join();
+        writer.stop();
+
+        assertThat(spilledEventsWritten).isTrue();
+        assertThat(persistenceAuditEventRepository.count()).isEqualTo(produced.get());
+        assertThat(Files.list(Paths.get(applicationProperties.getAudit().getSpillDirectory()))).isEmpty();
+    }
+}
@@ -0,0 +1,53 @@
+package ma.lucidea.abcidea.config.cache;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Sample second-level cache entries, shaped like the ones Hibernate puts in the Hazelcast maps.
+ */
+public final class CacheEntries {
+
+    private CacheEntries() {
+    }
+
+    /**
+     * @return the disassembled state of a student: names, email, phone, start date, salary, commission, school and courses
+     */
+    public static StandardCacheEntryImpl studentEntry() {
+        return StandardCacheEntryStreamSerializer.newStandardCacheEntry(new Serializable[] {
+            "Alice", "Martin", "alice.martin@example.com", "+212600000000",
+            Instant.parse("2019-02-01T08:30:00Z"), 12000L, 10L, 1051L, 2001L
+        }, "ma.lucidea.abcidea.domain.Student", null);
+    }
+
+    /**
+     * @param size the number of elements of the collection
+     * @return the entry of a collection, the ids of its elements
+     */
+    public static CollectionCacheEntry collectionEntry(int size) {
+        Serializable[] ids = new Serializable[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = 1000L + i;
+        }
+        return CollectionCacheEntryStreamSerializer.newCollectionCacheEntry(ids);
+    }
+
+    /**
+     * @param compact true to register the serializers of the application, false for Java serialization
+     * @return a serialization service configured like the members of the cluster
+     */
+    public static InternalSerializationService serializationService(boolean compact) {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        if (compact) {
+            serializationConfig.getSerializerConfigs().addAll(CacheSerializers.serializerConfigs());
+        }
+        return new DefaultSerializationServiceBuilder().setConfig(serializationConfig).build();
+    }
+}
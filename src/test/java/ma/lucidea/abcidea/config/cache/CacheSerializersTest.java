@@ -0,0 +1,58 @@
+package ma.lucidea.abcidea.config.cache;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.Data;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the serializers of the second-level cache entries.
+ *
+ * @see CacheSerializers
+ */
+public class CacheSerializersTest {
+
+    private final InternalSerializationService javaSerialization = CacheEntries.serializationService(false);
+
+    private final InternalSerializationService compactSerialization = CacheEntries.serializationService(true);
+
+    @Test
+    public void testInstantRoundTrip() {
+        Instant instant = Instant.parse("2019-02-01T08:30:00.123456789Z");
+
+        Data data = compactSerialization.toData(instant);
+
+        assertThat(data.getType()).isEqualTo(CacheSerializers.INSTANT_TYPE_ID);
+        assertThat((Instant) compactSerialization.toObject(data)).isEqualTo(instant);
+    }
+
+    @Test
+    public void testEntityEntryRoundTripIsSmaller() {
+        CacheEntry entry = CacheEntries.studentEntry();
+
+        Data data = compactSerialization.toData(entry);
+        CacheEntry read = compactSerialization.toObject(data);
+
+        assertThat(data.getType()).isEqualTo(CacheSerializers.STANDARD_CACHE_ENTRY_TYPE_ID);
+        assertThat(read.getDisassembledState()).containsExactly(entry.getDisassembledState());
+        assertThat(read.getSubclass()).isEqualTo(entry.getSubclass());
+        assertThat(data.totalSize()).isLessThan(javaSerialization.toData(entry).totalSize() / 2);
+    }
+
+    @Test
+    public void testCollectionEntryRoundTripIsSmaller() {
+        CollectionCacheEntry entry = CacheEntries.collectionEntry(20);
+
+        Data data = compactSerialization.toData(entry);
+        CollectionCacheEntry read = compactSerialization.toObject(data);
+
+        assertThat(data.getType()).isEqualTo(CacheSerializers.COLLECTION_CACHE_ENTRY_TYPE_ID);
+        assertThat(read.getState()).containsExactly(entry.getState());
+        assertThat(data.totalSize()).isLessThan(javaSerialization.toData(entry).totalSize() / 2);
+    }
+}
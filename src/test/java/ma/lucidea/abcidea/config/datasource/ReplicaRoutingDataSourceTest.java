@@ -0,0 +1,196 @@
+package ma.lucidea.abcidea.config.datasource;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.config.ApplicationProperties.Datasource.LoadBalancing;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the ReplicaRoutingDataSource, with a primary and two replicas in separate H2 databases.
+ */
+public class ReplicaRoutingDataSourceTest {
+
+    private HikariDataSource primary;
+
+    private List<HikariDataSource> replicaPools;
+
+    private ReplicaRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private SimpleMeterRegistry registry;
+
+    @Before
+    public void setup() {
+        primary = createDatabase("primary");
+        replicaPools = new ArrayList<>(Arrays.asList(createDatabase("replica1"), createDatabase("replica2")));
+        registry = new SimpleMeterRegistry();
+    }
+
+    @After
+    public void destroy() {
+        if (routingDataSource != null) {
+            routingDataSource.destroy();
+        }
+        replicaPools.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    @Test
+    public void testReadWriteTransactionUsesPrimary() {
+        createRoutingDataSource(LoadBalancing.ROUND_ROBIN);
+        routingDataSource.checkReplicas();
+
+        assertThat(readWriteInstance()).isEqualTo("primary");
+        assertThat(currentInstance()).isEqualTo("primary");
+    }
+
+    @Test
+    public void testReadOnlyTransactionUsesPrimaryBeforeFirstCheck() {
+        createRoutingDataSource(LoadBalancing.ROUND_ROBIN);
+
+        assertThat(readOnlyInstance()).isEqualTo("primary");
+        assertThat(registry.get("datasource.replica.fallbacks").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testRoundRobin() {
+        createRoutingDataSource(LoadBalancing.ROUND_ROBIN);
+        routingDataSource.checkReplicas();
+
+        List<String> instances = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            instances.add(readOnlyInstance());
+        }
+
+        assertThat(instances).containsExactly("replica1", "replica2", "replica1", "replica2");
+        assertThat(registry.get("datasource.replica.available").tag("pool", "replica1").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    public void testLeastConnections() throws Exception {
+        createRoutingDataSource(LoadBalancing.LEAST_CONNECTIONS);
+        routingDataSource.checkReplicas();
+
+        try (Connection busy = replicaPools.get(0).getConnection()) {
+            assertThat(readOnlyInstance()).isEqualTo("replica2");
+        }
+        try (Connection busy = replicaPools.get(1).getConnection()) {
+            assertThat(readOnlyInstance()).isEqualTo("replica1");
+        }
+    }
+
+    @Test
+    public void testLaggingReplicaIsSkipped() {
+        createRoutingDataSource(LoadBalancing.ROUND_ROBIN);
+        setReplicationLag(replicaPools.get(0), 30);
+        routingDataSource.checkReplicas();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(readOnlyInstance()).isEqualTo("replica2");
+        }
+        assertThat(registry.get("datasource.replica.lag").tag("pool", "replica1").timeGauge().value(TimeUnit.MILLISECONDS))
+            .isEqualTo(30_000);
+        assertThat(registry.get("datasource.replica.available").tag("pool", "replica1").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAllReplicasLaggingFallsBackToPrimary() {
+        createRoutingDataSource(LoadBalancing.ROUND_ROBIN);
+        setReplicationLag(replicaPools.get(0), 30);
+        setReplicationLag(replicaPools.get(1), 11);
+        routingDataSource.checkReplicas();
+
+        assertThat(readOnlyInstance()).isEqualTo("primary");
+        assertThat(registry.get("datasource.replica.fallbacks").functionCounter().count()).isEqualTo(1);
+
+        setReplicationLag(replicaPools.get(1), 0);
+        routingDataSource.checkReplicas();
+
+        assertThat(readOnlyInstance()).isEqualTo("replica2");
+    }
+
+    @Test
+    public void testUnhealthyReplicaIsSkipped() {
+        createRoutingDataSource(LoadBalancing.ROUND_ROBIN);
+        routingDataSource.checkReplicas();
+        replicaPools.get(1).close();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(readOnlyInstance()).isEqualTo("replica1");
+        }
+
+        routingDataSource.checkReplicas();
+        assertThat(registry.get("datasource.replica.available").tag("pool", "replica2").gauge().value()).isEqualTo(0);
+    }
+
+    private void createRoutingDataSource(LoadBalancing loadBalancing) {
+        ApplicationProperties.Datasource properties = new ApplicationProperties.Datasource();
+        properties.setLoadBalancing(loadBalancing);
+        properties.setMaxReplicationLag(Duration.ofSeconds(10));
+        properties.setReplicationLagQuery("select lag_seconds from replication_lag");
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicaPools, properties, registry);
+        // The data source is not started, so that the replicas are only checked by the test
+        routingDataSource.bindMetrics();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private String readOnlyInstance() {
+        return readOnlyTransaction.execute(status -> currentInstance());
+    }
+
+    private String readWriteInstance() {
+        return readWriteTransaction.execute(status -> currentInstance());
+    }
+
+    private String currentInstance() {
+        return jdbcTemplate.queryForObject("select name from instance", String.class);
+    }
+
+    private static void setReplicationLag(DataSource replica, int seconds) {
+        new JdbcTemplate(replica).update("update replication_lag set lag_seconds = ?", seconds);
+    }
+
+    private static HikariDataSource createDatabase(String name) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        config.setPoolName(name);
+        config.setMaximumPoolSize(4);
+        HikariDataSource dataSource = new HikariDataSource(config);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table instance (name varchar(50))");
+        jdbcTemplate.update("insert into instance values (?)", name);
+        jdbcTemplate.execute("create table replication_lag (lag_seconds int)");
+        jdbcTemplate.update("insert into replication_lag values (0)");
+        return dataSource;
+    }
+}
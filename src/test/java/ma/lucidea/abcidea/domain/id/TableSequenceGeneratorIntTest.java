@@ -0,0 +1,75 @@
+package ma.lucidea.abcidea.domain.id;
+
+import ma.lucidea.abcidea.AbcideaApp;
+import ma.lucidea.abcidea.domain.*;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the TableSequenceGenerator.
+ *
+ * @see TableSequenceGenerator
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class TableSequenceGeneratorIntTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    public void testEachTableHasItsSequence() {
+        assertSequence(Region.class, "region_seq");
+        assertSequence(Country.class, "country_seq");
+        assertSequence(Location.class, "location_seq");
+        assertSequence(School.class, "school_seq");
+        assertSequence(Task.class, "task_seq");
+        assertSequence(Student.class, "student_seq");
+        assertSequence(Course.class, "course_seq");
+        assertSequence(CourseHistory.class, "course_history_seq");
+    }
+
+    @Test
+    @Transactional
+    public void testIdsOfATableAreNotInterleaved() {
+        Region region = persist(new Region().regionName("first"));
+        persist(new Task().title("task"));
+        Region nextRegion = persist(new Region().regionName("second"));
+
+        assertThat(nextRegion.getId()).isEqualTo(region.getId() + 1);
+    }
+
+    private <T> T persist(T entity) {
+        em.persist(entity);
+        return entity;
+    }
+
+    private void assertSequence(Class<?> entityClass, String sequenceName) {
+        IdentifierGenerator generator = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMetamodel()
+            .entityPersister(entityClass).getIdentifierGenerator();
+
+        assertThat(generator).isInstanceOf(TableSequenceGenerator.class);
+        SequenceStyleGenerator sequenceGenerator = (SequenceStyleGenerator) generator;
+        assertThat(sequenceGenerator.getDatabaseStructure().getName()).isEqualTo(sequenceName);
+        assertThat(sequenceGenerator.getDatabaseStructure().getIncrementSize())
+            .isEqualTo(TableSequenceGenerator.DEFAULT_ALLOCATION_SIZE);
+        assertThat(sequenceGenerator.getOptimizer()).isInstanceOf(PooledLoOptimizer.class);
+    }
+}
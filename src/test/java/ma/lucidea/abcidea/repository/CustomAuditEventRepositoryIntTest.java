@@ -0,0 +1,85 @@
+package ma.lucidea.abcidea.repository;
+
+import ma.lucidea.abcidea.AbcideaApp;
+import ma.lucidea.abcidea.config.Constants;
+import ma.lucidea.abcidea.domain.PersistentAuditEvent;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.audit.AuditEvent;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the CustomAuditEventRepository class.
+ *
+ * @see CustomAuditEventRepository
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class CustomAuditEventRepositoryIntTest {
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private CustomAuditEventRepository customAuditEventRepository;
+
+    @Before
+    public void setup() {
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    @After
+    public void destroy() {
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    private List<PersistentAuditEvent> awaitEvents(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        List<PersistentAuditEvent> events = persistenceAuditEventRepository.findAll();
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            events = persistenceAuditEventRepository.findAll();
+        }
+        return events;
+    }
+
+    @Test
+    public void addAuditEventIsWrittenInTheBackground() throws InterruptedException {
+        String longValue = String.join("", Collections.nCopies(300, "x"));
+        AuditEvent event = new AuditEvent(Instant.now(), "test-user", "test-type",
+            Collections.singletonMap("test-key", longValue));
+
+        customAuditEventRepository.add(event);
+
+        List<PersistentAuditEvent> events = awaitEvents(1);
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getPrincipal()).isEqualTo("test-user");
+        assertThat(events.get(0).getAuditEventType()).isEqualTo("test-type");
+        assertThat(customAuditEventRepository.find("test-user", Instant.EPOCH, "test-type")).hasSize(1)
+            .allSatisfy(auditEvent -> assertThat(auditEvent.getData().get("test-key").toString())
+                .hasSize(CustomAuditEventRepository.EVENT_DATA_COLUMN_MAX_LENGTH));
+    }
+
+    @Test
+    public void addAuditEventIgnoresAnonymousUsersAndAuthorizationFailures() throws InterruptedException {
+        customAuditEventRepository.add(new AuditEvent(Constants.ANONYMOUS_USER, "test-type"));
+        customAuditEventRepository.add(new AuditEvent("test-user", "AUTHORIZATION_FAILURE"));
+        customAuditEventRepository.add(new AuditEvent("test-user", "test-type"));
+
+        assertThat(awaitEvents(1)).hasSize(1);
+        assertThat(awaitEvents(2)).hasSize(1);
+        assertThat(customAuditEventRepository.find(null, null, null))
+            .extracting(AuditEvent::getType).containsExactly("test-type");
+    }
+}
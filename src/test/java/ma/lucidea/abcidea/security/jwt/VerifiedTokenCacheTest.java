@@ -0,0 +1,47 @@
+package ma.lucidea.abcidea.security.jwt;
+
+import org.junit.Test;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VerifiedTokenCacheTest {
+
+    private final long ONE_MINUTE = 60000;
+
+    private final User principal = new User("test-user", "", Collections.emptyList());
+
+    @Test
+    public void testGetReturnsCachedPrincipal() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        cache.put("token", principal, System.currentTimeMillis() + ONE_MINUTE);
+
+        assertThat(cache.get("token")).isSameAs(principal);
+        assertThat(cache.get("other-token")).isNull();
+    }
+
+    @Test
+    public void testGetDoesNotReturnExpiredToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        cache.put("token", principal, System.currentTimeMillis() - 1);
+
+        assertThat(cache.get("token")).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("token-" + i, principal, System.currentTimeMillis() + ONE_MINUTE);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get("token-99")).isSameAs(principal);
+    }
+}
@@ -0,0 +1,157 @@
+package ma.lucidea.abcidea.service;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.service.impl.AuditEventRetentionServiceImpl;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import liquibase.Contexts;
+import liquibase.Liquibase;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.resource.ClassLoaderResourceAccessor;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AuditEventRetentionService, on the partitioned tables of a PostgreSQL database.
+ * <p>
+ * The data source does not auto-commit, like in production, so that anything not committed is lost when the
+ * connection goes back to the pool.
+ *
+ * @see AuditEventRetentionService
+ */
+public class AuditEventPartitionIntTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private static HikariDataSource dataSource;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private AuditEventRetentionServiceImpl auditEventRetentionService;
+
+    @BeforeClass
+    public static void startDatabase() throws Exception {
+        postgres = EmbeddedPostgres.start();
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(postgres.getJdbcUrl("postgres", "postgres"));
+        dataSource.setAutoCommit(false);
+        try (Connection connection = dataSource.getConnection()) {
+            new Liquibase("config/liquibase/master.xml", new ClassLoaderResourceAccessor(), new JdbcConnection(connection))
+                .update(new Contexts("prod"));
+        }
+    }
+
+    @AfterClass
+    public static void stopDatabase() throws Exception {
+        dataSource.close();
+        postgres.close();
+    }
+
+    @Before
+    public void setup() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        auditEventRetentionService = new AuditEventRetentionServiceImpl(jdbcTemplate, transactionManager, applicationProperties);
+        transactionTemplate.execute(status -> {
+            jdbcTemplate.update("delete from jhi_persistent_audit_evt_data");
+            return jdbcTemplate.update("delete from jhi_persistent_audit_event");
+        });
+    }
+
+    private List<String> partitions() {
+        return jdbcTemplate.queryForList("select child.relname from pg_inherits" +
+            " join pg_class child on child.oid = pg_inherits.inhrelid" +
+            " join pg_class parent on parent.oid = pg_inherits.inhparent" +
+            " where parent.relname in ('jhi_persistent_audit_event', 'jhi_persistent_audit_evt_data')", String.class);
+    }
+
+    private static String suffix(YearMonth month) {
+        return String.format("_y%04dm%02d", month.getYear(), month.getMonthValue());
+    }
+
+    private void saveEvent(long id, String principal, LocalDate date) {
+        Timestamp timestamp = Timestamp.valueOf(date.atTime(12, 0));
+        transactionTemplate.execute(status -> {
+            jdbcTemplate.update("insert into jhi_persistent_audit_event (event_id, principal, event_date, event_type)" +
+                " values (?, ?, ?, 'AUTHENTICATION_SUCCESS')", id, principal, timestamp);
+            return jdbcTemplate.update("insert into jhi_persistent_audit_evt_data (event_id, name, value, event_date)" +
+                " values (?, 'remoteAddress', '127.0.0.1', ?)", id, timestamp);
+        });
+    }
+
+    private List<String> principals(String table) {
+        return jdbcTemplate.queryForList("select principal from " + table, String.class);
+    }
+
+    @Test
+    public void partitionsCreatedAtStartupAreCommitted() {
+        YearMonth lastMonth = YearMonth.now(ZoneOffset.UTC).plusMonths(3);
+        applicationProperties.getAudit().getRetention().setMonthsAhead(3);
+        assertThat(partitions()).doesNotContain("jhi_persistent_audit_event" + suffix(lastMonth));
+
+        auditEventRetentionService.onApplicationReady();
+
+        assertThat(partitions()).contains(
+            "jhi_persistent_audit_event" + suffix(lastMonth), "jhi_persistent_audit_evt_data" + suffix(lastMonth),
+            "jhi_persistent_audit_event_default", "jhi_persistent_audit_evt_data_default");
+    }
+
+    @Test
+    public void createPartitionsMovesTheEventsOfTheirMonthOutOfTheDefaultPartitions() {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC).plusMonths(6);
+        saveEvent(1, "ahead", month.atDay(15));
+        assertThat(principals("jhi_persistent_audit_event_default")).containsExactly("ahead");
+
+        applicationProperties.getAudit().getRetention().setMonthsAhead(6);
+        auditEventRetentionService.createPartitions();
+
+        assertThat(principals("jhi_persistent_audit_event_default")).isEmpty();
+        assertThat(principals("jhi_persistent_audit_event" + suffix(month))).containsExactly("ahead");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_evt_data" + suffix(month),
+            Integer.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_evt_data_default",
+            Integer.class)).isZero();
+    }
+
+    @Test
+    public void applyRetentionDropsThePartitionsOlderThanTheRetention() {
+        YearMonth currentMonth = YearMonth.now(ZoneOffset.UTC);
+        YearMonth expiredMonth = currentMonth.minusMonths(14);
+        transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select create_audit_event_partitions(?)",
+            Object.class, Date.valueOf(expiredMonth.atDay(1))));
+        saveEvent(1, "expired", expiredMonth.atDay(15));
+        saveEvent(2, "expired-default", currentMonth.minusMonths(20).atDay(15));
+        saveEvent(3, "recent", currentMonth.atDay(1));
+
+        // Like through the proxy, in the transaction of the service
+        Integer dropped = transactionTemplate.execute(status -> auditEventRetentionService.applyRetention());
+
+        assertThat(dropped).isEqualTo(2);
+        assertThat(partitions()).doesNotContain("jhi_persistent_audit_event" + suffix(expiredMonth),
+            "jhi_persistent_audit_evt_data" + suffix(expiredMonth));
+        assertThat(principals("jhi_persistent_audit_event")).containsExactly("recent");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_evt_data", Integer.class))
+            .isEqualTo(1);
+    }
+}
@@ -0,0 +1,65 @@
+package ma.lucidea.abcidea.service;
+
+import ma.lucidea.abcidea.AbcideaApp;
+import ma.lucidea.abcidea.domain.PersistentAuditEvent;
+import ma.lucidea.abcidea.repository.PersistenceAuditEventRepository;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the AuditEventRetentionService, on an unpartitioned H2 database.
+ *
+ * @see AuditEventRetentionService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class AuditEventRetentionServiceIntTest {
+
+    @Autowired
+    private AuditEventRetentionService auditEventRetentionService;
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private void saveEvent(String principal, Instant date) {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setPrincipal(principal);
+        event.setAuditEventType("AUTHENTICATION_SUCCESS");
+        event.setAuditEventDate(date);
+        event = persistenceAuditEventRepository.saveAndFlush(event);
+        jdbcTemplate.update("insert into jhi_persistent_audit_evt_data (event_id, name, value, event_date) values (?, ?, ?, ?)",
+            event.getId(), "remoteAddress", "127.0.0.1", jdbcTemplate.queryForObject(
+                "select event_date from jhi_persistent_audit_event where event_id = ?", Object.class, event.getId()));
+    }
+
+    @Test
+    @Transactional
+    public void applyRetentionDeletesTheEventsOlderThanTheRetention() {
+        YearMonth oldestMonth = YearMonth.now(ZoneOffset.UTC).minusMonths(12);
+        saveEvent("expired", oldestMonth.minusMonths(1).atEndOfMonth().atTime(23, 59).toInstant(ZoneOffset.UTC));
+        saveEvent("kept", oldestMonth.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC));
+        saveEvent("recent", Instant.now());
+
+        assertThat(auditEventRetentionService.applyRetention()).isEqualTo(1);
+
+        assertThat(persistenceAuditEventRepository.findAll())
+            .extracting(PersistentAuditEvent::getPrincipal).containsOnly("kept", "recent");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from jhi_persistent_audit_evt_data", Integer.class))
+            .isEqualTo(2);
+    }
+}
@@ -0,0 +1,85 @@
+package ma.lucidea.abcidea.service;
+
+import ma.lucidea.abcidea.AbcideaApp;
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.config.cache.CacheWarmUpHealthIndicator;
+import ma.lucidea.abcidea.service.dto.CacheWarmUpProgressDTO;
+import ma.lucidea.abcidea.service.impl.CacheWarmUpServiceImpl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the CacheWarmUpService.
+ *
+ * @see CacheWarmUpService
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class CacheWarmUpServiceIntTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationProperties applicationProperties;
+
+    @Before
+    public void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getWarmUp().setEnabled(true);
+        applicationProperties.getCache().getWarmUp().setTimeBudget(Duration.ofSeconds(30));
+        warmUp("Region", true);
+        warmUp("School.students", true);
+        warmUp("Student", false);
+        warmUp("Unknown", true);
+    }
+
+    private void warmUp(String region, boolean warmUp) {
+        ApplicationProperties.Cache.Region regionProperties = new ApplicationProperties.Cache.Region();
+        regionProperties.setWarmUp(warmUp);
+        applicationProperties.getCache().getRegions().put(region, regionProperties);
+    }
+
+    @Test
+    public void warmUpReportsTheProgressOfEachRegion() {
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpServiceImpl(em, transactionManager, applicationProperties);
+        CacheWarmUpHealthIndicator healthIndicator = new CacheWarmUpHealthIndicator(cacheWarmUpService);
+        assertThat(cacheWarmUpService.isFinished()).isFalse();
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        cacheWarmUpService.warmUp();
+
+        assertThat(cacheWarmUpService.isFinished()).isTrue();
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+        Map<String, CacheWarmUpProgressDTO> progress = cacheWarmUpService.getProgress();
+        assertThat(progress).containsOnlyKeys("Region", "School.students", "Unknown");
+        assertThat(progress.get("Region").getStatus()).isEqualTo(CacheWarmUpProgressDTO.Status.DONE);
+        assertThat(progress.get("School.students").getStatus()).isEqualTo(CacheWarmUpProgressDTO.Status.DONE);
+        assertThat(progress.get("Unknown").getStatus()).isEqualTo(CacheWarmUpProgressDTO.Status.FAILED);
+    }
+
+    @Test
+    public void warmUpIsFinishedWhenDisabled() {
+        applicationProperties.getCache().getWarmUp().setEnabled(false);
+
+        CacheWarmUpService cacheWarmUpService = new CacheWarmUpServiceImpl(em, transactionManager, applicationProperties);
+
+        assertThat(cacheWarmUpService.isFinished()).isTrue();
+        assertThat(new CacheWarmUpHealthIndicator(cacheWarmUpService).health().getStatus()).isEqualTo(Status.UP);
+    }
+}
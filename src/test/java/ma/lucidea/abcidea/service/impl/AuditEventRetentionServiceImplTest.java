@@ -0,0 +1,31 @@
+package ma.lucidea.abcidea.service.impl;
+
+import org.junit.Test;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the AuditEventRetentionServiceImpl class.
+ *
+ * @see AuditEventRetentionServiceImpl
+ */
+public class AuditEventRetentionServiceImplTest {
+
+    @Test
+    public void testPartitionMonth() {
+        assertThat(AuditEventRetentionServiceImpl.partitionMonth("jhi_persistent_audit_event_y2026m10"))
+            .isEqualTo(YearMonth.of(2026, 10));
+        assertThat(AuditEventRetentionServiceImpl.partitionMonth("jhi_persistent_audit_evt_data_y2019m01"))
+            .isEqualTo(YearMonth.of(2019, 1));
+    }
+
+    @Test
+    public void testPartitionMonthIgnoresOtherTables() {
+        assertThat(AuditEventRetentionServiceImpl.partitionMonth("jhi_persistent_audit_event")).isNull();
+        assertThat(AuditEventRetentionServiceImpl.partitionMonth("jhi_persistent_audit_event_default")).isNull();
+        assertThat(AuditEventRetentionServiceImpl.partitionMonth("student_y2026m10")).isNull();
+        assertThat(AuditEventRetentionServiceImpl.partitionMonth("jhi_persistent_audit_event_y2026m10; drop table student")).isNull();
+    }
+}
@@ -0,0 +1,113 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.service.dto.EntityChangeDTO;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.ITopic;
+import com.hazelcast.core.Message;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the ChangeStreamServiceImpl class, with sender threads that do not run until asked to.
+ *
+ * @see ChangeStreamServiceImpl
+ */
+public class ChangeStreamServiceImplTest {
+
+    private final List<Runnable> pendingSends = new ArrayList<>();
+
+    private SimpleMeterRegistry registry;
+
+    private ChangeStreamServiceImpl changeStreamService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        ITopic<Object> topic = mock(ITopic.class);
+        when(hazelcastInstance.getTopic(anyString())).thenReturn(topic);
+        when(topic.addMessageListener(any())).thenReturn("registration");
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getChangeStream().setBufferSize(2);
+        registry = new SimpleMeterRegistry();
+        changeStreamService = new ChangeStreamServiceImpl(hazelcastInstance, registry, applicationProperties, pendingSends::add);
+        changeStreamService.start();
+    }
+
+    @After
+    public void destroy() {
+        changeStreamService.stop();
+    }
+
+    @Test
+    public void testSlowSubscriberIsEvicted() {
+        changeStreamService.subscribe(Collections.emptySet());
+
+        receive("Student", 1L);
+        receive("Student", 2L);
+        assertThat(subscribers()).isEqualTo(1);
+        assertThat(pendingSends).hasSize(1);
+
+        receive("Student", 3L);
+        assertThat(subscribers()).isZero();
+        assertThat(registry.get("changes.stream.evicted").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testSubscriberOnlyBuffersItsEntities() {
+        changeStreamService.subscribe(Collections.singleton("Course"));
+
+        for (long id = 1; id <= 3; id++) {
+            receive("Student", id);
+        }
+        receive("Course", 1L);
+
+        assertThat(subscribers()).isEqualTo(1);
+        assertThat(registry.get("changes.stream.evicted").functionCounter().count()).isZero();
+    }
+
+    @Test
+    public void testSentSubscriberIsNotEvicted() {
+        changeStreamService.subscribe(Collections.emptySet());
+
+        for (long id = 1; id <= 3; id++) {
+            receive("Student", id);
+            runPendingSends();
+        }
+
+        assertThat(subscribers()).isEqualTo(1);
+    }
+
+    private void receive(String entityName, Long id) {
+        EntityChangeDTO change = new EntityChangeDTO(EntityChangeDTO.Type.UPDATED, entityName, id, Instant.now());
+        @SuppressWarnings("unchecked")
+        Message<EntityChangeDTO> message = mock(Message.class);
+        when(message.getMessageObject()).thenReturn(change);
+        changeStreamService.onMessage(message);
+    }
+
+    private void runPendingSends() {
+        List<Runnable> sends = new ArrayList<>(pendingSends);
+        pendingSends.clear();
+        sends.forEach(Runnable::run);
+    }
+
+    private double subscribers() {
+        return registry.get("changes.stream.subscribers").gauge().value();
+    }
+}
@@ -0,0 +1,151 @@
+package ma.lucidea.abcidea.service.impl;
+
+import ma.lucidea.abcidea.AbcideaApp;
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.domain.Country;
+import ma.lucidea.abcidea.domain.Region;
+import ma.lucidea.abcidea.domain.Task;
+import ma.lucidea.abcidea.repository.CountryRepository;
+import ma.lucidea.abcidea.repository.RegionRepository;
+import ma.lucidea.abcidea.service.EntityTagService;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the EntityTagServiceImpl, and the counting of the committed changes.
+ * <p>
+ * The changes are only counted after a commit, so the entities are saved in committed transactions.
+ *
+ * @see EntityTagServiceImpl
+ * @see ma.lucidea.abcidea.config.changes.EntityChangeListener
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class EntityTagServiceImplIntTest {
+
+    private static final String REGIONS = "/api/regions";
+
+    private static final String COUNTRIES = "/api/countries";
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Region region;
+
+    private Country country;
+
+    @Before
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        region = transactionTemplate.execute(status -> regionRepository.save(new Region().regionName("Souss")));
+        country = transactionTemplate.execute(status -> countryRepository.save(new Country().countryName("Morocco").region(region)));
+    }
+
+    @After
+    public void destroy() {
+        transactionTemplate.execute(status -> {
+            countryRepository.deleteById(country.getId());
+            regionRepository.deleteById(region.getId());
+            return null;
+        });
+    }
+
+    @Test
+    public void testEntityTagChangesWithTheVersionsOfTheLoadedEntities() {
+        String entityTag = entityTagService.entityTag(country);
+        assertThat(entityTag).startsWith("\"").endsWith("\"");
+        assertThat(entityTagService.entityTag(country)).isEqualTo(entityTag);
+
+        region = transactionTemplate.execute(status -> regionRepository.save(region.regionName("Draa")));
+
+        assertThat(entityTagService.entityTag(country)).isEqualTo(entityTag);
+        assertThat(entityTagService.entityTag(country.region(region))).isNotEqualTo(entityTag);
+    }
+
+    @Test
+    public void testCommittedChangesChangeTheCollectionTagsReadingTheirTable() {
+        String regionsTag = entityTagService.collectionTag(Region.class, REGIONS);
+        String countriesTag = entityTagService.collectionTag(Country.class, COUNTRIES);
+        assertThat(entityTagService.collectionTag(Region.class, REGIONS + "?sort=id")).isNotEqualTo(regionsTag);
+
+        region = transactionTemplate.execute(status -> regionRepository.save(region.regionName("Draa")));
+
+        // Countries are listed with their region
+        assertThat(entityTagService.collectionTag(Region.class, REGIONS)).isNotEqualTo(regionsTag);
+        assertThat(entityTagService.collectionTag(Country.class, COUNTRIES)).isNotEqualTo(countriesTag);
+    }
+
+    @Test
+    public void testRolledBackChangesAndOtherTablesDoNotChangeTheCollectionTags() {
+        String countriesTag = entityTagService.collectionTag(Country.class, COUNTRIES);
+
+        transactionTemplate.execute(status -> {
+            regionRepository.save(region.regionName("Draa"));
+            status.setRollbackOnly();
+            return null;
+        });
+        entityTagService.tableModified(Task.class);
+
+        assertThat(entityTagService.collectionTag(Country.class, COUNTRIES)).isEqualTo(countriesTag);
+    }
+
+    @Test
+    public void testEachTableIsCountedOncePerTransaction() {
+        IAtomicLong regionsVersion = hazelcastInstance.getAtomicLong("tableVersion." + Region.class.getName());
+        long version = regionsVersion.get();
+
+        List<Region> regions = transactionTemplate.execute(status -> regionRepository.saveAll(Arrays.asList(
+            new Region().regionName("Draa"), new Region().regionName("Tafilalet"), new Region().regionName("Oriental"))));
+
+        assertThat(regionsVersion.get()).isEqualTo(version + 1);
+        transactionTemplate.execute(status -> {
+            regionRepository.deleteAll(regions);
+            return null;
+        });
+        assertThat(regionsVersion.get()).isEqualTo(version + 2);
+    }
+
+    @Test
+    public void testListsAreNotTaggedWithReadReplicas() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getDatasource().getReplicas().add(new ApplicationProperties.Datasource.Replica());
+        EntityTagService replicatedEntityTagService =
+            new EntityTagServiceImpl(hazelcastInstance, entityManagerFactory, applicationProperties);
+
+        assertThat(replicatedEntityTagService.collectionTag(Country.class, COUNTRIES)).isNull();
+        assertThat(replicatedEntityTagService.entityTag(country)).isEqualTo(entityTagService.entityTag(country));
+    }
+}
@@ -0,0 +1,170 @@
+package ma.lucidea.abcidea.web.rest;
+
+import ma.lucidea.abcidea.AbcideaApp;
+
+import ma.lucidea.abcidea.domain.Country;
+import ma.lucidea.abcidea.domain.Region;
+import ma.lucidea.abcidea.repository.CountryRepository;
+import ma.lucidea.abcidea.repository.RegionRepository;
+import ma.lucidea.abcidea.service.ChangeStreamService;
+import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Test class for the ChangeStreamResource REST controller.
+ * <p>
+ * Changes are only streamed once committed, so the entities are saved in committed transactions.
+ *
+ * @see ChangeStreamResource
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class ChangeStreamResourceIntTest {
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @Autowired
+    private RegionRepository regionRepository;
+
+    @Autowired
+    private CountryRepository countryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private MockMvc restChangeStreamMockMvc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Object> savedEntities = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        final ChangeStreamResource changeStreamResource = new ChangeStreamResource(changeStreamService);
+        this.restChangeStreamMockMvc = MockMvcBuilders.standaloneSetup(changeStreamResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(new StringHttpMessageConverter(), jacksonMessageConverter).build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @After
+    public void destroy() {
+        transactionTemplate.execute(status -> {
+            for (Object entity : savedEntities) {
+                if (entity instanceof Region) {
+                    regionRepository.deleteById(((Region) entity).getId());
+                } else {
+                    countryRepository.deleteById(((Country) entity).getId());
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    public void streamChanges() throws Exception {
+        MvcResult result = restChangeStreamMockMvc.perform(get("/api/stream/changes"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        Region region = transactionTemplate.execute(status -> regionRepository.save(new Region().regionName("AAAAAAAAAA")));
+        savedEntities.add(region);
+        transactionTemplate.execute(status -> regionRepository.findById(region.getId()).get().regionName("BBBBBBBBBB"));
+
+        String created = "\"type\":\"CREATED\",\"entityName\":\"Region\",\"entityId\":" + region.getId() + ",";
+        String updated = "\"type\":\"UPDATED\",\"entityName\":\"Region\",\"entityId\":" + region.getId() + ",";
+        String content = awaitContent(result, updated);
+        assertThat(content).contains("data:{" + created);
+        assertThat(content.indexOf(created)).isLessThan(content.indexOf(updated));
+    }
+
+    @Test
+    public void streamChangesOfSomeEntities() throws Exception {
+        MvcResult result = restChangeStreamMockMvc.perform(get("/api/stream/changes?entity=Region"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        savedEntities.add(transactionTemplate.execute(status -> countryRepository.save(new Country().countryName("AAAAAAAAAA"))));
+        Region region = transactionTemplate.execute(status -> regionRepository.save(new Region().regionName("AAAAAAAAAA")));
+        savedEntities.add(region);
+
+        String content = awaitContent(result, "\"entityName\":\"Region\",\"entityId\":" + region.getId() + ",");
+        assertThat(content).doesNotContain("\"entityName\":\"Country\"");
+    }
+
+    @Test
+    public void rolledBackChangesAreNotStreamed() throws Exception {
+        MvcResult result = restChangeStreamMockMvc.perform(get("/api/stream/changes?entity=Region"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        transactionTemplate.execute(status -> {
+            regionRepository.saveAndFlush(new Region().regionName("rolled back"));
+            status.setRollbackOnly();
+            return null;
+        });
+        Region region = transactionTemplate.execute(status -> regionRepository.save(new Region().regionName("AAAAAAAAAA")));
+        savedEntities.add(region);
+
+        String content = awaitContent(result, "\"entityName\":\"Region\",\"entityId\":" + region.getId() + ",");
+        assertThat(content.split("data:")).hasSize(2);
+    }
+
+    @Test
+    public void streamChangesToEachSubscriber() throws Exception {
+        MvcResult first = restChangeStreamMockMvc.perform(get("/api/stream/changes?entity=Region"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        MvcResult second = restChangeStreamMockMvc.perform(get("/api/stream/changes?entity=Region"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        Region region = transactionTemplate.execute(status -> regionRepository.save(new Region().regionName("AAAAAAAAAA")));
+        savedEntities.add(region);
+
+        String change = "\"entityName\":\"Region\",\"entityId\":" + region.getId() + ",";
+        String content = awaitContent(first, change);
+        assertThat(content).matches("data:\\{[^\n]*\\}\n\n");
+        assertThat(awaitContent(second, change)).isEqualTo(content);
+    }
+
+    private String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String content = result.getResponse().getContentAsString();
+        // The end of an event is written after its data
+        while (!(content.contains(expected) && content.endsWith("\n\n")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            content = result.getResponse().getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
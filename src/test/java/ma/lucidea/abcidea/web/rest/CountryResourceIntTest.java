@@ -2,9 +2,12 @@ package ma.lucidea.abcidea.web.rest;
 
 import ma.lucidea.abcidea.AbcideaApp;
 
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Country;
 import ma.lucidea.abcidea.repository.CountryRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
 import ma.lucidea.abcidea.service.CountryService;
+import ma.lucidea.abcidea.service.EntityTagService;
 import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -50,6 +53,15 @@ public class CountryResourceIntTest {
     @Autowired
     private CountryService countryService;
 
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private BatchLoadService batchLoadService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -72,7 +84,8 @@ public class CountryResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final CountryResource countryResource = new CountryResource(countryService);
+        final CountryResource countryResource = new CountryResource(countryService, entityTagService, applicationProperties,
+            batchLoadService);
         this.restCountryMockMvc = MockMvcBuilders.standaloneSetup(countryResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -149,6 +162,20 @@ public class CountryResourceIntTest {
             .andExpect(jsonPath("$.[*].countryName").value(hasItem(DEFAULT_COUNTRY_NAME.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getCountriesByIds() throws Exception {
+        // Initialize the database
+        countryRepository.saveAndFlush(country);
+
+        // Get the countries, skipping the unknown id
+        restCountryMockMvc.perform(get("/api/countries?ids={id},{unknownId}", country.getId(), Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(country.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getCountry() throws Exception {
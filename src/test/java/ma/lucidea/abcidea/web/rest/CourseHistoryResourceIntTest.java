@@ -2,9 +2,17 @@ package ma.lucidea.abcidea.web.rest;
 
 import ma.lucidea.abcidea.AbcideaApp;
 
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.CourseHistory;
+import ma.lucidea.abcidea.domain.Student;
 import ma.lucidea.abcidea.repository.CourseHistoryRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.BulkService;
+import ma.lucidea.abcidea.service.CourseHistoryQueryService;
 import ma.lucidea.abcidea.service.CourseHistoryService;
+import ma.lucidea.abcidea.service.EntityCountService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.ExportService;
 import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -14,6 +22,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -25,12 +34,16 @@ import org.springframework.validation.Validator;
 import javax.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
 
 
 import static ma.lucidea.abcidea.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,6 +72,27 @@ public class CourseHistoryResourceIntTest {
     @Autowired
     private CourseHistoryService courseHistoryService;
 
+    @Autowired
+    private EntityCountService entityCountService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private BulkService bulkService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private CourseHistoryQueryService courseHistoryQueryService;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private BatchLoadService batchLoadService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -81,7 +115,8 @@ public class CourseHistoryResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final CourseHistoryResource courseHistoryResource = new CourseHistoryResource(courseHistoryService);
+        final CourseHistoryResource courseHistoryResource = new CourseHistoryResource(courseHistoryService, entityCountService, exportService,
+            bulkService, applicationProperties, courseHistoryQueryService, entityTagService, batchLoadService);
         this.restCourseHistoryMockMvc = MockMvcBuilders.standaloneSetup(courseHistoryResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -129,6 +164,23 @@ public class CourseHistoryResourceIntTest {
         assertThat(testCourseHistory.getLanguage()).isEqualTo(DEFAULT_LANGUAGE);
     }
 
+    @Test
+    @Transactional
+    public void bulkSaveCourseHistories() throws Exception {
+        int databaseSizeBeforeCreate = courseHistoryRepository.findAll().size();
+
+        // Create two CourseHistories in one request
+        restCourseHistoryMockMvc.perform(post("/api/course-histories/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(courseHistory, createEntity(em).language(UPDATED_LANGUAGE)))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(everyItem(is("CREATED"))));
+
+        // Validate the CourseHistories in the database
+        List<CourseHistory> courseHistoryList = courseHistoryRepository.findAll();
+        assertThat(courseHistoryList).hasSize(databaseSizeBeforeCreate + 2);
+    }
+
     @Test
     @Transactional
     public void createCourseHistoryWithExistingId() throws Exception {
@@ -164,6 +216,146 @@ public class CourseHistoryResourceIntTest {
             .andExpect(jsonPath("$.[*].language").value(hasItem(DEFAULT_LANGUAGE.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getAllCourseHistoriesByLanguageIsEqualToSomething() throws Exception {
+        // Initialize the database
+        courseHistoryRepository.saveAndFlush(courseHistory);
+
+        // Get all the courseHistoryList where language equals to DEFAULT_LANGUAGE
+        defaultCourseHistoryShouldBeFound("language.equals=" + DEFAULT_LANGUAGE);
+
+        // Get all the courseHistoryList where language equals to UPDATED_LANGUAGE
+        defaultCourseHistoryShouldNotBeFound("language.equals=" + UPDATED_LANGUAGE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCourseHistoriesByLanguageIsInShouldWork() throws Exception {
+        // Initialize the database
+        courseHistoryRepository.saveAndFlush(courseHistory);
+
+        // Get all the courseHistoryList where language in DEFAULT_LANGUAGE or UPDATED_LANGUAGE
+        defaultCourseHistoryShouldBeFound("language.in=" + DEFAULT_LANGUAGE + "," + UPDATED_LANGUAGE);
+
+        // Get all the courseHistoryList where language equals to UPDATED_LANGUAGE
+        defaultCourseHistoryShouldNotBeFound("language.in=" + UPDATED_LANGUAGE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCourseHistoriesByLanguageAndStartDateIsInRange() throws Exception {
+        // Initialize the database
+        courseHistoryRepository.saveAndFlush(courseHistory);
+
+        // Get all the courseHistoryList in DEFAULT_LANGUAGE started between DEFAULT_START_DATE and UPDATED_START_DATE
+        defaultCourseHistoryShouldBeFound("language.equals=" + DEFAULT_LANGUAGE
+            + "&startDate.greaterOrEqualThan=" + DEFAULT_START_DATE + "&startDate.lessThan=" + UPDATED_START_DATE);
+
+        // Get all the courseHistoryList in DEFAULT_LANGUAGE started after DEFAULT_START_DATE
+        defaultCourseHistoryShouldNotBeFound("language.equals=" + DEFAULT_LANGUAGE + "&startDate.greaterThan=" + DEFAULT_START_DATE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCourseHistoriesByStudentIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Student student = StudentResourceIntTest.createEntity(em);
+        em.persist(student);
+        em.flush();
+        courseHistory.setStudent(student);
+        courseHistoryRepository.saveAndFlush(courseHistory);
+        Long studentId = student.getId();
+
+        // Get all the courseHistoryList where student equals to studentId
+        defaultCourseHistoryShouldBeFound("studentId.equals=" + studentId);
+
+        // Get all the courseHistoryList where student equals to studentId + 1
+        defaultCourseHistoryShouldNotBeFound("studentId.equals=" + (studentId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned
+     */
+    private void defaultCourseHistoryShouldBeFound(String filter) throws Exception {
+        restCourseHistoryMockMvc.perform(get("/api/course-histories?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(courseHistory.getId().intValue())))
+            .andExpect(jsonPath("$.[*].startDate").value(hasItem(DEFAULT_START_DATE.toString())))
+            .andExpect(jsonPath("$.[*].endDate").value(hasItem(DEFAULT_END_DATE.toString())))
+            .andExpect(jsonPath("$.[*].language").value(hasItem(DEFAULT_LANGUAGE.toString())));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned
+     */
+    private void defaultCourseHistoryShouldNotBeFound(String filter) throws Exception {
+        restCourseHistoryMockMvc.perform(get("/api/course-histories?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(courseHistory.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void getAllCourseHistoriesWithKeysetPagination() throws Exception {
+        // Initialize the database
+        courseHistoryRepository.deleteAll();
+        CourseHistory first = courseHistoryRepository.saveAndFlush(createEntity(em).startDate(DEFAULT_START_DATE));
+        CourseHistory second = courseHistoryRepository.saveAndFlush(createEntity(em).startDate(UPDATED_START_DATE));
+        CourseHistory third = courseHistoryRepository.saveAndFlush(createEntity(em).startDate(null));
+
+        // Get the first slice
+        String link = restCourseHistoryMockMvc.perform(get("/api/course-histories?after=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn().getResponse().getHeader(HttpHeaders.LINK);
+        String next = link.substring(1, link.indexOf(">; rel=\"next\""));
+
+        // Follow the "next" link
+        link = restCourseHistoryMockMvc.perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andReturn().getResponse().getHeader(HttpHeaders.LINK);
+        assertThat(link).doesNotContain("rel=\"next\"");
+    }
+
+    @Test
+    @Transactional
+    public void exportCourseHistories() throws Exception {
+        // Initialize the database
+        courseHistoryRepository.deleteAll();
+        courseHistoryRepository.saveAndFlush(courseHistory);
+
+        // Export all the courseHistories, one per line
+        String export = restCourseHistoryMockMvc.perform(get("/api/course-histories/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ExportService.NDJSON_VALUE))
+            .andReturn().getResponse().getContentAsString();
+        assertThat(export.split("\n")).hasSize(1);
+        assertThat(export).contains("\"id\":" + courseHistory.getId()).endsWith("\n");
+    }
+
+    @Test
+    @Transactional
+    public void getCourseHistoriesByIds() throws Exception {
+        // Initialize the database
+        courseHistoryRepository.saveAndFlush(courseHistory);
+
+        // Get the courseHistories, skipping the unknown id
+        restCourseHistoryMockMvc.perform(get("/api/course-histories?ids={id},{unknownId}", courseHistory.getId(), Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(courseHistory.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getCourseHistory() throws Exception {
@@ -0,0 +1,213 @@
+package ma.lucidea.abcidea.web.rest;
+
+import ma.lucidea.abcidea.AbcideaApp;
+
+import ma.lucidea.abcidea.config.readmodel.CourseHistoryViewUpdater;
+import ma.lucidea.abcidea.domain.Course;
+import ma.lucidea.abcidea.domain.CourseHistory;
+import ma.lucidea.abcidea.domain.School;
+import ma.lucidea.abcidea.domain.Student;
+import ma.lucidea.abcidea.domain.enumeration.Language;
+import ma.lucidea.abcidea.repository.CourseHistoryRepository;
+import ma.lucidea.abcidea.repository.CourseRepository;
+import ma.lucidea.abcidea.repository.SchoolRepository;
+import ma.lucidea.abcidea.repository.StudentRepository;
+import ma.lucidea.abcidea.service.CourseHistoryViewService;
+import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+
+import static ma.lucidea.abcidea.web.rest.TestUtil.createFormattingConversionService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Test class for the CourseHistoryViewResource REST controller, and the refresh of the read model it serves.
+ * <p>
+ * The read model is only refreshed after a commit, so the entities are saved in committed transactions.
+ *
+ * @see CourseHistoryViewResource
+ * @see CourseHistoryViewUpdater
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = AbcideaApp.class)
+public class CourseHistoryViewResourceIntTest {
+
+    private static final Instant START_DATE = Instant.parse("2019-03-01T00:00:00Z");
+
+    @Autowired
+    private CourseHistoryViewService courseHistoryViewService;
+
+    @Autowired
+    private CourseHistoryViewUpdater courseHistoryViewUpdater;
+
+    @Autowired
+    private CourseHistoryRepository courseHistoryRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private MockMvc restCourseHistoryViewMockMvc;
+
+    private TransactionTemplate transactionTemplate;
+
+    private CourseHistory courseHistory;
+
+    @Before
+    public void setup() throws InterruptedException {
+        final CourseHistoryViewResource courseHistoryViewResource = new CourseHistoryViewResource(courseHistoryViewService);
+        this.restCourseHistoryViewMockMvc = MockMvcBuilders.standaloneSetup(courseHistoryViewResource)
+            .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
+            .setConversionService(createFormattingConversionService())
+            .setMessageConverters(jacksonMessageConverter).build();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        courseHistory = transactionTemplate.execute(status -> {
+            Course course = courseRepository.save(new Course().courseTitle("Algebra"));
+            School school = schoolRepository.save(new School().schoolName("Lycee Descartes"));
+            Student student = studentRepository.save(new Student().firstName("Amina").lastName("Alaoui"));
+            return courseHistoryRepository.save(new CourseHistory()
+                .startDate(START_DATE)
+                .language(Language.FRENCH)
+                .course(course)
+                .school(school)
+                .student(student));
+        });
+        awaitRefreshes();
+    }
+
+    @After
+    public void destroy() throws InterruptedException {
+        transactionTemplate.execute(status -> {
+            courseHistoryRepository.findById(courseHistory.getId()).ifPresent(courseHistoryRepository::delete);
+            courseRepository.deleteById(courseHistory.getCourse().getId());
+            schoolRepository.deleteById(courseHistory.getSchool().getId());
+            studentRepository.deleteById(courseHistory.getStudent().getId());
+            return null;
+        });
+        awaitRefreshes();
+    }
+
+    private void awaitRefreshes() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (courseHistoryViewUpdater.getPendingRefreshes() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(courseHistoryViewUpdater.getPendingRefreshes()).isZero();
+    }
+
+    @Test
+    public void getCourseHistoryView() throws Exception {
+        restCourseHistoryViewMockMvc.perform(get("/api/course-history-views/{id}", courseHistory.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.id").value(courseHistory.getId().intValue()))
+            .andExpect(jsonPath("$.startDate").value(START_DATE.toString()))
+            .andExpect(jsonPath("$.language").value(Language.FRENCH.toString()))
+            .andExpect(jsonPath("$.courseId").value(courseHistory.getCourse().getId().intValue()))
+            .andExpect(jsonPath("$.courseTitle").value("Algebra"))
+            .andExpect(jsonPath("$.schoolName").value("Lycee Descartes"))
+            .andExpect(jsonPath("$.studentFirstName").value("Amina"))
+            .andExpect(jsonPath("$.studentLastName").value("Alaoui"));
+    }
+
+    @Test
+    public void getAllCourseHistoryViews() throws Exception {
+        restCourseHistoryViewMockMvc.perform(get("/api/course-history-views?sort=startDate,asc&sort=id,asc"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(courseHistory.getId().intValue())))
+            .andExpect(jsonPath("$.[*].courseTitle").value(hasItem("Algebra")));
+    }
+
+    @Test
+    public void courseHistoryUpdateRefreshesItsRow() throws Exception {
+        transactionTemplate.execute(status -> courseHistoryRepository.findById(courseHistory.getId()).get()
+            .language(Language.ENGLISH));
+        awaitRefreshes();
+
+        restCourseHistoryViewMockMvc.perform(get("/api/course-history-views/{id}", courseHistory.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.language").value(Language.ENGLISH.toString()));
+    }
+
+    @Test
+    public void referencedNamesUpdateRefreshesTheRows() throws Exception {
+        transactionTemplate.execute(status -> {
+            courseRepository.findById(courseHistory.getCourse().getId()).get().courseTitle("Geometry");
+            schoolRepository.findById(courseHistory.getSchool().getId()).get().schoolName("Lycee Lyautey");
+            return studentRepository.findById(courseHistory.getStudent().getId()).get().lastName("Bennani");
+        });
+        awaitRefreshes();
+
+        restCourseHistoryViewMockMvc.perform(get("/api/course-history-views/{id}", courseHistory.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.courseTitle").value("Geometry"))
+            .andExpect(jsonPath("$.schoolName").value("Lycee Lyautey"))
+            .andExpect(jsonPath("$.studentFirstName").value("Amina"))
+            .andExpect(jsonPath("$.studentLastName").value("Bennani"));
+    }
+
+    @Test
+    public void courseHistoryDeleteRemovesItsRow() throws Exception {
+        transactionTemplate.execute(status -> {
+            courseHistoryRepository.deleteById(courseHistory.getId());
+            return null;
+        });
+        awaitRefreshes();
+
+        restCourseHistoryViewMockMvc.perform(get("/api/course-history-views/{id}", courseHistory.getId()))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void rolledBackChangesDoNotRefreshTheRows() throws Exception {
+        transactionTemplate.execute(status -> {
+            courseHistoryRepository.findById(courseHistory.getId()).get().language(Language.ENGLISH);
+            status.setRollbackOnly();
+            return null;
+        });
+        awaitRefreshes();
+
+        restCourseHistoryViewMockMvc.perform(get("/api/course-history-views/{id}", courseHistory.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.language").value(Language.FRENCH.toString()));
+    }
+}
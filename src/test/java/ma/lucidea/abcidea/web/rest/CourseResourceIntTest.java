@@ -2,8 +2,15 @@ package ma.lucidea.abcidea.web.rest;
 
 import ma.lucidea.abcidea.AbcideaApp;
 
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Course;
+import ma.lucidea.abcidea.domain.Student;
+import ma.lucidea.abcidea.domain.Task;
 import ma.lucidea.abcidea.repository.CourseRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.CourseQueryService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.MergePatchService;
 import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
 
 import org.junit.Before;
@@ -13,9 +20,9 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -25,13 +32,15 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
-import java.util.ArrayList;
 import java.util.List;
 
 
 import static ma.lucidea.abcidea.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -60,6 +69,21 @@ public class CourseResourceIntTest {
     @Mock
     private CourseRepository courseRepositoryMock;
 
+    @Autowired
+    private CourseQueryService courseQueryService;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private BatchLoadService batchLoadService;
+
+    @Autowired
+    private MergePatchService mergePatchService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -82,7 +106,8 @@ public class CourseResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final CourseResource courseResource = new CourseResource(courseRepository);
+        final CourseResource courseResource = new CourseResource(courseRepository, courseQueryService, entityTagService,
+            mergePatchService, applicationProperties, batchLoadService);
         this.restCourseMockMvc = MockMvcBuilders.standaloneSetup(courseResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -165,10 +190,175 @@ public class CourseResourceIntTest {
             .andExpect(jsonPath("$.[*].maxSalary").value(hasItem(DEFAULT_MAX_SALARY.intValue())));
     }
     
+    @Test
+    @Transactional
+    public void getAllCoursesWithEagerRelationshipsRunsBoundedQueries() throws Exception {
+        // Initialize the database with courses that have tasks
+        for (int i = 0; i < 5; i++) {
+            Task task = TaskResourceIntTest.createEntity(em);
+            em.persist(task);
+            em.persist(createEntity(em).addTask(task));
+        }
+        em.flush();
+        em.clear();
+
+        // The ids of the page, then the courses with their tasks, whatever the size of the page
+        long statements = TestUtil.countStatements(em, () ->
+            restCourseMockMvc.perform(get("/api/courses?eagerload=true&count=false&size=3&sort=id,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].tasks").isNotEmpty()));
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCourseFieldsReadsOnlyTheirColumns() throws Exception {
+        // Initialize the database
+        courseRepository.saveAndFlush(course);
+        em.clear();
+
+        // A single query, reading the titles of the courses with their ids
+        long statements = TestUtil.countStatements(em, () ->
+            restCourseMockMvc.perform(get("/api/courses?fields=courseTitle&count=false&sort=id,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].id").value(course.getId().intValue()))
+                .andExpect(jsonPath("$.[0].courseTitle").value(DEFAULT_COURSE_TITLE))
+                .andExpect(jsonPath("$.[0].minSalary").doesNotExist())
+                .andExpect(jsonPath("$.[0].tasks").doesNotExist()));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCoursesByCourseTitleIsEqualToSomething() throws Exception {
+        // Initialize the database
+        courseRepository.saveAndFlush(course);
+
+        // Get all the courseList where courseTitle equals to DEFAULT_COURSE_TITLE
+        defaultCourseShouldBeFound("courseTitle.equals=" + DEFAULT_COURSE_TITLE);
+
+        // Get all the courseList where courseTitle equals to UPDATED_COURSE_TITLE
+        defaultCourseShouldNotBeFound("courseTitle.equals=" + UPDATED_COURSE_TITLE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCoursesByCourseTitleIsInShouldWork() throws Exception {
+        // Initialize the database
+        courseRepository.saveAndFlush(course);
+
+        // Get all the courseList where courseTitle in DEFAULT_COURSE_TITLE or UPDATED_COURSE_TITLE
+        defaultCourseShouldBeFound("courseTitle.in=" + DEFAULT_COURSE_TITLE + "," + UPDATED_COURSE_TITLE);
+
+        // Get all the courseList where courseTitle equals to UPDATED_COURSE_TITLE
+        defaultCourseShouldNotBeFound("courseTitle.in=" + UPDATED_COURSE_TITLE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCoursesByCourseTitleContainsSomething() throws Exception {
+        // Initialize the database
+        courseRepository.saveAndFlush(course);
+
+        // Get all the courseList where courseTitle contains part of DEFAULT_COURSE_TITLE, whatever its case
+        defaultCourseShouldBeFound("courseTitle.contains=" + DEFAULT_COURSE_TITLE.substring(2).toLowerCase());
+
+        // Get all the courseList where courseTitle contains UPDATED_COURSE_TITLE
+        defaultCourseShouldNotBeFound("courseTitle.contains=" + UPDATED_COURSE_TITLE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCoursesByMinSalaryIsInRange() throws Exception {
+        // Initialize the database
+        courseRepository.saveAndFlush(course);
+
+        // Get all the courseList where minSalary is between DEFAULT_MIN_SALARY and UPDATED_MIN_SALARY
+        defaultCourseShouldBeFound("minSalary.greaterOrEqualThan=" + DEFAULT_MIN_SALARY + "&minSalary.lessThan=" + UPDATED_MIN_SALARY);
+
+        // Get all the courseList where minSalary is greater than or equal to UPDATED_MIN_SALARY
+        defaultCourseShouldNotBeFound("minSalary.greaterOrEqualThan=" + UPDATED_MIN_SALARY);
+    }
+
+    @Test
+    @Transactional
+    public void getAllCoursesByStudentIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Student student = StudentResourceIntTest.createEntity(em);
+        em.persist(student);
+        em.flush();
+        course.setStudent(student);
+        courseRepository.saveAndFlush(course);
+        Long studentId = student.getId();
+
+        // Get all the courseList where student equals to studentId
+        defaultCourseShouldBeFound("studentId.equals=" + studentId);
+
+        // Get all the courseList where student equals to studentId + 1
+        defaultCourseShouldNotBeFound("studentId.equals=" + (studentId + 1));
+    }
+
+    @Test
+    @Transactional
+    public void getAllCoursesByCriteriaWithCount() throws Exception {
+        // Initialize the database
+        courseRepository.saveAndFlush(course);
+        courseRepository.saveAndFlush(createEntity(em).courseTitle(UPDATED_COURSE_TITLE));
+        courseRepository.saveAndFlush(createEntity(em).courseTitle(UPDATED_COURSE_TITLE));
+
+        // The count is the exact number of courses matching the criteria, with a link to the last page
+        restCourseMockMvc.perform(get("/api/courses?size=1&courseTitle.equals=" + UPDATED_COURSE_TITLE))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString(
+                "?courseTitle.equals=" + UPDATED_COURSE_TITLE + "&page=1&size=1>; rel=\"last\"")))
+            .andExpect(jsonPath("$.[*].courseTitle").value(not(hasItem(DEFAULT_COURSE_TITLE))));
+    }
+
+    @Test
+    @Transactional
+    public void getAllCoursesWithoutCount() throws Exception {
+        // Initialize the database
+        courseRepository.saveAndFlush(course);
+        courseRepository.saveAndFlush(createEntity(em));
+
+        // The courses are not counted, and the number of pages is unknown
+        restCourseMockMvc.perform(get("/api/courses?size=1&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"last\""))));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned
+     */
+    private void defaultCourseShouldBeFound(String filter) throws Exception {
+        restCourseMockMvc.perform(get("/api/courses?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(course.getId().intValue())))
+            .andExpect(jsonPath("$.[*].courseTitle").value(hasItem(DEFAULT_COURSE_TITLE)))
+            .andExpect(jsonPath("$.[*].minSalary").value(hasItem(DEFAULT_MIN_SALARY.intValue())))
+            .andExpect(jsonPath("$.[*].maxSalary").value(hasItem(DEFAULT_MAX_SALARY.intValue())));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned
+     */
+    private void defaultCourseShouldNotBeFound(String filter) throws Exception {
+        restCourseMockMvc.perform(get("/api/courses?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(course.getId().intValue()))));
+    }
+
     @SuppressWarnings({"unchecked"})
     public void getAllCoursesWithEagerRelationshipsIsEnabled() throws Exception {
-        CourseResource courseResource = new CourseResource(courseRepositoryMock);
-        when(courseRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+        CourseResource courseResource = new CourseResource(courseRepositoryMock, new CourseQueryService(courseRepositoryMock, em),
+            entityTagService, mergePatchService, applicationProperties, batchLoadService);
+        when(courseRepositoryMock.toCoursesWithEagerRelationships(any())).thenReturn(id -> null);
 
         MockMvc restCourseMockMvc = MockMvcBuilders.standaloneSetup(courseResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
@@ -179,13 +369,14 @@ public class CourseResourceIntTest {
         restCourseMockMvc.perform(get("/api/courses?eagerload=true"))
         .andExpect(status().isOk());
 
-        verify(courseRepositoryMock, times(1)).findAllWithEagerRelationships(any());
+        verify(courseRepositoryMock, times(1)).toCoursesWithEagerRelationships(any());
     }
 
     @SuppressWarnings({"unchecked"})
     public void getAllCoursesWithEagerRelationshipsIsNotEnabled() throws Exception {
-        CourseResource courseResource = new CourseResource(courseRepositoryMock);
-            when(courseRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+        CourseResource courseResource = new CourseResource(courseRepositoryMock, new CourseQueryService(courseRepositoryMock, em),
+            entityTagService, mergePatchService, applicationProperties, batchLoadService);
+            when(courseRepositoryMock.toCoursesWithEagerRelationships(any())).thenReturn(id -> null);
             MockMvc restCourseMockMvc = MockMvcBuilders.standaloneSetup(courseResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -195,7 +386,21 @@ public class CourseResourceIntTest {
         restCourseMockMvc.perform(get("/api/courses?eagerload=true"))
         .andExpect(status().isOk());
 
-            verify(courseRepositoryMock, times(1)).findAllWithEagerRelationships(any());
+            verify(courseRepositoryMock, times(1)).toCoursesWithEagerRelationships(any());
+    }
+
+    @Test
+    @Transactional
+    public void getCoursesByIds() throws Exception {
+        // Initialize the database
+        courseRepository.saveAndFlush(course);
+
+        // Get the courses, skipping the unknown id
+        restCourseMockMvc.perform(get("/api/courses?ids={id},{unknownId}", course.getId(), Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(course.getId().intValue()));
     }
 
     @Test
@@ -253,6 +458,68 @@ public class CourseResourceIntTest {
         assertThat(testCourse.getMaxSalary()).isEqualTo(UPDATED_MAX_SALARY);
     }
 
+    @Test
+    @Transactional
+    public void patchCourseKeepsItsTasks() throws Exception {
+        // Initialize the database
+        Task task = TaskResourceIntTest.createEntity(em);
+        em.persist(task);
+        courseRepository.saveAndFlush(course.addTask(task));
+        em.clear();
+
+        // The course is read then only updated: its tasks are neither read nor rewritten
+        long statements = TestUtil.countStatements(em, () -> {
+            restCourseMockMvc.perform(patch("/api/courses/{id}", course.getId())
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .content("{\"courseTitle\":\"" + UPDATED_COURSE_TITLE + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseTitle").value(UPDATED_COURSE_TITLE))
+                .andExpect(jsonPath("$.minSalary").value(DEFAULT_MIN_SALARY.intValue()));
+            em.flush();
+        });
+        assertThat(statements).isEqualTo(2);
+
+        // Validate the Course in the database
+        em.clear();
+        Course testCourse = courseRepository.findOneWithEagerRelationships(course.getId()).get();
+        assertThat(testCourse.getCourseTitle()).isEqualTo(UPDATED_COURSE_TITLE);
+        assertThat(testCourse.getMaxSalary()).isEqualTo(DEFAULT_MAX_SALARY);
+        assertThat(testCourse.getTasks()).extracting(Task::getId).containsExactly(task.getId());
+    }
+
+    @Test
+    @Transactional
+    public void patchCourseTasks() throws Exception {
+        // Initialize the database
+        Task task = TaskResourceIntTest.createEntity(em);
+        em.persist(task);
+        Task otherTask = TaskResourceIntTest.createEntity(em);
+        em.persist(otherTask);
+        courseRepository.saveAndFlush(course.addTask(task));
+        em.clear();
+
+        // The tasks are only referenced by their ids
+        restCourseMockMvc.perform(patch("/api/courses/{id}", course.getId())
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content("{\"tasks\":[{\"id\":" + otherTask.getId() + "}]}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks[*].id").value(contains(otherTask.getId().intValue())))
+            .andExpect(jsonPath("$.tasks[0].title").value(otherTask.getTitle()));
+        em.flush();
+
+        // Validate the Course in the database
+        em.clear();
+        Course testCourse = courseRepository.findOneWithEagerRelationships(course.getId()).get();
+        assertThat(testCourse.getCourseTitle()).isEqualTo(DEFAULT_COURSE_TITLE);
+        assertThat(testCourse.getTasks()).extracting(Task::getId).containsExactly(otherTask.getId());
+
+        // An unknown task is rejected
+        restCourseMockMvc.perform(patch("/api/courses/{id}", course.getId())
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content("{\"tasks\":[{\"id\":" + task.getId() + "},{\"id\":" + Long.MAX_VALUE + "}]}"))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     public void updateNonExistingCourse() throws Exception {
@@ -2,8 +2,13 @@ package ma.lucidea.abcidea.web.rest;
 
 import ma.lucidea.abcidea.AbcideaApp;
 
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.domain.Country;
 import ma.lucidea.abcidea.domain.Location;
 import ma.lucidea.abcidea.repository.LocationRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.LocationQueryService;
 import ma.lucidea.abcidea.service.LocationService;
 import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
 
@@ -29,6 +34,7 @@ import java.util.List;
 import static ma.lucidea.abcidea.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,6 +65,18 @@ public class LocationResourceIntTest {
     @Autowired
     private LocationService locationService;
 
+    @Autowired
+    private LocationQueryService locationQueryService;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private BatchLoadService batchLoadService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -81,7 +99,8 @@ public class LocationResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final LocationResource locationResource = new LocationResource(locationService);
+        final LocationResource locationResource = new LocationResource(locationService, locationQueryService, entityTagService,
+            applicationProperties, batchLoadService);
         this.restLocationMockMvc = MockMvcBuilders.standaloneSetup(locationResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -166,7 +185,102 @@ public class LocationResourceIntTest {
             .andExpect(jsonPath("$.[*].city").value(hasItem(DEFAULT_CITY.toString())))
             .andExpect(jsonPath("$.[*].stateProvince").value(hasItem(DEFAULT_STATE_PROVINCE.toString())));
     }
+
+    @Test
+    @Transactional
+    public void getAllLocationsByCityIsEqualToSomething() throws Exception {
+        // Initialize the database
+        locationRepository.saveAndFlush(location);
+
+        // Get all the locationList where city equals to DEFAULT_CITY
+        defaultLocationShouldBeFound("city.equals=" + DEFAULT_CITY);
+
+        // Get all the locationList where city equals to UPDATED_CITY
+        defaultLocationShouldNotBeFound("city.equals=" + UPDATED_CITY);
+    }
+
+    @Test
+    @Transactional
+    public void getAllLocationsByPostalCodeIsInShouldWork() throws Exception {
+        // Initialize the database
+        locationRepository.saveAndFlush(location);
+
+        // Get all the locationList where postalCode in DEFAULT_POSTAL_CODE or UPDATED_POSTAL_CODE
+        defaultLocationShouldBeFound("postalCode.in=" + DEFAULT_POSTAL_CODE + "," + UPDATED_POSTAL_CODE);
+
+        // Get all the locationList where postalCode equals to UPDATED_POSTAL_CODE
+        defaultLocationShouldNotBeFound("postalCode.in=" + UPDATED_POSTAL_CODE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllLocationsByStreetAddressContainsSomething() throws Exception {
+        // Initialize the database
+        locationRepository.saveAndFlush(location);
+
+        // Get all the locationList where streetAddress contains DEFAULT_STREET_ADDRESS
+        defaultLocationShouldBeFound("streetAddress.contains=" + DEFAULT_STREET_ADDRESS);
+
+        // Get all the locationList where streetAddress contains UPDATED_STREET_ADDRESS
+        defaultLocationShouldNotBeFound("streetAddress.contains=" + UPDATED_STREET_ADDRESS);
+    }
+
+    @Test
+    @Transactional
+    public void getAllLocationsByCountryIsEqualToSomething() throws Exception {
+        // Initialize the database
+        Country country = CountryResourceIntTest.createEntity(em);
+        em.persist(country);
+        em.flush();
+        location.setCountry(country);
+        locationRepository.saveAndFlush(location);
+        Long countryId = country.getId();
+
+        // Get all the locationList where country equals to countryId
+        defaultLocationShouldBeFound("countryId.equals=" + countryId);
+
+        // Get all the locationList where country equals to countryId + 1
+        defaultLocationShouldNotBeFound("countryId.equals=" + (countryId + 1));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned
+     */
+    private void defaultLocationShouldBeFound(String filter) throws Exception {
+        restLocationMockMvc.perform(get("/api/locations?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(location.getId().intValue())))
+            .andExpect(jsonPath("$.[*].streetAddress").value(hasItem(DEFAULT_STREET_ADDRESS)))
+            .andExpect(jsonPath("$.[*].postalCode").value(hasItem(DEFAULT_POSTAL_CODE)))
+            .andExpect(jsonPath("$.[*].city").value(hasItem(DEFAULT_CITY)))
+            .andExpect(jsonPath("$.[*].stateProvince").value(hasItem(DEFAULT_STATE_PROVINCE)));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned
+     */
+    private void defaultLocationShouldNotBeFound(String filter) throws Exception {
+        restLocationMockMvc.perform(get("/api/locations?" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(location.getId().intValue()))));
+    }
     
+    @Test
+    @Transactional
+    public void getLocationsByIds() throws Exception {
+        // Initialize the database
+        locationRepository.saveAndFlush(location);
+
+        // Get the locations, skipping the unknown id
+        restLocationMockMvc.perform(get("/api/locations?ids={id},{unknownId}", location.getId(), Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(location.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getLocation() throws Exception {
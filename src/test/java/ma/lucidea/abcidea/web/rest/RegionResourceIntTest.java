@@ -2,8 +2,11 @@ package ma.lucidea.abcidea.web.rest;
 
 import ma.lucidea.abcidea.AbcideaApp;
 
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Region;
 import ma.lucidea.abcidea.repository.RegionRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.EntityTagService;
 import ma.lucidea.abcidea.service.RegionService;
 import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
 
@@ -50,6 +53,15 @@ public class RegionResourceIntTest {
     @Autowired
     private RegionService regionService;
 
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private BatchLoadService batchLoadService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -72,7 +84,8 @@ public class RegionResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final RegionResource regionResource = new RegionResource(regionService);
+        final RegionResource regionResource = new RegionResource(regionService, entityTagService, applicationProperties,
+            batchLoadService);
         this.restRegionMockMvc = MockMvcBuilders.standaloneSetup(regionResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -149,6 +162,20 @@ public class RegionResourceIntTest {
             .andExpect(jsonPath("$.[*].regionName").value(hasItem(DEFAULT_REGION_NAME.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getRegionsByIds() throws Exception {
+        // Initialize the database
+        regionRepository.saveAndFlush(region);
+
+        // Get the regions, skipping the unknown id
+        restRegionMockMvc.perform(get("/api/regions?ids={id},{unknownId}", region.getId(), Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(region.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getRegion() throws Exception {
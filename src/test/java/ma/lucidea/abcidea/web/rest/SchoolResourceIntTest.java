@@ -2,8 +2,12 @@ package ma.lucidea.abcidea.web.rest;
 
 import ma.lucidea.abcidea.AbcideaApp;
 
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.School;
+import ma.lucidea.abcidea.domain.Student;
 import ma.lucidea.abcidea.repository.SchoolRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.EntityTagService;
 import ma.lucidea.abcidea.service.SchoolService;
 import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
 
@@ -50,6 +54,15 @@ public class SchoolResourceIntTest {
     @Autowired
     private SchoolService schoolService;
 
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private BatchLoadService batchLoadService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -72,7 +85,8 @@ public class SchoolResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final SchoolResource schoolResource = new SchoolResource(schoolService);
+        final SchoolResource schoolResource = new SchoolResource(schoolService, entityTagService, applicationProperties,
+            batchLoadService);
         this.restSchoolMockMvc = MockMvcBuilders.standaloneSetup(schoolResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -167,6 +181,40 @@ public class SchoolResourceIntTest {
             .andExpect(jsonPath("$.[*].schoolName").value(hasItem(DEFAULT_SCHOOL_NAME.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getAllSchoolsWithEagerRelationshipsRunsBoundedQueries() throws Exception {
+        // Initialize the database with schools that have students
+        for (int i = 0; i < 5; i++) {
+            School other = createEntity(em);
+            em.persist(other);
+            em.persist(StudentResourceIntTest.createEntity(em).school(other));
+        }
+        em.flush();
+        em.clear();
+
+        // The schools with their students, in a single query
+        long statements = TestUtil.countStatements(em, () ->
+            restSchoolMockMvc.perform(get("/api/schools?eagerload=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].students").isNotEmpty()));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    @Transactional
+    public void getSchoolsByIds() throws Exception {
+        // Initialize the database
+        schoolRepository.saveAndFlush(school);
+
+        // Get the schools, skipping the unknown id
+        restSchoolMockMvc.perform(get("/api/schools?ids={id},{unknownId}", school.getId(), Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(school.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getSchool() throws Exception {
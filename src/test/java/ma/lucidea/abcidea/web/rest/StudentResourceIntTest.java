@@ -2,10 +2,24 @@ package ma.lucidea.abcidea.web.rest;
 
 import ma.lucidea.abcidea.AbcideaApp;
 
+import ma.lucidea.abcidea.config.ApplicationProperties;
+import ma.lucidea.abcidea.config.JacksonConfiguration;
+import ma.lucidea.abcidea.domain.Course;
+import ma.lucidea.abcidea.domain.School;
 import ma.lucidea.abcidea.domain.Student;
 import ma.lucidea.abcidea.repository.StudentRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.BulkService;
+import ma.lucidea.abcidea.service.EntityCountService;
+import ma.lucidea.abcidea.service.EntityTagService;
+import ma.lucidea.abcidea.service.ExportService;
+import ma.lucidea.abcidea.service.MergePatchService;
+import ma.lucidea.abcidea.service.StudentQueryService;
 import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
+import ma.lucidea.abcidea.web.rest.util.KeysetCursor;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import org.hibernate.Session;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -13,8 +27,11 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -24,12 +41,18 @@ import org.springframework.validation.Validator;
 import javax.persistence.EntityManager;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 
 import static ma.lucidea.abcidea.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -66,9 +89,39 @@ public class StudentResourceIntTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private EntityCountService entityCountService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private BulkService bulkService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private StudentQueryService studentQueryService;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private BatchLoadService batchLoadService;
+
+    @Autowired
+    private MergePatchService mergePatchService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileMessageConverter;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborMessageConverter;
+
     @Autowired
     private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
 
@@ -88,12 +141,14 @@ public class StudentResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final StudentResource studentResource = new StudentResource(studentRepository);
+        final StudentResource studentResource = new StudentResource(studentRepository, entityCountService, exportService,
+            bulkService, applicationProperties, studentQueryService, entityTagService, mergePatchService,
+            batchLoadService);
         this.restStudentMockMvc = MockMvcBuilders.standaloneSetup(studentResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
             .setConversionService(createFormattingConversionService())
-            .setMessageConverters(jacksonMessageConverter)
+            .setMessageConverters(jacksonMessageConverter, smileMessageConverter, cborMessageConverter)
             .setValidator(validator).build();
     }
 
@@ -144,6 +199,91 @@ public class StudentResourceIntTest {
         assertThat(testStudent.getCommissionPct()).isEqualTo(DEFAULT_COMMISSION_PCT);
     }
 
+    @Test
+    @Transactional
+    public void createStudentWithSmile() throws Exception {
+        int databaseSizeBeforeCreate = studentRepository.findAll().size();
+
+        // Create the Student from a Smile document
+        restStudentMockMvc.perform(post("/api/students")
+            .contentType(JacksonConfiguration.SMILE_VALUE)
+            .accept(JacksonConfiguration.SMILE_VALUE)
+            .content(smileMessageConverter.getObjectMapper().writeValueAsBytes(student)))
+            .andExpect(status().isCreated())
+            .andExpect(content().contentTypeCompatibleWith(JacksonConfiguration.SMILE_VALUE));
+
+        // Validate the Student in the database
+        List<Student> studentList = studentRepository.findAll();
+        assertThat(studentList).hasSize(databaseSizeBeforeCreate + 1);
+        Student testStudent = studentList.get(studentList.size() - 1);
+        assertThat(testStudent.getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+        assertThat(testStudent.getStartDate()).isEqualTo(DEFAULT_START_DATE);
+        assertThat(testStudent.getSalary()).isEqualTo(DEFAULT_SALARY);
+    }
+
+    @Test
+    @Transactional
+    public void bulkSaveStudents() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+        int databaseSizeBeforeCreate = studentRepository.findAll().size();
+
+        Student newStudent = createEntity(em);
+        Student updatedStudent = createEntity(em).firstName(UPDATED_FIRST_NAME);
+        updatedStudent.setId(student.getId());
+        Student unknownStudent = createEntity(em);
+        unknownStudent.setId(Long.MAX_VALUE);
+
+        // Create, update and fail to update a Student in one request
+        restStudentMockMvc.perform(post("/api/students/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(newStudent, updatedStudent, unknownStudent))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[0].index").value(0))
+            .andExpect(jsonPath("$.[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.[0].id").isNumber())
+            .andExpect(jsonPath("$.[1].status").value("UPDATED"))
+            .andExpect(jsonPath("$.[1].id").value(student.getId().intValue()))
+            .andExpect(jsonPath("$.[2].status").value("NOT_FOUND"));
+
+        // Validate the Students in the database
+        List<Student> studentList = studentRepository.findAll();
+        assertThat(studentList).hasSize(databaseSizeBeforeCreate + 1);
+        assertThat(studentRepository.findById(student.getId()).get().getFirstName()).isEqualTo(UPDATED_FIRST_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void bulkSaveNullStudent() throws Exception {
+        int databaseSizeBeforeCreate = studentRepository.findAll().size();
+
+        // The null item is invalid, and the other items are still saved
+        restStudentMockMvc.perform(post("/api/students/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(Arrays.asList(null, createEntity(em)))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].index").value(0))
+            .andExpect(jsonPath("$.[0].status").value("INVALID"))
+            .andExpect(jsonPath("$.[1].status").value("CREATED"));
+
+        assertThat(studentRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+    }
+
+    @Test
+    @Transactional
+    public void bulkSaveTooManyStudents() throws Exception {
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i <= applicationProperties.getBulk().getMaxSize(); i++) {
+            students.add(new Student());
+        }
+
+        restStudentMockMvc.perform(post("/api/students/bulk")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(students)))
+            .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     public void createStudentWithExistingId() throws Exception {
@@ -183,6 +323,349 @@ public class StudentResourceIntTest {
             .andExpect(jsonPath("$.[*].commissionPct").value(hasItem(DEFAULT_COMMISSION_PCT.intValue())));
     }
     
+    @Test
+    @Transactional
+    public void getAllStudentsWithEagerRelationshipsRunsBoundedQueries() throws Exception {
+        // Initialize the database with students that have courses
+        for (int i = 0; i < 5; i++) {
+            Student other = createEntity(em);
+            em.persist(other);
+            em.persist(CourseResourceIntTest.createEntity(em).student(other));
+        }
+        em.flush();
+        em.clear();
+
+        // The ids of the slice, then the students with their courses, whatever the size of the slice
+        long statements = TestUtil.countStatements(em, () ->
+            restStudentMockMvc.perform(get("/api/students?eagerload=true&size=3&sort=id,asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].courses").isNotEmpty()));
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsWithoutCount() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList, no count is requested
+        restStudentMockMvc.perform(get("/api/students?sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"first\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"last\""))));
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsLinksKeepTheCriteria() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+        studentRepository.saveAndFlush(new Student().firstName(UPDATED_FIRST_NAME).lastName(DEFAULT_LAST_NAME));
+
+        // Get the first page of the students with the default last name
+        restStudentMockMvc.perform(get("/api/students?lastName.equals=" + DEFAULT_LAST_NAME + "&sort=id,desc&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string(HttpHeaders.LINK, containsString(
+                "/api/students?lastName.equals=" + DEFAULT_LAST_NAME + "&sort=id,desc&page=1&size=1>; rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString(
+                "/api/students?lastName.equals=" + DEFAULT_LAST_NAME + "&sort=id,desc&page=0&size=1>; rel=\"first\"")));
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsWithCount() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList with an estimated count
+        restStudentMockMvc.perform(get("/api/students?sort=id,desc&count=true"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"));
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsByLastNameIsEqualToSomething() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList where lastName equals to DEFAULT_LAST_NAME
+        defaultStudentShouldBeFound("lastName.equals=" + DEFAULT_LAST_NAME);
+
+        // Get all the studentList where lastName equals to UPDATED_LAST_NAME
+        defaultStudentShouldNotBeFound("lastName.equals=" + UPDATED_LAST_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsByEmailContainsSomething() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList where email contains DEFAULT_EMAIL
+        defaultStudentShouldBeFound("email.contains=" + DEFAULT_EMAIL);
+
+        // Get all the studentList where email contains UPDATED_EMAIL
+        defaultStudentShouldNotBeFound("email.contains=" + UPDATED_EMAIL);
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsBySalaryIsInRange() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList where salary is between DEFAULT_SALARY and UPDATED_SALARY
+        defaultStudentShouldBeFound("salary.greaterOrEqualThan=" + DEFAULT_SALARY + "&salary.lessOrEqualThan=" + UPDATED_SALARY);
+
+        // Get all the studentList where salary is less than DEFAULT_SALARY
+        defaultStudentShouldNotBeFound("salary.lessThan=" + DEFAULT_SALARY);
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsByStartDateIsGreaterThanSomething() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get all the studentList where startDate is after the epoch
+        defaultStudentShouldNotBeFound("startDate.greaterThan=" + DEFAULT_START_DATE);
+
+        // Get all the studentList where startDate is at or after the epoch
+        defaultStudentShouldBeFound("startDate.greaterOrEqualThan=" + DEFAULT_START_DATE);
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsBySchoolIsEqualToSomething() throws Exception {
+        // Initialize the database
+        School school = SchoolResourceIntTest.createEntity(em);
+        em.persist(school);
+        em.flush();
+        student.setSchool(school);
+        studentRepository.saveAndFlush(student);
+        Long schoolId = school.getId();
+
+        // Get all the studentList where school equals to schoolId
+        defaultStudentShouldBeFound("schoolId.equals=" + schoolId);
+
+        // Get all the studentList where school equals to schoolId + 1
+        defaultStudentShouldNotBeFound("schoolId.equals=" + (schoolId + 1));
+
+        // Get all the studentList without a school
+        defaultStudentShouldNotBeFound("schoolId.specified=false");
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsByCriteriaWithEagerRelationships() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+        em.persist(CourseResourceIntTest.createEntity(em).student(student));
+        em.flush();
+        em.clear();
+
+        // Get the student by id, with its courses and the exact count of the matching students
+        restStudentMockMvc.perform(get("/api/students?eagerload=true&count=true&id.equals=" + student.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].courses").isNotEmpty());
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned
+     */
+    private void defaultStudentShouldBeFound(String filter) throws Exception {
+        restStudentMockMvc.perform(get("/api/students?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(student.getId().intValue())))
+            .andExpect(jsonPath("$.[*].firstName").value(hasItem(DEFAULT_FIRST_NAME)))
+            .andExpect(jsonPath("$.[*].lastName").value(hasItem(DEFAULT_LAST_NAME)))
+            .andExpect(jsonPath("$.[*].email").value(hasItem(DEFAULT_EMAIL)))
+            .andExpect(jsonPath("$.[*].startDate").value(hasItem(DEFAULT_START_DATE.toString())))
+            .andExpect(jsonPath("$.[*].salary").value(hasItem(DEFAULT_SALARY.intValue())));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned
+     */
+    private void defaultStudentShouldNotBeFound(String filter) throws Exception {
+        restStudentMockMvc.perform(get("/api/students?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(student.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentFields() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+        em.clear();
+
+        // Get the first and last names of the students, with their ids
+        restStudentMockMvc.perform(get("/api/students?fields=firstName,lastName&sort=id,desc&firstName.equals=" + DEFAULT_FIRST_NAME))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().string(HttpHeaders.LINK, containsString(
+                "fields=firstName,lastName&sort=id,desc&firstName.equals=" + DEFAULT_FIRST_NAME + "&page=0&size=20>; rel=\"first\"")))
+            .andExpect(jsonPath("$.[0].id").value(student.getId().intValue()))
+            .andExpect(jsonPath("$.[0].firstName").value(DEFAULT_FIRST_NAME))
+            .andExpect(jsonPath("$.[0].lastName").value(DEFAULT_LAST_NAME))
+            .andExpect(jsonPath("$.[0].email").doesNotExist())
+            .andExpect(jsonPath("$.[0].school").doesNotExist())
+            .andExpect(jsonPath("$.[0].courses").doesNotExist());
+
+        // The students were not loaded in the persistence context
+        assertThat(em.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentFieldsWithInvalidFields() throws Exception {
+        restStudentMockMvc.perform(get("/api/students?fields=firstName,unknown"))
+            .andExpect(status().isBadRequest());
+
+        // Relationships cannot be selected
+        restStudentMockMvc.perform(get("/api/students?fields=firstName,school"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsWithKeysetPagination() throws Exception {
+        // Initialize the database
+        studentRepository.deleteAll();
+        Student first = studentRepository.saveAndFlush(createEntity(em).lastName("A"));
+        Student second = studentRepository.saveAndFlush(createEntity(em).lastName("B"));
+        Student third = studentRepository.saveAndFlush(createEntity(em).lastName(null));
+
+        // Get the first slice
+        String link = restStudentMockMvc.perform(get("/api/students?after=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].id").value(second.getId().intValue()))
+            .andReturn().getResponse().getHeader(HttpHeaders.LINK);
+        String next = link.substring(1, link.indexOf(">; rel=\"next\""));
+
+        // Follow the "next" link
+        link = restStudentMockMvc.perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+            .andReturn().getResponse().getHeader(HttpHeaders.LINK);
+        assertThat(link).doesNotContain("rel=\"next\"");
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsWithKeysetPaginationIntoTheNullLastNames() throws Exception {
+        // Initialize the database
+        studentRepository.deleteAll();
+        Student first = studentRepository.saveAndFlush(createEntity(em).lastName("A"));
+        Student second = studentRepository.saveAndFlush(createEntity(em).lastName("B"));
+        Student third = studentRepository.saveAndFlush(createEntity(em).lastName(null));
+        Student fourth = studentRepository.saveAndFlush(createEntity(em).lastName(null));
+        String after = KeysetCursor.of(first.getLastName(), first.getId()).encode();
+
+        // The slice ends with the students without a last name
+        restStudentMockMvc.perform(get("/api/students?after=" + after + "&size=3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue(), third.getId().intValue(),
+                fourth.getId().intValue())))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"next\""))));
+
+        // The slice stops in the students without a last name
+        restStudentMockMvc.perform(get("/api/students?after=" + after + "&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(second.getId().intValue(), third.getId().intValue())))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")));
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsWithInvalidCursor() throws Exception {
+        restStudentMockMvc.perform(get("/api/students?after=invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void exportStudents() throws Exception {
+        // Initialize the database
+        studentRepository.deleteAll();
+        studentRepository.saveAndFlush(student);
+        studentRepository.saveAndFlush(createEntity(em).firstName(UPDATED_FIRST_NAME));
+
+        // Export all the students, one per line
+        String export = restStudentMockMvc.perform(get("/api/students/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ExportService.NDJSON_VALUE))
+            .andReturn().getResponse().getContentAsString();
+        String[] lines = export.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines).allMatch(line -> line.startsWith("{") && line.endsWith("}"));
+        assertThat(export).contains("\"firstName\":\"" + DEFAULT_FIRST_NAME + "\"", "\"firstName\":\"" + UPDATED_FIRST_NAME + "\"");
+        assertThat(export).endsWith("\n");
+    }
+
+    @Test
+    @Transactional
+    public void getStudentsByIds() throws Exception {
+        // Initialize the database
+        Student first = studentRepository.save(createEntity(em));
+        Student second = studentRepository.save(createEntity(em));
+        Student third = studentRepository.save(createEntity(em));
+        em.flush();
+        em.clear();
+
+        // One query for all the ids, in their order, without the unknown and repeated ids
+        long statements = TestUtil.countStatements(em, () ->
+            restStudentMockMvc.perform(get("/api/students?ids={ids}",
+                Arrays.asList(third.getId(), first.getId(), Long.MAX_VALUE, second.getId(), third.getId()).stream()
+                    .map(String::valueOf).collect(Collectors.joining(","))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$.[0].id").value(third.getId().intValue()))
+                .andExpect(jsonPath("$.[1].id").value(first.getId().intValue()))
+                .andExpect(jsonPath("$.[2].id").value(second.getId().intValue()))
+                .andExpect(jsonPath("$.[0].firstName").value(DEFAULT_FIRST_NAME)));
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    public void getStudentsByIdsWithTooManyIds() throws Exception {
+        int maxIds = applicationProperties.getBatchLoad().getMaxIds();
+        applicationProperties.getBatchLoad().setMaxIds(2);
+        try {
+            restStudentMockMvc.perform(get("/api/students?ids=1,2,3"))
+                .andExpect(status().isBadRequest());
+        } finally {
+            applicationProperties.getBatchLoad().setMaxIds(maxIds);
+        }
+    }
+
+    @Test
+    public void getStudentsByIdsWithFieldsOrCursor() throws Exception {
+        restStudentMockMvc.perform(get("/api/students?ids=1,2&fields=lastName"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.idscombined"));
+        restStudentMockMvc.perform(get("/api/students?ids=1,2&after=abc"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.idscombined"));
+    }
+
     @Test
     @Transactional
     public void getStudent() throws Exception {
@@ -203,6 +686,40 @@ public class StudentResourceIntTest {
             .andExpect(jsonPath("$.commissionPct").value(DEFAULT_COMMISSION_PCT.intValue()));
     }
 
+    @Test
+    @Transactional
+    public void getStudentAsCbor() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // Get the student as a CBOR document
+        byte[] content = restStudentMockMvc.perform(get("/api/students/{id}", student.getId())
+            .accept(JacksonConfiguration.CBOR_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(JacksonConfiguration.CBOR_VALUE))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode testStudent = cborMessageConverter.getObjectMapper().readTree(content);
+        assertThat(testStudent.get("id").asLong()).isEqualTo(student.getId());
+        assertThat(testStudent.get("firstName").asText()).isEqualTo(DEFAULT_FIRST_NAME);
+        assertThat(testStudent.get("startDate").asText()).isEqualTo(DEFAULT_START_DATE.toString());
+        assertThat(testStudent.get("salary").asLong()).isEqualTo(DEFAULT_SALARY);
+    }
+
+    @Test
+    @Transactional
+    public void getStudentAcceptingAnyType() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        // JSON is preferred to the binary encodings
+        restStudentMockMvc.perform(get("/api/students/{id}", student.getId())
+            .accept(MediaType.ALL))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.id").value(student.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getNonExistingStudent() throws Exception {
@@ -250,6 +767,272 @@ public class StudentResourceIntTest {
         assertThat(testStudent.getCommissionPct()).isEqualTo(UPDATED_COMMISSION_PCT);
     }
 
+    @Test
+    @Transactional
+    public void getStudentNotModified() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        String entityTag = restStudentMockMvc.perform(get("/api/students/{id}", student.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        restStudentMockMvc.perform(get("/api/students/{id}", student.getId()).header(HttpHeaders.IF_NONE_MATCH, entityTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Updating the student changes its entity tag
+        student.setFirstName(UPDATED_FIRST_NAME);
+        studentRepository.saveAndFlush(student);
+
+        restStudentMockMvc.perform(get("/api/students/{id}", student.getId()).header(HttpHeaders.IF_NONE_MATCH, entityTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(entityTag)))
+            .andExpect(jsonPath("$.firstName").value(UPDATED_FIRST_NAME));
+    }
+
+    @Test
+    @Transactional
+    public void updateStudentWithCurrentEntityTag() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        long version = student.getVersion();
+        String entityTag = restStudentMockMvc.perform(get("/api/students/{id}", student.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        Student updatedStudent = new Student().firstName(UPDATED_FIRST_NAME);
+        updatedStudent.setId(student.getId());
+
+        restStudentMockMvc.perform(put("/api/students")
+            .header(HttpHeaders.IF_MATCH, entityTag)
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedStudent)))
+            .andExpect(status().isOk());
+
+        em.flush();
+        em.clear();
+        Student testStudent = studentRepository.findById(student.getId()).get();
+        assertThat(testStudent.getFirstName()).isEqualTo(UPDATED_FIRST_NAME);
+        assertThat(testStudent.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @Transactional
+    public void updateStudentWithStaleEntityTag() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        String entityTag = restStudentMockMvc.perform(get("/api/students/{id}", student.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        student.setLastName(UPDATED_LAST_NAME);
+        studentRepository.saveAndFlush(student);
+        Student updatedStudent = new Student().firstName(UPDATED_FIRST_NAME);
+        updatedStudent.setId(student.getId());
+
+        restStudentMockMvc.perform(put("/api/students")
+            .header(HttpHeaders.IF_MATCH, entityTag)
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedStudent)))
+            .andExpect(status().isPreconditionFailed());
+
+        em.clear();
+        assertThat(studentRepository.findById(student.getId()).get().getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+    }
+
+    @Test
+    @Transactional
+    public void updateStudentWithStaleVersion() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        Student updatedStudent = new Student().firstName(UPDATED_FIRST_NAME);
+        updatedStudent.setId(student.getId());
+        updatedStudent.setVersion(student.getVersion());
+        student.setLastName(UPDATED_LAST_NAME);
+        studentRepository.saveAndFlush(student);
+
+        restStudentMockMvc.perform(put("/api/students")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(updatedStudent)))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Transactional
+    public void getAllStudentsNotModified() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        String entityTag = restStudentMockMvc.perform(get("/api/students?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        restStudentMockMvc.perform(get("/api/students?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, entityTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Another list has another entity tag
+        restStudentMockMvc.perform(get("/api/students?sort=id,asc").header(HttpHeaders.IF_NONE_MATCH, entityTag))
+            .andExpect(status().isOk());
+
+        // A committed change of a table read in the list changes its entity tag
+        entityTagService.tableModified(Course.class);
+
+        restStudentMockMvc.perform(get("/api/students?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, entityTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(student.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    public void patchStudent() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+        long version = student.getVersion();
+        em.clear();
+
+        // The student is read then only updated, without its courses
+        long statements = TestUtil.countStatements(em, () -> {
+            restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+                .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+                .content("{\"email\":\"" + UPDATED_EMAIL + "\",\"phoneNumber\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(student.getId().intValue()))
+                .andExpect(jsonPath("$.firstName").value(DEFAULT_FIRST_NAME))
+                .andExpect(jsonPath("$.email").value(UPDATED_EMAIL));
+            em.flush();
+        });
+        assertThat(statements).isEqualTo(2);
+
+        // Validate the Student in the database
+        em.clear();
+        Student testStudent = studentRepository.findById(student.getId()).get();
+        assertThat(testStudent.getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+        assertThat(testStudent.getLastName()).isEqualTo(DEFAULT_LAST_NAME);
+        assertThat(testStudent.getEmail()).isEqualTo(UPDATED_EMAIL);
+        assertThat(testStudent.getPhoneNumber()).isNull();
+        assertThat(testStudent.getSalary()).isEqualTo(DEFAULT_SALARY);
+        assertThat(testStudent.getVersion()).isEqualTo(version + 1);
+    }
+
+    @Test
+    @Transactional
+    public void patchStudentSchool() throws Exception {
+        // Initialize the database
+        School school = SchoolResourceIntTest.createEntity(em);
+        em.persist(school);
+        studentRepository.saveAndFlush(student);
+        em.clear();
+
+        // The school is only referenced by its id
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"school\":{\"id\":" + school.getId() + ",\"schoolName\":\"ignored\"}}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.school.id").value(school.getId().intValue()))
+            .andExpect(jsonPath("$.school.schoolName").value(school.getSchoolName()));
+        em.flush();
+
+        // Validate the Student in the database
+        em.clear();
+        Student testStudent = studentRepository.findById(student.getId()).get();
+        assertThat(testStudent.getSchool().getId()).isEqualTo(school.getId());
+        assertThat(testStudent.getSchool().getSchoolName()).isEqualTo(school.getSchoolName());
+        assertThat(testStudent.getFirstName()).isEqualTo(DEFAULT_FIRST_NAME);
+
+        // The school is removed with a null member
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"school\":null}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.school").isEmpty());
+        em.flush();
+        em.clear();
+        assertThat(studentRepository.findById(student.getId()).get().getSchool()).isNull();
+    }
+
+    @Test
+    @Transactional
+    public void patchStudentWithUnknownReference() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"school\":{\"id\":" + Long.MAX_VALUE + "}}"))
+            .andExpect(status().isBadRequest());
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"school\":{\"schoolName\":\"new\"}}"))
+            .andExpect(status().isBadRequest());
+        // The courses of a student are saved with the courses
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"courses\":[]}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void patchStudentWithStaleVersion() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"email\":\"" + UPDATED_EMAIL + "\",\"version\":" + (student.getVersion() + 1) + "}"))
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Transactional
+    public void patchStudentWithStaleEntityTag() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        String entityTag = restStudentMockMvc.perform(get("/api/students/{id}", student.getId()))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        student.setLastName(UPDATED_LAST_NAME);
+        studentRepository.saveAndFlush(student);
+
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .header(HttpHeaders.IF_MATCH, entityTag)
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"email\":\"" + UPDATED_EMAIL + "\"}"))
+            .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    @Transactional
+    public void patchStudentWithInvalidPatch() throws Exception {
+        // Initialize the database
+        studentRepository.saveAndFlush(student);
+
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("[]"))
+            .andExpect(status().isBadRequest());
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"id\":" + (student.getId() + 1) + "}"))
+            .andExpect(status().isBadRequest());
+        restStudentMockMvc.perform(patch("/api/students/{id}", student.getId())
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"salary\":\"high\"}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void patchNonExistingStudent() throws Exception {
+        restStudentMockMvc.perform(patch("/api/students/{id}", Long.MAX_VALUE)
+            .contentType(MergePatchService.MERGE_PATCH_JSON_VALUE)
+            .content("{\"email\":\"" + UPDATED_EMAIL + "\"}"))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void updateNonExistingStudent() throws Exception {
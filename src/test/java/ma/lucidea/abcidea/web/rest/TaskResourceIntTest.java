@@ -2,8 +2,11 @@ package ma.lucidea.abcidea.web.rest;
 
 import ma.lucidea.abcidea.AbcideaApp;
 
+import ma.lucidea.abcidea.config.ApplicationProperties;
 import ma.lucidea.abcidea.domain.Task;
 import ma.lucidea.abcidea.repository.TaskRepository;
+import ma.lucidea.abcidea.service.BatchLoadService;
+import ma.lucidea.abcidea.service.EntityTagService;
 import ma.lucidea.abcidea.service.TaskService;
 import ma.lucidea.abcidea.web.rest.errors.ExceptionTranslator;
 
@@ -53,6 +56,15 @@ public class TaskResourceIntTest {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private BatchLoadService batchLoadService;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -75,7 +87,7 @@ public class TaskResourceIntTest {
     @Before
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final TaskResource taskResource = new TaskResource(taskService);
+        final TaskResource taskResource = new TaskResource(taskService, entityTagService, applicationProperties, batchLoadService);
         this.restTaskMockMvc = MockMvcBuilders.standaloneSetup(taskResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -155,6 +167,20 @@ public class TaskResourceIntTest {
             .andExpect(jsonPath("$.[*].description").value(hasItem(DEFAULT_DESCRIPTION.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getTasksByIds() throws Exception {
+        // Initialize the database
+        taskRepository.saveAndFlush(task);
+
+        // Get the tasks, skipping the unknown id
+        restTaskMockMvc.perform(get("/api/tasks?ids={id},{unknownId}", task.getId(), Long.MAX_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(task.getId().intValue()));
+    }
+
     @Test
     @Transactional
     public void getTask() throws Exception {
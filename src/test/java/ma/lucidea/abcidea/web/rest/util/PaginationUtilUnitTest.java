@@ -1,7 +1,9 @@
 package ma.lucidea.abcidea.web.rest.util;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
@@ -11,7 +13,10 @@ import org.junit.Test;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Tests based on parsing algorithm in app/components/util/pagination-util.service.js
@@ -41,4 +46,72 @@ public class PaginationUtilUnitTest {
         assertTrue(Long.valueOf(xTotalCountHeaders.get(0)).equals(400L));
     }
 
+    @Test
+    public void generatePaginationHttpHeadersWithQueryParametersTest() {
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString("/api/example?name.equals=a%20b&page=6&size=50");
+        Page<String> page = new PageImpl<>(new ArrayList<>(), PageRequest.of(6, 50), 400L);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(page, uriBuilder);
+        String expectedData = "</api/example?name.equals=a%20b&page=7&size=50>; rel=\"next\","
+                + "</api/example?name.equals=a%20b&page=5&size=50>; rel=\"prev\","
+                + "</api/example?name.equals=a%20b&page=7&size=50>; rel=\"last\","
+                + "</api/example?name.equals=a%20b&page=0&size=50>; rel=\"first\"";
+        assertEquals(expectedData, headers.getFirst(HttpHeaders.LINK));
+        assertEquals("400", headers.getFirst("X-Total-Count"));
+    }
+
+    @Test
+    public void generateSliceHttpHeadersTest() {
+        String baseUrl = "/api/_search/example";
+        List<String> content = new ArrayList<>();
+        Slice<String> slice = new SliceImpl<>(content, PageRequest.of(6, 50), true);
+        HttpHeaders headers = PaginationUtil.generateSliceHttpHeaders(slice, null, baseUrl);
+        List<String> strHeaders = headers.get(HttpHeaders.LINK);
+        assertNotNull(strHeaders);
+        assertTrue(strHeaders.size() == 1);
+        String expectedData = "</api/_search/example?page=7&size=50>; rel=\"next\","
+                + "</api/_search/example?page=5&size=50>; rel=\"prev\","
+                + "</api/_search/example?page=0&size=50>; rel=\"first\"";
+        assertEquals(expectedData, strHeaders.get(0));
+        assertNull(headers.get("X-Total-Count"));
+
+        headers = PaginationUtil.generateSliceHttpHeaders(slice, 400L, baseUrl);
+        assertEquals("400", headers.getFirst("X-Total-Count"));
+    }
+
+    @Test
+    public void generateKeysetPaginationHttpHeadersTest() {
+        String baseUrl = "/api/_search/example";
+        List<String> content = new ArrayList<>();
+        content.add("a");
+        Slice<String> slice = new SliceImpl<>(content, PageRequest.of(0, 50), true);
+        KeysetCursor cursor = KeysetCursor.of("Doe", 42L);
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, cursor, baseUrl);
+        List<String> strHeaders = headers.get(HttpHeaders.LINK);
+        assertNotNull(strHeaders);
+        assertTrue(strHeaders.size() == 1);
+        String expectedData = "</api/_search/example?after=" + cursor.encode() + "&size=50>; rel=\"next\","
+                + "</api/_search/example?after=&size=50>; rel=\"first\"";
+        assertEquals(expectedData, strHeaders.get(0));
+        assertNull(headers.get("X-Total-Count"));
+    }
+
+    @Test
+    public void generateKeysetPaginationHttpHeadersWithoutNextTest() {
+        String baseUrl = "/api/_search/example";
+        Slice<String> slice = new SliceImpl<>(new ArrayList<>(), PageRequest.of(0, 50), false);
+        HttpHeaders headers = PaginationUtil.generateKeysetPaginationHttpHeaders(slice, null, baseUrl);
+        assertEquals("</api/_search/example?after=&size=50>; rel=\"first\"", headers.getFirst(HttpHeaders.LINK));
+    }
+
+    @Test
+    public void keysetCursorRoundTripTest() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.of("a:b", 7L).encode()).get();
+        assertEquals("a:b", cursor.getKey());
+        assertEquals(Long.valueOf(7L), cursor.getId());
+        cursor = KeysetCursor.decode(KeysetCursor.of(null, 8L).encode()).get();
+        assertNull(cursor.getKey());
+        assertEquals(Long.valueOf(8L), cursor.getId());
+        assertFalse(KeysetCursor.decode("not a cursor").isPresent());
+        assertFalse(KeysetCursor.decode("").isPresent());
+    }
 }
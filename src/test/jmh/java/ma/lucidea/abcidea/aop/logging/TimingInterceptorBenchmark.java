@@ -0,0 +1,85 @@
+package ma.lucidea.abcidea.aop.logging;
+
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of a call to a proxied service, without advice ("none"), with an interceptor which only proceeds
+ * ("proceed"), with the replaced logging aspect ("logging") and with {@link TimingInterceptor} ("timing").
+ * <p>
+ * Debug logging is disabled and the timers are registered with Prometheus, like in production. Run with "-prof gc" to compare the allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingInterceptorBenchmark {
+
+    @Param({"none", "proceed", "logging", "timing"})
+    private String advice;
+
+    private GreetingService greetingService;
+
+    @Setup
+    public void setup() {
+        switch (advice) {
+            case "logging":
+                AspectJProxyFactory aspectJProxyFactory = new AspectJProxyFactory(new DefaultGreetingService());
+                aspectJProxyFactory.addAspect(new LegacyLoggingAspect());
+                greetingService = aspectJProxyFactory.getProxy();
+                break;
+            case "proceed":
+                ProxyFactory proceedProxyFactory = new ProxyFactory(new DefaultGreetingService());
+                proceedProxyFactory.addAdvice((MethodInterceptor) MethodInvocation::proceed);
+                greetingService = (GreetingService) proceedProxyFactory.getProxy();
+                break;
+            case "timing":
+                ProxyFactory proxyFactory = new ProxyFactory(new DefaultGreetingService());
+                proxyFactory.addAdvice(new TimingInterceptor(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), 0, Duration.ofMillis(500), false));
+                greetingService = (GreetingService) proxyFactory.getProxy();
+                break;
+            default:
+                greetingService = (GreetingService) new ProxyFactory(new DefaultGreetingService()).getProxy();
+        }
+    }
+
+    @Benchmark
+    public String call() {
+        return greetingService.greet("world");
+    }
+
+    public interface GreetingService {
+
+        String greet(String name);
+    }
+
+    @Service
+    public static class DefaultGreetingService implements GreetingService {
+
+        @Override
+        public String greet(String name) {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ma.lucidea.abcidea.config;
+
+import ma.lucidea.abcidea.domain.School;
+import ma.lucidea.abcidea.domain.Student;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of a page of 1,000 students as JSON text, Smile and CBOR, with the modules of
+ * {@link JacksonConfiguration}.
+ * <p>
+ * The size of the page in each format is reported by the serialize benchmark, as its "bytes" counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonDataFormatBenchmark {
+
+    private static final int PAGE_SIZE = 1000;
+
+    private static final TypeReference<List<Student>> STUDENT_LIST = new TypeReference<List<Student>>() { };
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+
+    private List<Student> students;
+
+    private byte[] studentsData;
+
+    @Setup
+    public void setup() throws IOException {
+        Jackson2ObjectMapperBuilder builder;
+        if ("smile".equals(format)) {
+            builder = Jackson2ObjectMapperBuilder.smile();
+        } else if ("cbor".equals(format)) {
+            builder = Jackson2ObjectMapperBuilder.cbor();
+        } else {
+            builder = Jackson2ObjectMapperBuilder.json();
+        }
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        mapper = builder
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .modulesToInstall(configuration.javaTimeModule(), configuration.jdk8TimeModule(),
+                configuration.hibernate5Module(), configuration.afterburnerModule())
+            .build();
+
+        School school = new School().schoolName("Lycee Descartes");
+        school.setId(1L);
+        students = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Student student = new Student()
+                .firstName("Amina")
+                .lastName("Alaoui")
+                .email("amina.alaoui" + id + "@example.com")
+                .phoneNumber("+212600000000")
+                .startDate(Instant.parse("2019-09-01T08:00:00Z").plusSeconds(id))
+                .salary(1000L + id)
+                .commissionPct(10L)
+                .school(school);
+            student.setId(id);
+            students.add(student);
+        }
+        studentsData = mapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] serialize(SerializedSize size) throws IOException {
+        byte[] data = mapper.writeValueAsBytes(students);
+        size.report(data.length);
+        return data;
+    }
+
+    @Benchmark
+    public List<Student> deserialize() throws IOException {
+        return mapper.readValue(studentsData, STUDENT_LIST);
+    }
+}
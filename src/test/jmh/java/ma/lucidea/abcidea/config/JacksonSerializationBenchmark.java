@@ -0,0 +1,93 @@
+package ma.lucidea.abcidea.config;
+
+import ma.lucidea.abcidea.domain.Course;
+import ma.lucidea.abcidea.domain.School;
+import ma.lucidea.abcidea.domain.Student;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a page of 20 students and of 20 courses, with the modules of {@link JacksonConfiguration},
+ * with and without the Afterburner module.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"true", "false"})
+    private boolean afterburner;
+
+    private ObjectMapper mapper;
+
+    private List<Student> students;
+
+    private List<Course> courses;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        mapper = new ObjectMapper()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .registerModule(configuration.javaTimeModule())
+            .registerModule(configuration.jdk8TimeModule())
+            .registerModule(configuration.hibernate5Module());
+        if (afterburner) {
+            mapper.registerModule(configuration.afterburnerModule());
+        }
+
+        School school = new School().schoolName("Lycee Descartes");
+        school.setId(1L);
+        students = new ArrayList<>();
+        courses = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            Student student = new Student()
+                .firstName("Amina")
+                .lastName("Alaoui")
+                .email("amina.alaoui" + id + "@example.com")
+                .phoneNumber("+212600000000")
+                .startDate(Instant.parse("2019-09-01T08:00:00Z"))
+                .salary(1000L)
+                .commissionPct(10L)
+                .school(school);
+            student.setId(id);
+            students.add(student);
+            Course course = new Course().courseTitle("Algebra " + id).minSalary(1000L).maxSalary(2000L).student(student);
+            course.setId(id);
+            courses.add(course);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeStudents() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(students);
+    }
+
+    @Benchmark
+    public byte[] serializeCourses() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(courses);
+    }
+}
@@ -0,0 +1,43 @@
+package ma.lucidea.abcidea.config;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.IterationType;
+
+/**
+ * The size of the serialized data, reported as the "bytes" counter with the results of a serialization benchmark.
+ * <p>
+ * JMH sums the counters over the measurement iterations and the threads, so the size is only reported by the first
+ * measurement iteration of the first thread, and the counter of the benchmark is the size itself.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class SerializedSize {
+
+    public long bytes;
+
+    private int measurementIterations;
+
+    private boolean reporting;
+
+    @Setup(Level.Iteration)
+    public void setup(IterationParams iterationParams, ThreadParams threadParams) {
+        reporting = iterationParams.getType() == IterationType.MEASUREMENT && measurementIterations++ == 0 &&
+            threadParams.getThreadIndex() == 0;
+        bytes = 0;
+    }
+
+    /**
+     * @param size the size of the data serialized by the benchmark, in bytes
+     */
+    public void report(long size) {
+        if (reporting) {
+            bytes = size;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ma.lucidea.abcidea.config.audit;
+
+import ma.lucidea.abcidea.domain.PersistentAuditEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.actuate.audit.AuditEvent;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of stored audit events, one at a time and as a page of 20 events read by the audits endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditEventConverterBenchmark {
+
+    private final AuditEventConverter auditEventConverter = new AuditEventConverter();
+
+    private PersistentAuditEvent persistentAuditEvent;
+
+    private List<PersistentAuditEvent> persistentAuditEvents;
+
+    @Setup
+    public void setup() {
+        persistentAuditEvents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            PersistentAuditEvent event = new PersistentAuditEvent();
+            event.setPrincipal("user" + i);
+            event.setAuditEventDate(Instant.now());
+            event.setAuditEventType("AUTHENTICATION_SUCCESS");
+            Map<String, String> data = new HashMap<>();
+            data.put("remoteAddress", "10.0.0." + i);
+            data.put("sessionId", "session" + i);
+            event.setData(data);
+            persistentAuditEvents.add(event);
+        }
+        persistentAuditEvent = persistentAuditEvents.get(0);
+    }
+
+    @Benchmark
+    public AuditEvent convertEvent() {
+        return auditEventConverter.convertToAuditEvent(persistentAuditEvent);
+    }
+
+    @Benchmark
+    public List<AuditEvent> convertPage() {
+        return auditEventConverter.convertToAuditEvent(persistentAuditEvents);
+    }
+}
@@ -0,0 +1,82 @@
+package ma.lucidea.abcidea.config.cache;
+
+import ma.lucidea.abcidea.config.SerializedSize;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.Data;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of second-level cache entries, with Java serialization ("java") and with the
+ * serializers of {@link CacheSerializers} ("compact").
+ * <p>
+ * The size of each entry is reported by the serialize benchmarks, as their "bytes" counter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheEntrySerializationBenchmark {
+
+    @Param({"java", "compact"})
+    private String serialization;
+
+    private InternalSerializationService serializationService;
+
+    private StandardCacheEntryImpl studentEntry;
+
+    private CollectionCacheEntry coursesEntry;
+
+    private Data studentData;
+
+    private Data coursesData;
+
+    @Setup
+    public void setup() {
+        serializationService = CacheEntries.serializationService("compact".equals(serialization));
+        studentEntry = CacheEntries.studentEntry();
+        coursesEntry = CacheEntries.collectionEntry(20);
+        studentData = serializationService.toData(studentEntry);
+        coursesData = serializationService.toData(coursesEntry);
+    }
+
+    @Benchmark
+    public Data serializeStudent(SerializedSize size) {
+        Data data = serializationService.toData(studentEntry);
+        size.report(data.totalSize());
+        return data;
+    }
+
+    @Benchmark
+    public Object deserializeStudent() {
+        return serializationService.toObject(studentData);
+    }
+
+    @Benchmark
+    public Data serializeCollection(SerializedSize size) {
+        Data data = serializationService.toData(coursesEntry);
+        size.report(data.totalSize());
+        return data;
+    }
+
+    @Benchmark
+    public Object deserializeCollection() {
+        return serializationService.toObject(coursesData);
+    }
+}
@@ -0,0 +1,86 @@
+package ma.lucidea.abcidea.security.jwt;
+
+import ma.lucidea.abcidea.security.AuthoritiesConstants;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.FilterChain;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authentication of a request by its JWT: the previous path that parsed and verified the token twice,
+ * a single parse, and the filter with its cache of verified tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JWTFilterBenchmark {
+
+    private static final String BASE64_SECRET =
+        "ZDE0MDBjYmQ2YTE1ODFhMDI5YmUwMGQ3ZGY1ODczMzA2N2JkMDVkNzYwYTg5MDFjMGI5ZmZiMmUxNGNkYzdlNjUxMjhjMWM4MDUzZmViZGNlMzEwOGVkZDUzZTczNGI1OTgzYzU0YjBiN2JiNDZmNzA2ZDMwNTdhZWNkZTQ1MzE=";
+
+    private TokenProvider tokenProvider;
+
+    private JWTFilter jwtFilter;
+
+    private String jwt;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    private final FilterChain filterChain = (request, response) -> { };
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        tokenProvider.init();
+        jwtFilter = new JWTFilter(tokenProvider);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user", "user",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)));
+        jwt = tokenProvider.createToken(authentication, false);
+
+        request = new MockHttpServletRequest("GET", "/api/students");
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doubleParse() {
+        return tokenProvider.validateToken(jwt) ? tokenProvider.getAuthentication(jwt) : null;
+    }
+
+    @Benchmark
+    public Authentication singleParse() {
+        return tokenProvider.getAuthentication(jwt);
+    }
+
+    @Benchmark
+    public Authentication filter() throws Exception {
+        jwtFilter.doFilter(request, response, filterChain);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
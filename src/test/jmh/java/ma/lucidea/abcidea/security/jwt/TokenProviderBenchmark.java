@@ -0,0 +1,78 @@
+package ma.lucidea.abcidea.security.jwt;
+
+import ma.lucidea.abcidea.security.AuthoritiesConstants;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of a JWT at login, and the authentication read from a JWT on each request: parsed and verified
+ * each time by getAuthentication, or from the cache of verified tokens by resolveAuthentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenProviderBenchmark {
+
+    private static final String BASE64_SECRET =
+        "ZDE0MDBjYmQ2YTE1ODFhMDI5YmUwMGQ3ZGY1ODczMzA2N2JkMDVkNzYwYTg5MDFjMGI5ZmZiMmUxNGNkYzdlNjUxMjhjMWM4MDUzZmViZGNlMzEwOGVkZDUzZTczNGI1OTgzYzU0YjBiN2JiNDZmNzA2ZDMwNTdhZWNkZTQ1MzE=";
+
+    private TokenProvider tokenProvider;
+
+    private Authentication authentication;
+
+    private String jwt;
+
+    @Setup
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(BASE64_SECRET);
+        tokenProvider = new TokenProvider(jHipsterProperties);
+        tokenProvider.init();
+
+        authentication = new UsernamePasswordAuthenticationToken("user", "user",
+            Arrays.asList(new SimpleGrantedAuthority(AuthoritiesConstants.USER), new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN)));
+        jwt = tokenProvider.createToken(authentication, false);
+        // The token is verified once, like on the first request, and then read from the cache
+        tokenProvider.resolveAuthentication(jwt);
+    }
+
+    @Benchmark
+    public String createToken() {
+        return tokenProvider.createToken(authentication, false);
+    }
+
+    @Benchmark
+    public String createRememberMeToken() {
+        return tokenProvider.createToken(authentication, true);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(jwt);
+    }
+
+    @Benchmark
+    public Optional<Authentication> resolveAuthentication() {
+        return tokenProvider.resolveAuthentication(jwt);
+    }
+}
@@ -0,0 +1,47 @@
+package ma.lucidea.abcidea.web.rest.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Alert headers added to the responses of the create, update and delete endpoints.
+ * <p>
+ * Failure alerts are not measured, as they log an error.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeaderUtilBenchmark {
+
+    private static final String ENTITY_NAME = "student";
+
+    private String id = "1234";
+
+    @Benchmark
+    public HttpHeaders creationAlert() {
+        return HeaderUtil.createEntityCreationAlert(ENTITY_NAME, id);
+    }
+
+    @Benchmark
+    public HttpHeaders updateAlert() {
+        return HeaderUtil.createEntityUpdateAlert(ENTITY_NAME, id);
+    }
+
+    @Benchmark
+    public HttpHeaders deletionAlert() {
+        return HeaderUtil.createEntityDeletionAlert(ENTITY_NAME, id);
+    }
+}
@@ -0,0 +1,61 @@
+package ma.lucidea.abcidea.web.rest.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pagination headers of a page in the middle of a list, with a count ("page") and without ("slice").
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaginationUtilBenchmark {
+
+    private static final String BASE_URL = "/api/students";
+
+    private Page<Long> page;
+
+    private Slice<Long> slice;
+
+    @Setup
+    public void setup() {
+        List<Long> content = new ArrayList<>();
+        for (long id = 0; id < 20; id++) {
+            content.add(id);
+        }
+        PageRequest pageable = PageRequest.of(5, 20);
+        page = new PageImpl<>(content, pageable, 10_000);
+        slice = new SliceImpl<>(content, pageable, true);
+    }
+
+    @Benchmark
+    public HttpHeaders page() {
+        return PaginationUtil.generatePaginationHttpHeaders(page, BASE_URL);
+    }
+
+    @Benchmark
+    public HttpHeaders slice() {
+        return PaginationUtil.generateSliceHttpHeaders(slice, null, BASE_URL);
+    }
+}